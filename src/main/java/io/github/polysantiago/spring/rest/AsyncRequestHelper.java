@@ -1,66 +1,139 @@
 package io.github.polysantiago.spring.rest;
 
 
-import io.github.polysantiago.spring.rest.support.SyntheticParametrizedTypeReference;
+import io.github.polysantiago.spring.rest.retry.AsyncRetryScheduler;
+import io.github.polysantiago.spring.rest.support.CallPermit;
+import io.github.polysantiago.spring.rest.support.PagedResourcesIterator;
+import io.github.polysantiago.spring.rest.support.RestClientScheduler;
 import io.github.polysantiago.spring.rest.util.LocationFutureAdapter;
 import io.github.polysantiago.spring.rest.util.OptionalTypeFutureAdapter;
-import io.github.polysantiago.spring.rest.util.ResolvableTypeUtils;
 import io.github.polysantiago.spring.rest.util.ResponseFutureAdapter;
 import lombok.RequiredArgsConstructor;
-import org.springframework.core.ResolvableType;
-import org.springframework.core.annotation.AnnotationUtils;
-import org.springframework.http.HttpEntity;
+import lombok.Setter;
+import org.springframework.hateoas.PagedResources;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.RequestEntity;
 import org.springframework.http.ResponseEntity;
 import org.springframework.util.concurrent.ListenableFuture;
+import org.springframework.util.concurrent.SettableListenableFuture;
 import org.springframework.web.client.AsyncRestTemplate;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpStatusCodeException;
 
-import java.lang.reflect.Method;
-import java.net.URI;
 import java.util.Optional;
-
-import static io.github.polysantiago.spring.rest.support.SyntheticParametrizedTypeReference.fromResolvableType;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 @RequiredArgsConstructor
 class AsyncRequestHelper {
 
+    private final RestClientSpecification specification;
     private final AsyncRestTemplate asyncRestTemplate;
-    private final Class<?> implementingClass;
 
-    <T> ListenableFuture<?> executeAsyncRequest(Method method, RequestEntity<T> requestEntity) {
-        ResolvableType resolvedType = ResolvableType.forMethodReturnType(method, implementingClass).getGeneric(0);
+    @Setter
+    private AsyncRetryScheduler retryScheduler;
+
+    @Setter
+    private RestClientScheduler scheduler;
 
-        SyntheticParametrizedTypeReference<T> wrappedReturnType = fromResolvableType(resolvedType);
-        if (ResolvableTypeUtils.typeIsAnyOf(resolvedType, HttpEntity.class, ResponseEntity.class)) {
-            SyntheticParametrizedTypeReference<T> responseType = fromResolvableType(resolvedType.getGeneric(0));
-            return sendAsyncRequest(requestEntity, responseType);
+    <T> ListenableFuture<?> executeAsyncRequest(ResponseStrategy strategy, RequestEntity<T> requestEntity,
+                                                CallGuard callGuard) {
+        ListenableFuture<ResponseEntity<T>> listenableFuture = exchange(strategy, requestEntity, callGuard);
+
+        switch (strategy.getKind()) {
+            case ENTITY:
+                return listenableFuture;
+            case LOCATION:
+                return new LocationFutureAdapter<>(listenableFuture);
+            case OPTIONAL:
+                return new OptionalTypeFutureAdapter<>(toOptional(listenableFuture));
+            default:
+                return new ResponseFutureAdapter<>(listenableFuture);
         }
+    }
 
-        ListenableFuture<ResponseEntity<T>> listenableFuture = sendAsyncRequest(requestEntity, wrappedReturnType);
+    <T> CompletableFuture<?> executeCompletableRequest(ResponseStrategy strategy, RequestEntity<T> requestEntity,
+                                                       CallGuard callGuard) {
+        ListenableFuture<ResponseEntity<T>> listenableFuture = exchange(strategy, requestEntity, callGuard);
 
-        if (hasPostLocation(method)) {
-            checkWrappedReturnTypeIsUri(resolvedType);
-            return new LocationFutureAdapter<>(listenableFuture);
+        // Completed straight from the transport callback, extracting the result inline
+        CompletableFuture<Object> completableFuture = new CompletableFuture<Object>() {
+            @Override
+            public boolean cancel(boolean mayInterruptIfRunning) {
+                listenableFuture.cancel(mayInterruptIfRunning);
+                return super.cancel(mayInterruptIfRunning);
+            }
+        };
+        listenableFuture.addCallback(
+            response -> completableFuture.complete(extract(strategy, response)),
+            throwable -> {
+                if (strategy.isOptional() && isNotFoundException(throwable)) {
+                    completableFuture.complete(Optional.empty());
+                } else {
+                    completableFuture.completeExceptionally(throwable);
+                }
+            });
+        return completableFuture;
+    }
+
+    /**
+     * Executes a {@link Paginated} request, whose pages are fetched as they are consumed, see
+     * {@link PagedResourcesIterator}. The next pages are requested with the headers of the first one, each page being
+     * guarded.
+     */
+    <T> Object executePaginatedRequest(ResponseStrategy strategy, RequestEntity<T> requestEntity, int prefetch,
+                                       CallGuard callGuard) {
+        Supplier<PagedResourcesIterator<Object>> pages = () -> new PagedResourcesIterator<>(
+            toPage(executeCompletableRequest(strategy, requestEntity, callGuard)),
+            uri -> toPage(executeCompletableRequest(strategy,
+                new RequestEntity<>(requestEntity.getHeaders(), HttpMethod.GET, requestEntity.getUrl().resolve(uri)),
+                callGuard)),
+            prefetch);
+
+        switch (strategy.getDispatch()) {
+            case STREAM:
+                return pages.get().stream();
+            case ITERATOR:
+                return pages.get();
+            default:
+                return (Iterable<Object>) pages::get;
         }
-        if (ResolvableTypeUtils.typeIs(resolvedType, Optional.class)) {
-            return new OptionalTypeFutureAdapter<>(toOptional(listenableFuture));
+    }
+
+    private <T> ListenableFuture<ResponseEntity<T>> exchange(ResponseStrategy strategy, RequestEntity<T> requestEntity,
+                                                             CallGuard callGuard) {
+        if (retryScheduler == null && callGuard.isEmpty()) {
+            return asyncRestTemplate.exchange(
+                requestEntity.getUrl(), requestEntity.getMethod(), requestEntity, strategy.<T>getResponseType());
         }
-        return new ResponseFutureAdapter<>(listenableFuture);
+        GuardedExchange<T> guardedExchange = new GuardedExchange<>(strategy, requestEntity, callGuard);
+        guardedExchange.attempt(1);
+        return guardedExchange;
     }
 
-    private boolean hasPostLocation(Method method) {
-        return AnnotationUtils.findAnnotation(method, PostForLocation.class) != null;
+    private static Object extract(ResponseStrategy strategy, ResponseEntity<?> response) {
+        switch (strategy.getKind()) {
+            case ENTITY:
+                return response;
+            case LOCATION:
+                return response.getHeaders().getLocation();
+            default:
+                return response.getBody();
+        }
     }
 
-    private <T> ListenableFuture<ResponseEntity<T>> sendAsyncRequest(RequestEntity<T> requestEntity,
-                                                                     SyntheticParametrizedTypeReference<T> responseType) {
-        return asyncRestTemplate.exchange(requestEntity.getUrl(), requestEntity.getMethod(), requestEntity, responseType);
+    private static boolean isNotFoundException(Throwable throwable) {
+        return throwable instanceof HttpClientErrorException &&
+            ((HttpClientErrorException) throwable).getStatusCode() == HttpStatus.NOT_FOUND;
     }
 
-    private static void checkWrappedReturnTypeIsUri(ResolvableType resolvableType) {
-        if (!ResolvableTypeUtils.typeIs(resolvableType, URI.class)) {
-            throw new RuntimeException("Method annotated with @PostForLocation must return URI");
-        }
+    @SuppressWarnings("unchecked")
+    private static <T> CompletableFuture<PagedResources<T>> toPage(CompletableFuture<?> future) {
+        return (CompletableFuture<PagedResources<T>>) future;
     }
 
     @SuppressWarnings("unchecked")
@@ -68,4 +141,145 @@ class AsyncRequestHelper {
         return (ListenableFuture<ResponseEntity<Optional<T>>>) future;
     }
 
+    /**
+     * An exchange whose attempts are each sent once permitted by the {@link CallGuard} of the method, recording their
+     * outcome, and whose failed attempts are retried after backing off on the {@link AsyncRetryScheduler}, if any,
+     * without blocking any thread. An attempt waiting for its rate permits is scheduled on the
+     * {@link RestClientScheduler} rather than blocking the caller. An attempt rejected by the guard fails the exchange
+     * without being retried. Cancelling it cancels the attempt in flight, releasing its permit without recording it,
+     * or refunds the permits of the attempt waiting for them, and any further attempt.
+     */
+    @RequiredArgsConstructor
+    private class GuardedExchange<T> extends SettableListenableFuture<ResponseEntity<T>> {
+
+        private final ResponseStrategy strategy;
+        private final RequestEntity<T> requestEntity;
+        private final CallGuard callGuard;
+
+        private volatile ListenableFuture<ResponseEntity<T>> currentAttempt;
+        private volatile CallPermit currentPermit;
+        private volatile ScheduledFuture<?> pendingAttempt;
+        private volatile CallGuard.Reservation pendingReservation;
+
+        private void attempt(int attempt) {
+            if (isDone()) {
+                return;
+            }
+            CallGuard.Reservation reservation;
+            try {
+                reservation = callGuard.reserve();
+            } catch (RuntimeException ex) {
+                setException(ex);
+                return;
+            }
+            long delayNanos = reservation.getDelayNanos();
+            if (delayNanos > 0 && scheduler != null) {
+                pendingReservation = reservation;
+                try {
+                    pendingAttempt = scheduler.scheduleHandOff(
+                        () -> send(attempt, reservation), delayNanos, TimeUnit.NANOSECONDS);
+                } catch (RejectedExecutionException ex) {
+                    reservation.cancel();
+                    setException(ex);
+                    return;
+                }
+                if (isDone()) {
+                    // Cancelled while scheduling this attempt, which cancel() may have missed
+                    cancelPending();
+                }
+                return;
+            }
+            send(attempt, reservation);
+        }
+
+        private void send(int attempt, CallGuard.Reservation reservation) {
+            if (isDone()) {
+                reservation.cancel();
+                return;
+            }
+            CallPermit permit;
+            try {
+                permit = reservation.acquire();
+            } catch (RuntimeException ex) {
+                setException(ex);
+                return;
+            }
+            currentPermit = permit;
+            try {
+                ListenableFuture<ResponseEntity<T>> future = asyncRestTemplate.exchange(
+                    requestEntity.getUrl(), requestEntity.getMethod(), requestEntity, strategy.<T>getResponseType());
+                currentAttempt = future;
+                if (isDone()) {
+                    // Cancelled while sending this attempt, which cancel() may have missed
+                    permit.release();
+                    future.cancel(true);
+                    return;
+                }
+                future.addCallback(
+                    response -> {
+                        permit.onSuccess();
+                        set(response);
+                    },
+                    throwable -> {
+                        if (isCancelled()) {
+                            // Its permit was released upon cancelling, without recording the cancellation
+                            return;
+                        }
+                        permit.onError(throwable);
+                        onFailure(attempt, throwable);
+                    });
+            } catch (RuntimeException | Error ex) {
+                permit.onError(ex);
+                onFailure(attempt, ex);
+            }
+        }
+
+        private void onFailure(int attempt, Throwable throwable) {
+            if (retryScheduler == null || attempt >= retryScheduler.getMaxAttempts() || !isRetryable(throwable)) {
+                setException(throwable);
+                return;
+            }
+            try {
+                retryScheduler.schedule(() -> attempt(attempt + 1), retryScheduler.getBackOffDelay(attempt));
+            } catch (RejectedExecutionException ex) {
+                setException(throwable);
+            }
+        }
+
+        private boolean isRetryable(Throwable throwable) {
+            if (throwable instanceof HttpStatusCodeException) {
+                return specification.isRetryableStatus(((HttpStatusCodeException) throwable).getStatusCode());
+            }
+            return specification.isRetryableException(throwable);
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            if (cancelled) {
+                cancelPending();
+                // Released ahead of cancelling, so that the cancellation is not recorded as an error
+                CallPermit permit = currentPermit;
+                if (permit != null) {
+                    permit.release();
+                }
+                ListenableFuture<ResponseEntity<T>> future = currentAttempt;
+                if (future != null) {
+                    future.cancel(mayInterruptIfRunning);
+                }
+            }
+            return cancelled;
+        }
+
+        private void cancelPending() {
+            ScheduledFuture<?> scheduled = pendingAttempt;
+            CallGuard.Reservation reservation = pendingReservation;
+            // Otherwise the scheduled attempt is already running, and cancels the reservation itself
+            if (scheduled != null && scheduled.cancel(false) && reservation != null) {
+                reservation.cancel();
+            }
+        }
+
+    }
+
 }
@@ -0,0 +1,39 @@
+package io.github.polysantiago.spring.rest;
+
+import java.lang.annotation.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Batches the calls of a single key method, eg: {@code Foo getFoo(@PathVariable("id") String id)}, made within a
+ * short window into a single {@code POST} request to {@link #endpoint()}. The request body is the JSON array of the
+ * distinct keys and the response body must be the JSON array of their values, in the same order. A window holding a
+ * single key is sent as the method's own request.
+ * <p>
+ * The method must take exactly one argument, the key, and be synchronous or return {@code CompletableFuture}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Batched {
+
+    /**
+     * The path of the batch endpoint, relative to the service url, eg: {@code /foos:batchGet}.
+     */
+    String endpoint();
+
+    /**
+     * Maximum number of distinct keys in a batch, a full batch is sent without waiting for the window to close.
+     */
+    int maxSize() default 100;
+
+    /**
+     * How long calls are collected after the first call of a batch.
+     */
+    long maxDelay() default 10;
+
+    /**
+     * The time unit of {@link #maxDelay()}.
+     */
+    TimeUnit timeUnit() default TimeUnit.MILLISECONDS;
+
+}
@@ -0,0 +1,40 @@
+package io.github.polysantiago.spring.rest;
+
+import java.lang.annotation.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caches the results of a synchronous or {@code CompletableFuture} method, keyed by the request bound from its
+ * arguments.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CachedResponse {
+
+    /**
+     * How long a result is served from the cache.
+     */
+    long ttl();
+
+    /**
+     * How long an expired result is still served while a single background request refreshes it.
+     */
+    long staleWhileRevalidate() default 0;
+
+    /**
+     * How long an empty {@code Optional}, eg: upon {@code HTTP 404}, is served from the cache. Not cached by default.
+     */
+    long notFoundTtl() default 0;
+
+    /**
+     * The time unit of {@link #ttl()}, {@link #staleWhileRevalidate()} and {@link #notFoundTtl()}.
+     */
+    TimeUnit timeUnit() default TimeUnit.SECONDS;
+
+    /**
+     * Maximum number of cached results, the least recently used are evicted first.
+     */
+    int maxEntries() default 1000;
+
+}
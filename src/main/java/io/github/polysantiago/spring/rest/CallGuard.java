@@ -0,0 +1,207 @@
+package io.github.polysantiago.spring.rest;
+
+import io.github.polysantiago.spring.rest.circuitbreaker.CircuitBreakerOpenException;
+import io.github.polysantiago.spring.rest.limiter.LimitExceededException;
+import io.github.polysantiago.spring.rest.limiter.RateLimiter;
+import io.github.polysantiago.spring.rest.support.CallPermit;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * The guards of the calls of a single method, eg: its circuit breaker and the concurrency limit of its client, which
+ * are acquired in order and share a single permit. If a guard rejects a call, the permits already acquired are
+ * released and the rate permits already reserved are refunded.
+ * <p>
+ * Permits are acquired in two steps: the gates, eg: the circuit breaker, are passed and the rate permits reserved
+ * first, then, once the rate permits are due, the slots of the limits, eg: the bulkhead, are taken. Blocking calls wait
+ * for their rate permits on the calling thread while asynchronous ones schedule the second step, see
+ * {@link Reservation}.
+ * <p>
+ * Permits are only acquired around the exchanges actually sent to the service, so that calls answered otherwise, eg:
+ * from a cache or by a coalesced or batched request, are not subject to them. Each retry is another exchange.
+ */
+class CallGuard {
+
+    static final CallGuard NONE = new CallGuard(Collections.emptyList());
+
+    private final List<Supplier<? extends CallPermit>> gates;
+    private final List<RateLimiter> rateLimiters;
+    private final List<Supplier<? extends CallPermit>> limits;
+
+    CallGuard(List<Supplier<? extends CallPermit>> guards) {
+        this(guards, Collections.emptyList(), Collections.emptyList());
+    }
+
+    /**
+     * @param gates        the guards failing fast, acquired first
+     * @param rateLimiters the rate limiters whose permits are then reserved
+     * @param limits       the guards taking a slot for the call, acquired once the rate permits are due
+     */
+    CallGuard(List<Supplier<? extends CallPermit>> gates, List<RateLimiter> rateLimiters,
+              List<Supplier<? extends CallPermit>> limits) {
+        this.gates = gates;
+        this.rateLimiters = rateLimiters;
+        this.limits = limits;
+    }
+
+    boolean isEmpty() {
+        return gates.isEmpty() && rateLimiters.isEmpty() && limits.isEmpty();
+    }
+
+    /**
+     * Whether the given exception is the rejection of a call by a guard, which must neither be retried nor recorded.
+     */
+    static boolean isRejection(Throwable throwable) {
+        return throwable instanceof CircuitBreakerOpenException || throwable instanceof LimitExceededException;
+    }
+
+    /**
+     * Executes a blocking exchange once permitted, recording its outcome once it returns.
+     */
+    <T> T execute(Supplier<T> exchange) {
+        if (isEmpty()) {
+            return exchange.get();
+        }
+        CallPermit permit = acquirePermit();
+        T result;
+        try {
+            result = exchange.get();
+        } catch (RuntimeException | Error ex) {
+            permit.onError(ex);
+            throw ex;
+        }
+        permit.onSuccess();
+        return result;
+    }
+
+    /**
+     * Acquires the permit of a call, waiting for its rate permits on the calling thread.
+     */
+    CallPermit acquirePermit() {
+        return reserve().acquire();
+    }
+
+    /**
+     * Passes the gates and reserves the rate permits of a call, whose permit is then acquired through the returned
+     * reservation.
+     */
+    Reservation reserve() {
+        List<CallPermit> permits = new ArrayList<>(gates.size() + limits.size());
+        int reserved = 0;
+        long waitNanos = 0;
+        try {
+            for (Supplier<? extends CallPermit> gate : gates) {
+                permits.add(gate.get());
+            }
+            for (RateLimiter rateLimiter : rateLimiters) {
+                waitNanos = Math.max(waitNanos, rateLimiter.reservePermit());
+                reserved++;
+            }
+        } catch (RuntimeException | Error ex) {
+            cancel(permits, reserved);
+            throw ex;
+        }
+        return new Reservation(permits, reserved, System.nanoTime() + waitNanos);
+    }
+
+    private void cancel(List<CallPermit> permits, int reserved) {
+        permits.forEach(CallPermit::release);
+        for (int i = 0; i < reserved; i++) {
+            rateLimiters.get(i).refundPermit();
+        }
+    }
+
+    /**
+     * The gates passed and the rate permits reserved for a call, either acquired once due or cancelled, at most once.
+     */
+    class Reservation {
+
+        private final List<CallPermit> permits;
+        private final int reserved;
+        private final long dueAt;
+        private final AtomicBoolean completed = new AtomicBoolean();
+
+        private Reservation(List<CallPermit> permits, int reserved, long dueAt) {
+            this.permits = permits;
+            this.reserved = reserved;
+            this.dueAt = dueAt;
+        }
+
+        /**
+         * @return how long to wait for the rate permits, in nanoseconds
+         */
+        long getDelayNanos() {
+            return Math.max(0, dueAt - System.nanoTime());
+        }
+
+        /**
+         * Acquires the permit of the call, waiting for its rate permits if not yet due.
+         *
+         * @throws IllegalStateException if the reservation was already completed
+         */
+        CallPermit acquire() {
+            if (!completed.compareAndSet(false, true)) {
+                throw new IllegalStateException("Reservation already completed");
+            }
+            try {
+                long delayNanos = getDelayNanos();
+                if (delayNanos > 0) {
+                    TimeUnit.NANOSECONDS.sleep(delayNanos);
+                }
+                for (Supplier<? extends CallPermit> limit : limits) {
+                    permits.add(limit.get());
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                CallGuard.this.cancel(permits, reserved);
+                throw new LimitExceededException("Interrupted while waiting for a rate limit");
+            } catch (RuntimeException | Error ex) {
+                CallGuard.this.cancel(permits, reserved);
+                throw ex;
+            }
+            return permits.size() == 1 ? permits.get(0) : new CompositePermit(permits);
+        }
+
+        /**
+         * Releases the permits and refunds the rate permits of a call which is not sent after all, eg: cancelled while
+         * waiting for them. Does nothing if already completed.
+         */
+        void cancel() {
+            if (completed.compareAndSet(false, true)) {
+                CallGuard.this.cancel(permits, reserved);
+            }
+        }
+
+    }
+
+    private static class CompositePermit implements CallPermit {
+
+        private final List<CallPermit> permits;
+
+        private CompositePermit(List<CallPermit> permits) {
+            this.permits = permits;
+        }
+
+        @Override
+        public void onSuccess() {
+            permits.forEach(CallPermit::onSuccess);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            permits.forEach(permit -> permit.onError(throwable));
+        }
+
+        @Override
+        public void release() {
+            permits.forEach(CallPermit::release);
+        }
+
+    }
+
+}
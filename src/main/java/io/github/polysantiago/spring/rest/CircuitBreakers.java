@@ -0,0 +1,47 @@
+package io.github.polysantiago.spring.rest;
+
+import io.github.polysantiago.spring.rest.circuitbreaker.CircuitBreaker;
+import io.github.polysantiago.spring.rest.circuitbreaker.CircuitBreakerSettings;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The circuit breakers of a single rest client: one per method annotated with {@link RestClientCircuitBreaker} and
+ * the one of its service, if configured, shared by its other methods. Failures are classified as retries are, see
+ * {@link RestClientSpecification#isFailure(Throwable)}.
+ */
+class CircuitBreakers {
+
+    private final RestClientSpecification specification;
+    private final CircuitBreaker serviceCircuitBreaker;
+    private final Map<Method, CircuitBreaker> methodCircuitBreakers = new ConcurrentHashMap<>();
+
+    CircuitBreakers(RestClientSpecification specification, CircuitBreakerSettings serviceSettings) {
+        this.specification = specification;
+        this.serviceCircuitBreaker = serviceSettings != null && serviceSettings.isEnabled() ?
+            new CircuitBreaker(specification.getName(), serviceSettings, specification::isFailure) : null;
+    }
+
+    /**
+     * Returns the circuit breaker guarding the given method, or {@code null} if it is not guarded.
+     */
+    CircuitBreaker get(Method method, RestClientInterceptorHelper helper) {
+        CircuitBreakerSettings settings = helper.getCircuitBreakerSettings();
+        if (settings == null) {
+            return serviceCircuitBreaker;
+        }
+        if (!settings.isEnabled()) {
+            return null;
+        }
+        // Look up first as computeIfAbsent locks the bin even if the mapping is present
+        CircuitBreaker circuitBreaker = methodCircuitBreakers.get(method);
+        if (circuitBreaker == null) {
+            circuitBreaker = methodCircuitBreakers.computeIfAbsent(method,
+                key -> new CircuitBreaker(specification.getName() + "#" + key.getName(), settings, specification::isFailure));
+        }
+        return circuitBreaker;
+    }
+
+}
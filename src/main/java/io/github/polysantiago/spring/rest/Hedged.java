@@ -0,0 +1,29 @@
+package io.github.polysantiago.spring.rest;
+
+import java.lang.annotation.*;
+
+/**
+ * Hedges the calls of an idempotent {@code GET} method against slow responses: if a call was not answered after
+ * {@link #after()}, an identical request is sent, the first response wins and the other requests are cancelled.
+ * <p>
+ * Requests are sent through the async template, so that losing requests can be cancelled, and the method must be
+ * synchronous or return {@code CompletableFuture}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Hedged {
+
+    /**
+     * How long to wait for a response before sending an extra request: either a percentile of the latency of the
+     * method's recent calls, eg: {@code p95} or {@code p99.9}, or a fixed delay in milliseconds, eg: {@code 50}.
+     * Calls are not hedged on a percentile until enough calls were answered to estimate it.
+     */
+    String after() default "p95";
+
+    /**
+     * Maximum number of extra requests per call, each sent once the delay elapses again without any response.
+     */
+    int maxExtra() default 1;
+
+}
@@ -0,0 +1,51 @@
+package io.github.polysantiago.spring.rest;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Estimates a percentile of the latency of the most recent calls of a method. Latencies are recorded in a ring buffer
+ * without locking and the percentile is only recomputed every {@value #REFRESH_INTERVAL} calls.
+ */
+class LatencyTracker {
+
+    static final int MIN_SAMPLES = 20;
+    private static final int WINDOW_SIZE = 1024;
+    private static final int REFRESH_INTERVAL = 64;
+
+    private final double percentile;
+    private final AtomicLongArray samples = new AtomicLongArray(WINDOW_SIZE);
+    private final AtomicLong count = new AtomicLong();
+    private volatile long percentileNanos = -1;
+
+    LatencyTracker(double percentile) {
+        this.percentile = percentile;
+    }
+
+    void record(long nanos) {
+        long recorded = count.getAndIncrement() + 1;
+        samples.set((int) ((recorded - 1) % WINDOW_SIZE), nanos);
+        if (recorded == MIN_SAMPLES || recorded > MIN_SAMPLES && recorded % REFRESH_INTERVAL == 0) {
+            refresh((int) Math.min(recorded, WINDOW_SIZE));
+        }
+    }
+
+    /**
+     * Returns the estimated percentile in nanoseconds, or {@code -1} until {@value #MIN_SAMPLES} calls are recorded.
+     */
+    long getPercentileNanos() {
+        return percentileNanos;
+    }
+
+    private void refresh(int size) {
+        long[] sorted = new long[size];
+        for (int i = 0; i < size; i++) {
+            sorted[i] = samples.get(i);
+        }
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100 * size) - 1;
+        percentileNanos = sorted[Math.max(0, Math.min(index, size - 1))];
+    }
+
+}
@@ -0,0 +1,24 @@
+package io.github.polysantiago.spring.rest;
+
+import java.lang.annotation.*;
+
+/**
+ * Lazily walks all pages of a Spring HATEOAS {@code PagedResources} endpoint by following their {@code next} links,
+ * eg: {@code Stream<FooResource> getFoos()}. The method returns the elements of all pages, either as a {@code Stream},
+ * an {@code Iterator} or an {@code Iterable}, whose every iteration walks the pages anew.
+ * <p>
+ * Pages are fetched through the async template while the previous ones are consumed, up to {@link #prefetch()} pages
+ * ahead of the page being consumed. Always close a stream that may not be fully consumed.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Paginated {
+
+    /**
+     * Maximum number of pages fetched ahead of the page being consumed, {@code 0} only fetches a page once the
+     * previous one is exhausted.
+     */
+    int prefetch() default 1;
+
+}
@@ -0,0 +1,24 @@
+package io.github.polysantiago.spring.rest;
+
+import java.lang.annotation.*;
+
+/**
+ * Limits the rate of calls of a method, on top of the rate limit configured for its service under
+ * {@code spring.rest.client.services.<name>.rate-limit}, if any. See
+ * {@link io.github.polysantiago.spring.rest.limiter.RateLimitSettings} for the meaning of each attribute.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RateLimited {
+
+    double permitsPerSecond();
+
+    int burst() default 1;
+
+    /**
+     * How long, in milliseconds, a call over the rate waits for a permit, {@code 0} fails it fast.
+     */
+    long maxWait() default 0;
+
+}
@@ -0,0 +1,41 @@
+package io.github.polysantiago.spring.rest;
+
+import io.github.polysantiago.spring.rest.limiter.RateLimitSettings;
+import io.github.polysantiago.spring.rest.limiter.RateLimiter;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The rate limiters of a single rest client: the one of its service, if configured, shared by all its methods and one
+ * per method annotated with {@link RateLimited}, both limiting the calls of such a method.
+ */
+class RateLimiters {
+
+    private final String name;
+    private final RateLimiter serviceRateLimiter;
+
+    RateLimiters(String name, RateLimitSettings serviceSettings) {
+        this.name = name;
+        this.serviceRateLimiter = serviceSettings != null && serviceSettings.isEnabled() ?
+            new RateLimiter(name, serviceSettings) : null;
+    }
+
+    /**
+     * Returns the rate limiters of the given method, in the order their permits are acquired. Only called once per
+     * method, as a new rate limiter is created for annotated methods.
+     */
+    List<RateLimiter> get(Method method, RestClientInterceptorHelper helper) {
+        List<RateLimiter> rateLimiters = new ArrayList<>(2);
+        RateLimitSettings settings = helper.getRateLimitSettings();
+        if (settings != null) {
+            rateLimiters.add(new RateLimiter(name + "#" + method.getName(), settings));
+        }
+        if (serviceRateLimiter != null) {
+            rateLimiters.add(serviceRateLimiter);
+        }
+        return rateLimiters;
+    }
+
+}
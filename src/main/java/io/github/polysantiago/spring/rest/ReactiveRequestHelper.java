@@ -0,0 +1,56 @@
+package io.github.polysantiago.spring.rest;
+
+import io.github.polysantiago.spring.rest.ResponseStrategy.Kind;
+import io.github.polysantiago.spring.rest.support.EventStreamIterator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.RequestEntity;
+import org.springframework.util.concurrent.ListenableFuture;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Bridges the non-blocking execution of {@link AsyncRequestHelper} to Reactor types. Requests are only sent upon
+ * subscription and cancelling the subscription cancels the request. Event streams are read through
+ * {@link SyncRequestHelper} instead, as their events are only read upon demand.
+ */
+@RequiredArgsConstructor
+class ReactiveRequestHelper {
+
+    private final AsyncRequestHelper asyncRequestHelper;
+    private final SyncRequestHelper syncRequestHelper;
+
+    <T> Mono<Object> executeMonoRequest(ResponseStrategy strategy, RequestEntity<T> requestEntity, CallGuard callGuard) {
+        return Mono.create(sink -> {
+            ListenableFuture<?> future = asyncRequestHelper.executeAsyncRequest(strategy, requestEntity, callGuard);
+            sink.onCancel(() -> future.cancel(true));
+            future.addCallback(sink::success, sink::error);
+        });
+    }
+
+    <T> Flux<Object> executeFluxRequest(ResponseStrategy strategy, RequestEntity<T> requestEntity, CallGuard callGuard) {
+        if (strategy.getKind() == Kind.EVENTS) {
+            return executeEventStreamRequest(strategy, requestEntity, callGuard);
+        }
+        // The response type of a Flux is a List of its elements, which are then emitted upon demand
+        return executeMonoRequest(strategy, requestEntity, callGuard).flatMapIterable(body -> (Iterable<?>) body);
+    }
+
+    private <T> Flux<Object> executeEventStreamRequest(ResponseStrategy strategy, RequestEntity<T> requestEntity,
+                                                       CallGuard callGuard) {
+        // Events are only read from the connection upon demand, on an elastic thread as reading blocks
+        return Flux.<Object, EventStreamIterator<Object>>generate(
+            () -> syncRequestHelper.openEventStream(strategy, requestEntity, callGuard),
+            (events, sink) -> {
+                if (events.hasNext()) {
+                    sink.next(events.next());
+                } else {
+                    sink.complete();
+                }
+                return events;
+            },
+            EventStreamIterator::close)
+            .subscribeOn(Schedulers.elastic());
+    }
+
+}
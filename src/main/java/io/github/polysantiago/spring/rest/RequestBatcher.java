@@ -0,0 +1,132 @@
+package io.github.polysantiago.spring.rest;
+
+import io.github.polysantiago.spring.rest.support.CompiledUriTemplate;
+import io.github.polysantiago.spring.rest.support.RestClientScheduler;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.RequestEntity;
+import org.springframework.util.Assert;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.BiConsumer;
+
+/**
+ * Collects the keys of the calls to a single {@link Batched} method and sends them in a single batch request once
+ * the window closes or the batch is full, completing each caller with the value of its key. Only the batch requests are
+ * guarded, rather than each caller.
+ */
+class RequestBatcher {
+
+    private final RestClientInterceptorHelper helper;
+    private final AsyncRequestHelper asyncRequestHelper;
+    private final RestClientScheduler scheduler;
+    private final ResponseStrategy batchStrategy;
+    private final URI batchUri;
+    private final HttpHeaders batchHeaders;
+    private final Batched batched;
+    private final CallGuard callGuard;
+
+    private Map<Object, List<CompletableFuture<Object>>> pending = new LinkedHashMap<>();
+    private ScheduledFuture<?> scheduledFlush;
+
+    RequestBatcher(RestClientInterceptorHelper helper, Batched batched, URI serviceUrl,
+                   AsyncRequestHelper asyncRequestHelper, RestClientScheduler scheduler, CallGuard callGuard) {
+        Assert.notNull(scheduler, "A RestClientScheduler is required to batch requests");
+        this.helper = helper;
+        this.batched = batched;
+        this.asyncRequestHelper = asyncRequestHelper;
+        this.scheduler = scheduler;
+        this.callGuard = callGuard;
+        this.batchStrategy = ResponseStrategy.forBatch(helper.getResponseStrategy());
+        this.batchUri = CompiledUriTemplate.compile(serviceUrl, batched.endpoint(), Collections.emptyList())
+            .expand(new Object[0], new String[0][]);
+        this.batchHeaders = new HttpHeaders();
+        helper.getStaticHeaders().forEach((name, values) -> batchHeaders.put(name, new ArrayList<>(values)));
+        this.batchHeaders.setContentType(MediaType.APPLICATION_JSON);
+    }
+
+    CompletableFuture<?> submit(Object key) {
+        Assert.notNull(key, "Batched key must not be null");
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        Map<Object, List<CompletableFuture<Object>>> batch = null;
+        synchronized (this) {
+            pending.computeIfAbsent(key, k -> new ArrayList<>()).add(future);
+            if (pending.size() >= batched.maxSize()) {
+                batch = drain();
+            } else if (scheduledFlush == null) {
+                scheduledFlush = scheduler.scheduleHandOff(this::flush, batched.maxDelay(), batched.timeUnit());
+            }
+        }
+        if (batch != null) {
+            send(batch);
+        }
+        return future;
+    }
+
+    private void flush() {
+        Map<Object, List<CompletableFuture<Object>>> batch;
+        synchronized (this) {
+            batch = drain();
+        }
+        if (!batch.isEmpty()) {
+            send(batch);
+        }
+    }
+
+    private Map<Object, List<CompletableFuture<Object>>> drain() {
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        Map<Object, List<CompletableFuture<Object>>> batch = pending;
+        pending = new LinkedHashMap<>();
+        return batch;
+    }
+
+    private void send(Map<Object, List<CompletableFuture<Object>>> batch) {
+        List<Object> keys = new ArrayList<>(batch.keySet());
+        try {
+            if (keys.size() == 1) {
+                RequestEntity<Object> request = helper.buildRequest(new Object[]{keys.get(0)});
+                asyncRequestHelper.executeCompletableRequest(helper.getResponseStrategy(), request, callGuard)
+                    .whenComplete(completeAll(batch.get(keys.get(0))));
+            } else {
+                RequestEntity<List<Object>> request = new RequestEntity<>(keys, batchHeaders, HttpMethod.POST, batchUri);
+                asyncRequestHelper.executeCompletableRequest(batchStrategy, request, callGuard)
+                    .whenComplete((values, throwable) -> complete(batch, keys, (List<?>) values, throwable));
+            }
+        } catch (RuntimeException ex) {
+            batch.values().forEach(futures -> completeAll(futures).accept(null, ex));
+        }
+    }
+
+    private static void complete(Map<Object, List<CompletableFuture<Object>>> batch, List<Object> keys, List<?> values,
+                                 Throwable throwable) {
+        if (throwable == null && (values == null || values.size() != keys.size())) {
+            throwable = new IllegalStateException("Expected " + keys.size() + " values in batch response but got " +
+                (values == null ? 0 : values.size()));
+        }
+        for (int i = 0; i < keys.size(); i++) {
+            completeAll(batch.get(keys.get(i))).accept(throwable == null ? values.get(i) : null, throwable);
+        }
+    }
+
+    private static BiConsumer<Object, Throwable> completeAll(List<CompletableFuture<Object>> futures) {
+        return (value, throwable) -> futures.forEach(future -> {
+            if (throwable != null) {
+                future.completeExceptionally(throwable);
+            } else {
+                future.complete(value);
+            }
+        });
+    }
+
+}
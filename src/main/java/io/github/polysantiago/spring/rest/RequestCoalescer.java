@@ -0,0 +1,62 @@
+package io.github.polysantiago.spring.rest;
+
+import io.github.polysantiago.spring.rest.util.CompletableFutures;
+import org.springframework.http.RequestEntity;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces identical concurrent requests of a single {@link RestClient} method, so that concurrent callers share one
+ * exchange and its result. Requests are identical if their {@link RequestEntity} are equal, that is if they have the
+ * same method, URI, headers and body.
+ */
+class RequestCoalescer {
+
+    private final ConcurrentMap<RequestEntity<?>, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    Object execute(RequestEntity<?> requestEntity, Supplier<Object> exchange) {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> leader = inFlight.putIfAbsent(requestEntity, future);
+        if (leader != null) {
+            return CompletableFutures.join(leader);
+        }
+        try {
+            Object result = exchange.get();
+            future.complete(result);
+            return result;
+        } catch (RuntimeException | Error ex) {
+            future.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(requestEntity, future);
+        }
+    }
+
+    CompletableFuture<?> executeAsync(RequestEntity<?> requestEntity, Supplier<CompletableFuture<?>> exchange) {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> leader = inFlight.putIfAbsent(requestEntity, future);
+        if (leader == null) {
+            leader = future;
+            try {
+                exchange.get().whenComplete((result, throwable) -> {
+                    inFlight.remove(requestEntity, future);
+                    if (throwable != null) {
+                        future.completeExceptionally(throwable);
+                    } else {
+                        future.complete(result);
+                    }
+                });
+            } catch (RuntimeException ex) {
+                inFlight.remove(requestEntity, future);
+                future.completeExceptionally(ex);
+            }
+        }
+        // Every caller gets its own dependent future so that cancelling it does not affect the others
+        return leader.thenApply(Function.identity());
+    }
+
+}
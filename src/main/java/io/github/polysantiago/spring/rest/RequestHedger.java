@@ -0,0 +1,182 @@
+package io.github.polysantiago.spring.rest;
+
+import io.github.polysantiago.spring.rest.support.RestClientScheduler;
+import org.springframework.util.Assert;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Sends extra identical requests for the calls of a single {@link Hedged} method which are not answered in time. The
+ * first response completes the call and cancels the other requests, an error only completes it once no other request
+ * is in flight.
+ */
+class RequestHedger {
+
+    private static final String PERCENTILE_PREFIX = "p";
+
+    private final RestClientScheduler scheduler;
+    private final int maxExtra;
+    private final long fixedDelayNanos;
+    private final LatencyTracker latencyTracker;
+
+    RequestHedger(Hedged hedged, RestClientScheduler scheduler) {
+        Assert.notNull(scheduler, "A RestClientScheduler is required to hedge requests");
+        this.scheduler = scheduler;
+        this.maxExtra = hedged.maxExtra();
+        String after = hedged.after().trim();
+        if (after.startsWith(PERCENTILE_PREFIX)) {
+            this.fixedDelayNanos = -1;
+            this.latencyTracker = new LatencyTracker(Double.parseDouble(after.substring(PERCENTILE_PREFIX.length())));
+        } else {
+            this.fixedDelayNanos = TimeUnit.MILLISECONDS.toNanos(Long.parseLong(after));
+            this.latencyTracker = null;
+        }
+    }
+
+    /**
+     * Validates the given {@link Hedged#after()}, either a percentile or a delay in milliseconds.
+     */
+    static boolean isValidDelay(String after) {
+        try {
+            String value = after.trim();
+            if (value.startsWith(PERCENTILE_PREFIX)) {
+                double percentile = Double.parseDouble(value.substring(PERCENTILE_PREFIX.length()));
+                return percentile > 0 && percentile < 100;
+            }
+            return Long.parseLong(value) >= 0;
+        } catch (NumberFormatException ex) {
+            return false;
+        }
+    }
+
+    CompletableFuture<?> execute(Supplier<CompletableFuture<?>> exchange) {
+        HedgedCall call = new HedgedCall(exchange);
+        call.attempt();
+        long delayNanos = getDelayNanos();
+        if (delayNanos >= 0 && maxExtra > 0 && !call.isDone()) {
+            call.scheduleHedge(delayNanos);
+        }
+        return call;
+    }
+
+    /**
+     * Returns the delay after which calls are hedged in nanoseconds, or {@code -1} until it can be estimated.
+     */
+    long getDelayNanos() {
+        return latencyTracker != null ? latencyTracker.getPercentileNanos() : fixedDelayNanos;
+    }
+
+    /**
+     * A hedged call, whose latency is recorded from sending its first request until any request answers it, so that
+     * the latency of slow requests beaten by a hedge still counts towards the percentile.
+     */
+    private class HedgedCall extends CompletableFuture<Object> {
+
+        private final Supplier<CompletableFuture<?>> exchange;
+        private final List<CompletableFuture<?>> attempts = new CopyOnWriteArrayList<>();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final long start = System.nanoTime();
+        private volatile ScheduledFuture<?> scheduledHedge;
+        // Only accessed by the hedges, which run one after the other
+        private int extraSent;
+
+        private HedgedCall(Supplier<CompletableFuture<?>> exchange) {
+            this.exchange = exchange;
+        }
+
+        private void attempt() {
+            inFlight.incrementAndGet();
+            CompletableFuture<?> attempt;
+            try {
+                attempt = exchange.get();
+            } catch (RuntimeException ex) {
+                onError(ex);
+                return;
+            }
+            attempts.add(attempt);
+            if (isDone()) {
+                // Completed while sending this request
+                attempt.cancel(true);
+            }
+            attempt.whenComplete((value, throwable) -> {
+                if (throwable == null) {
+                    if (complete(value) && latencyTracker != null) {
+                        latencyTracker.record(System.nanoTime() - start);
+                    }
+                } else {
+                    onError(throwable);
+                }
+            });
+        }
+
+        private void onError(Throwable throwable) {
+            // Hedging only races slow requests, failed requests are left to retries
+            if (inFlight.decrementAndGet() == 0) {
+                completeExceptionally(throwable);
+            }
+        }
+
+        private void scheduleHedge(long delayNanos) {
+            try {
+                scheduledHedge = scheduler.scheduleHandOff(() -> hedge(delayNanos), delayNanos, TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException ex) {
+                // Not hedged on shutdown
+            }
+        }
+
+        private void hedge(long delayNanos) {
+            if (isDone()) {
+                return;
+            }
+            extraSent++;
+            attempt();
+            if (extraSent < maxExtra) {
+                scheduleHedge(delayNanos);
+            }
+        }
+
+        @Override
+        public boolean complete(Object value) {
+            boolean completed = super.complete(value);
+            if (completed) {
+                cancelAttempts();
+            }
+            return completed;
+        }
+
+        @Override
+        public boolean completeExceptionally(Throwable throwable) {
+            boolean completed = super.completeExceptionally(throwable);
+            if (completed) {
+                cancelAttempts();
+            }
+            return completed;
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            if (cancelled) {
+                cancelAttempts();
+            }
+            return cancelled;
+        }
+
+        private void cancelAttempts() {
+            ScheduledFuture<?> hedge = scheduledHedge;
+            if (hedge != null) {
+                hedge.cancel(false);
+            }
+            attempts.forEach(attempt -> attempt.cancel(true));
+        }
+
+    }
+
+}
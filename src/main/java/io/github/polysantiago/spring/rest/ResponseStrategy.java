@@ -0,0 +1,208 @@
+package io.github.polysantiago.spring.rest;
+
+import io.github.polysantiago.spring.rest.support.EventStreamIterator;
+import io.github.polysantiago.spring.rest.support.MethodParameters;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.concurrent.ListenableFuture;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+import static io.github.polysantiago.spring.rest.support.SyntheticParametrizedTypeReference.fromResolvableType;
+
+/**
+ * How the response of a {@link RestClient} method is executed and extracted, resolved once from its return type.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+class ResponseStrategy {
+
+    enum Dispatch {
+        SYNC, LISTENABLE_FUTURE, COMPLETABLE_FUTURE, MONO, FLUX, STREAM, ITERATOR, ITERABLE, DOWNLOAD
+    }
+
+    enum Kind {
+        /**
+         * The response body is returned
+         */
+        BODY,
+        /**
+         * The whole {@link ResponseEntity} or {@link HttpEntity} is returned
+         */
+        ENTITY,
+        /**
+         * The response body is returned wrapped in an {@link Optional}, empty upon {@code HTTP 404}
+         */
+        OPTIONAL,
+        /**
+         * The {@code Location} header is returned, see {@link PostForLocation}
+         */
+        LOCATION,
+        /**
+         * Each event of a {@code text/event-stream} or {@code application/x-ndjson} response is returned as it arrives
+         */
+        EVENTS,
+        /**
+         * The elements of all pages of a {@code PagedResources} response are returned, see {@link Paginated}
+         */
+        PAGES
+    }
+
+    private static final Class<?> MONO_TYPE = loadIfPresent("reactor.core.publisher.Mono");
+    private static final Class<?> FLUX_TYPE = loadIfPresent("reactor.core.publisher.Flux");
+    private static final Class<?> PAGED_RESOURCES_TYPE = loadIfPresent("org.springframework.hateoas.PagedResources");
+
+    private final Dispatch dispatch;
+    private final Kind kind;
+    private final ParameterizedTypeReference<?> responseType;
+
+    static ResponseStrategy from(Method method, Class<?> implementingClass) {
+        ResolvableType returnType = ResolvableType.forMethodReturnType(method, implementingClass);
+
+        if (isDownload(method, returnType)) {
+            Assert.state(typeIsAnyOf(returnType, Void.TYPE, Path.class),
+                "Method " + method + " writing its response to a file or channel must return void or Path");
+            return new ResponseStrategy(Dispatch.DOWNLOAD, Kind.BODY, fromResolvableType(ResolvableType.forClass(Object.class)));
+        }
+
+        if (AnnotationUtils.findAnnotation(method, Paginated.class) != null) {
+            return paginated(method, returnType);
+        }
+
+        Dispatch dispatch = getDispatch(returnType);
+        ResolvableType valueType = dispatch == Dispatch.SYNC ? returnType : returnType.getGeneric(0);
+
+        if (AnnotationUtils.findAnnotation(method, PostForLocation.class) != null) {
+            if (!typeIsAnyOf(valueType, URI.class)) {
+                throw new RuntimeException("Method annotated with @PostForLocation must return URI");
+            }
+            return new ResponseStrategy(dispatch, Kind.LOCATION, fromResolvableType(ResolvableType.forClass(Object.class)));
+        }
+        if (dispatch == Dispatch.STREAM || dispatch == Dispatch.ITERATOR || dispatch == Dispatch.FLUX) {
+            if (producesEventStream(method)) {
+                return new ResponseStrategy(dispatch, Kind.EVENTS, fromResolvableType(valueType));
+            }
+        }
+        if (dispatch == Dispatch.STREAM || dispatch == Dispatch.ITERATOR) {
+            // Elements are decoded one at a time
+            return new ResponseStrategy(dispatch, Kind.BODY, fromResolvableType(valueType));
+        }
+        if (dispatch == Dispatch.FLUX) {
+            return new ResponseStrategy(dispatch, Kind.BODY, listOf(fromResolvableType(valueType)));
+        }
+        if (typeIsAnyOf(valueType, HttpEntity.class, ResponseEntity.class)) {
+            return new ResponseStrategy(dispatch, Kind.ENTITY, fromResolvableType(valueType.getGeneric(0)));
+        }
+        if (typeIsAnyOf(valueType, Optional.class)) {
+            return new ResponseStrategy(dispatch, Kind.OPTIONAL, fromResolvableType(valueType));
+        }
+        return new ResponseStrategy(dispatch, Kind.BODY, fromResolvableType(valueType));
+    }
+
+    /**
+     * The strategy of a batch request of a {@link Batched} method, whose response is a list of the method's values.
+     */
+    static ResponseStrategy forBatch(ResponseStrategy strategy) {
+        return new ResponseStrategy(Dispatch.COMPLETABLE_FUTURE, Kind.BODY, listOf(strategy.getResponseType()));
+    }
+
+    boolean isOptional() {
+        return kind == Kind.OPTIONAL;
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> ParameterizedTypeReference<T> getResponseType() {
+        return (ParameterizedTypeReference<T>) responseType;
+    }
+
+    private static ResponseStrategy paginated(Method method, ResolvableType returnType) {
+        Assert.state(PAGED_RESOURCES_TYPE != null, "Method " + method + " annotated with @Paginated requires Spring HATEOAS");
+        Dispatch dispatch = returnType.resolve() == Iterable.class ? Dispatch.ITERABLE : getDispatch(returnType);
+        Assert.state(dispatch == Dispatch.STREAM || dispatch == Dispatch.ITERATOR || dispatch == Dispatch.ITERABLE,
+            "Method " + method + " annotated with @Paginated must return Stream, Iterator or Iterable");
+        // Each page is read as a whole, its elements are then returned one at a time
+        ResolvableType elementType = ResolvableType.forType(fromResolvableType(returnType.getGeneric(0)).getType());
+        return new ResponseStrategy(dispatch, Kind.PAGES,
+            fromResolvableType(ResolvableType.forClassWithGenerics(PAGED_RESOURCES_TYPE, elementType)));
+    }
+
+    private static ParameterizedTypeReference<?> listOf(ParameterizedTypeReference<?> elementType) {
+        // Resolve the element type first as type variables do not resolve once nested in a synthetic type
+        return fromResolvableType(ResolvableType.forClassWithGenerics(List.class, ResolvableType.forType(elementType.getType())));
+    }
+
+    /**
+     * Whether the response body is written to the given parameter, see {@link ResponseTarget}.
+     */
+    static boolean isResponseTarget(MethodParameter parameter) {
+        return WritableByteChannel.class.isAssignableFrom(parameter.getParameterType()) ||
+            parameter.hasParameterAnnotation(ResponseTarget.class) && Path.class.isAssignableFrom(parameter.getParameterType());
+    }
+
+    private static boolean producesEventStream(Method method) {
+        RequestMapping request = AnnotatedElementUtils.findMergedAnnotation(method, RequestMapping.class);
+        return request != null && Arrays.stream(request.produces())
+            .map(MediaType::parseMediaType)
+            .anyMatch(EventStreamIterator::isEventStream);
+    }
+
+    private static boolean isDownload(Method method, ResolvableType returnType) {
+        return typeIsAnyOf(returnType, Path.class) ||
+            new MethodParameters(method).getParameters().stream().anyMatch(ResponseStrategy::isResponseTarget);
+    }
+
+    private static Dispatch getDispatch(ResolvableType returnType) {
+        if (typeIsAnyOf(returnType, ListenableFuture.class)) {
+            return Dispatch.LISTENABLE_FUTURE;
+        }
+        if (typeIsAnyOf(returnType, CompletableFuture.class)) {
+            return Dispatch.COMPLETABLE_FUTURE;
+        }
+        if (MONO_TYPE != null && typeIsAnyOf(returnType, MONO_TYPE)) {
+            return Dispatch.MONO;
+        }
+        if (FLUX_TYPE != null && typeIsAnyOf(returnType, FLUX_TYPE)) {
+            return Dispatch.FLUX;
+        }
+        if (typeIsAnyOf(returnType, Stream.class)) {
+            return Dispatch.STREAM;
+        }
+        if (typeIsAnyOf(returnType, Iterator.class)) {
+            return Dispatch.ITERATOR;
+        }
+        return Dispatch.SYNC;
+    }
+
+    private static boolean typeIsAnyOf(ResolvableType resolvableType, Class<?>... classes) {
+        // Only the raw class is relevant to choose a strategy, the generics are carried by the response type
+        Class<?> rawClass = resolvableType.resolve(Object.class);
+        return Arrays.stream(classes).anyMatch(clazz -> clazz.isAssignableFrom(rawClass));
+    }
+
+    private static Class<?> loadIfPresent(String className) {
+        ClassLoader classLoader = ResponseStrategy.class.getClassLoader();
+        return ClassUtils.isPresent(className, classLoader) ? ClassUtils.resolveClassName(className, classLoader) : null;
+    }
+
+}
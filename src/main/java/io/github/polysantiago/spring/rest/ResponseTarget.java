@@ -0,0 +1,16 @@
+package io.github.polysantiago.spring.rest;
+
+import java.lang.annotation.*;
+
+/**
+ * Writes the response body straight to the annotated {@code java.nio.file.Path} parameter, created or truncated,
+ * instead of reading it into memory. The method must return either {@code void} or {@code Path}.
+ * <p>
+ * Parameters of type {@code java.nio.channels.WritableByteChannel} are response targets without this annotation.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ResponseTarget {
+
+}
@@ -1,19 +1,34 @@
 package io.github.polysantiago.spring.rest;
 
+import io.github.polysantiago.spring.rest.retry.AsyncRetryScheduler;
 import io.github.polysantiago.spring.rest.retry.RetryOperationsInterceptorFactory;
+import io.github.polysantiago.spring.rest.support.RestClientScheduler;
+import io.github.polysantiago.spring.rest.transport.AsyncExecutorPublicMetrics;
+import io.github.polysantiago.spring.rest.transport.AsyncRestClientTransport;
+import io.github.polysantiago.spring.rest.transport.ExecutorAsyncRestClientTransport;
+import io.github.polysantiago.spring.rest.transport.ExecutorType;
+import io.github.polysantiago.spring.rest.transport.HttpComponentsAsyncRestClientTransport;
+import io.github.polysantiago.spring.rest.transport.HttpComponentsRestClientTransport;
+import io.github.polysantiago.spring.rest.transport.RestClientTransport;
+import io.github.polysantiago.spring.rest.transport.SimpleRestClientTransport;
+import io.github.polysantiago.spring.rest.transport.VirtualThreadAsyncRestClientTransport;
 import lombok.RequiredArgsConstructor;
+import org.apache.http.client.HttpClient;
+import org.apache.http.nio.client.HttpAsyncClient;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.web.WebMvcAutoConfiguration;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.format.FormatterRegistry;
 import org.springframework.format.datetime.standard.DateTimeFormatterRegistrar;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.retry.annotation.RetryConfiguration;
 import org.springframework.retry.interceptor.RetryOperationsInterceptor;
 import org.springframework.web.client.AsyncRestTemplate;
@@ -34,17 +49,38 @@ public class RestClientAutoConfiguration {
 
     @Bean
     @ConditionalOnMissingBean
-    public RestTemplate restClientTemplate(RestTemplateBuilder builder) {
-        return builder.build();
+    public RestTemplate restClientTemplate(RestTemplateBuilder builder, RestClientTransport transport,
+                                           RestClientProperties properties) {
+        return builder.requestFactory(transport.createRequestFactory(properties.getPool())).build();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public RestClientTransport restClientTransport() {
+        return new SimpleRestClientTransport();
     }
 
     @Bean
     @ConditionalOnMissingBean
     @ConditionalOnBean(RestTemplate.class)
-    public AsyncRestTemplate asyncRestClientTemplate(RestTemplate restTemplate) {
-        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
-        requestFactory.setTaskExecutor(new SimpleAsyncTaskExecutor());
-        return new AsyncRestTemplate(requestFactory, restTemplate);
+    public AsyncRestTemplate asyncRestClientTemplate(RestTemplate restTemplate, AsyncRestClientTransport asyncTransport,
+                                                    RestClientProperties properties) {
+        return new AsyncRestTemplate(asyncTransport.createAsyncRequestFactory(properties.getPool()), restTemplate);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public AsyncRestClientTransport asyncRestClientTransport(RestClientProperties properties) {
+        if (properties.getExecutor() == ExecutorType.VIRTUAL) {
+            return new VirtualThreadAsyncRestClientTransport();
+        }
+        return new ExecutorAsyncRestClientTransport(properties.getAsync());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public RestClientScheduler restClientScheduler(AsyncRestClientTransport asyncTransport) {
+        return new RestClientScheduler(asyncTransport.getTaskExecutor());
     }
 
     @Bean
@@ -59,6 +95,42 @@ public class RestClientAutoConfiguration {
         };
     }
 
+    @Configuration
+    @ConditionalOnClass(HttpClient.class)
+    protected static class HttpComponentsTransportConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public RestClientTransport httpComponentsRestClientTransport() {
+            return new HttpComponentsRestClientTransport();
+        }
+
+    }
+
+    @Configuration
+    @ConditionalOnClass(HttpAsyncClient.class)
+    @ConditionalOnProperty(prefix = RestClientProperties.PREFIX, name = "executor", havingValue = "pooled", matchIfMissing = true)
+    protected static class HttpComponentsAsyncTransportConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public AsyncRestClientTransport httpComponentsAsyncRestClientTransport() {
+            return new HttpComponentsAsyncRestClientTransport();
+        }
+
+    }
+
+    @Configuration
+    @ConditionalOnClass(PublicMetrics.class)
+    protected static class RestClientMetricsConfiguration {
+
+        @Bean
+        public PublicMetrics restClientAsyncPublicMetrics(ObjectProvider<ExecutorAsyncRestClientTransport> transport) {
+            return new AsyncExecutorPublicMetrics(transport);
+        }
+
+    }
+
     @Configuration
     @ConditionalOnBean(RetryConfiguration.class)
     protected static class RestClientRetryConfiguration {
@@ -71,8 +143,16 @@ public class RestClientAutoConfiguration {
 
         @Bean
         @ConditionalOnMissingBean
-        public RestClientRetryConfigurer restClientRetryConfigurer(RetryOperationsInterceptor restClientRetryInterceptor) {
-            return new RestClientRetryConfigurer(restClientRetryInterceptor);
+        public RestClientRetryConfigurer restClientRetryConfigurer(RetryOperationsInterceptor restClientRetryInterceptor,
+                                                                   AsyncRetryScheduler asyncRetryScheduler) {
+            return new RestClientRetryConfigurer(restClientRetryInterceptor, asyncRetryScheduler);
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        public AsyncRetryScheduler restClientAsyncRetryScheduler(RestClientProperties properties,
+                                                                 RestClientScheduler restClientScheduler) {
+            return new AsyncRetryScheduler(properties.getRetry(), restClientScheduler);
         }
 
     }
@@ -0,0 +1,31 @@
+package io.github.polysantiago.spring.rest;
+
+import java.lang.annotation.*;
+
+/**
+ * Guards a method with its own circuit breaker, instead of the one configured for its service under
+ * {@code spring.rest.client.services.<name>.circuit-breaker}, if any. See
+ * {@link io.github.polysantiago.spring.rest.circuitbreaker.CircuitBreakerSettings} for the meaning of each attribute.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RestClientCircuitBreaker {
+
+    /**
+     * Whether the method is guarded at all, eg: {@code false} exempts it from the circuit breaker of its service.
+     */
+    boolean enabled() default true;
+
+    int failureRateThreshold() default 50;
+
+    int windowSize() default 100;
+
+    /**
+     * How long, in milliseconds, calls fail fast once the circuit opens.
+     */
+    long openDuration() default 30000;
+
+    int halfOpenCalls() default 10;
+
+}
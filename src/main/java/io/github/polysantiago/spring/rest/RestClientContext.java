@@ -1,17 +1,19 @@
 package io.github.polysantiago.spring.rest;
 
-import lombok.AccessLevel;
-import lombok.AllArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
 
 import java.net.URI;
 import java.util.*;
 
-@AllArgsConstructor(access = AccessLevel.PACKAGE)
 class RestClientContext {
 
-    private List<RestClientSpecification> specifications = new ArrayList<>();
-    private Map<String, Object> services = new HashMap<>();
+    private final List<RestClientSpecification> specifications;
+    private final Map<String, ServiceSettings> services = new HashMap<>();
+
+    RestClientContext(List<RestClientSpecification> specifications, Map<String, Object> services) {
+        this.specifications = specifications;
+        services.forEach((name, value) -> this.services.put(name, ServiceSettings.from(value)));
+    }
 
     RestClientSpecification findByRestClientName(String name) {
         return specifications
@@ -23,8 +25,12 @@ class RestClientContext {
 
     URI findServiceUriByName(String name) {
         return Optional.ofNullable(services.get(name))
-            .map(Object::toString)
+            .map(ServiceSettings::getUrl)
             .map(URI::create)
             .orElseThrow(() -> new IllegalStateException("Invalid URL for service " + name));
     }
+
+    ServiceSettings findServiceSettingsByName(String name) {
+        return services.getOrDefault(name, new ServiceSettings());
+    }
 }
@@ -1,8 +1,18 @@
 package io.github.polysantiago.spring.rest;
 
+import io.github.polysantiago.spring.rest.cache.CacheSettings;
+import io.github.polysantiago.spring.rest.cache.HttpResponseCache;
+import io.github.polysantiago.spring.rest.limiter.AdaptiveConcurrencyLimiter;
+import io.github.polysantiago.spring.rest.limiter.Bulkhead;
+import io.github.polysantiago.spring.rest.limiter.BulkheadSettings;
+import io.github.polysantiago.spring.rest.limiter.ConcurrencyLimitSettings;
+import io.github.polysantiago.spring.rest.support.MultipartBodyHttpMessageConverter;
+import io.github.polysantiago.spring.rest.support.RestClientScheduler;
+import io.github.polysantiago.spring.rest.support.StreamingRequestBodyHttpMessageConverter;
+import io.github.polysantiago.spring.rest.transport.RestClientTransport;
 import lombok.Getter;
 import lombok.Setter;
-import org.springframework.aop.framework.ProxyFactory;
+import org.aopalliance.intercept.MethodInterceptor;
 import org.springframework.beans.factory.FactoryBean;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
@@ -11,11 +21,15 @@ import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 import org.springframework.format.support.DefaultFormattingConversionService;
 import org.springframework.format.support.FormattingConversionService;
+import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
 import org.springframework.web.client.AsyncRestTemplate;
 import org.springframework.web.client.RestTemplate;
 
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -26,6 +40,8 @@ class RestClientFactoryBean<T> implements FactoryBean<T>, InitializingBean, Appl
 
     private static final String PREFERRED_CONVERSION_SERVICE = "mvcConversionService";
     private static final FormattingConversionService DEFAULT_CONVERSION_SERVICE = new DefaultFormattingConversionService();
+    private static final boolean REACTOR_PRESENT = ClassUtils.isPresent("reactor.core.publisher.Mono",
+        RestClientFactoryBean.class.getClassLoader());
 
     private String name;
 
@@ -41,33 +57,92 @@ class RestClientFactoryBean<T> implements FactoryBean<T>, InitializingBean, Appl
         Assert.hasText(this.name, "Name must be set");
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public T getObject() throws Exception {
-        RestTemplate restTemplate = applicationContext.getBean(RestTemplate.class);
-        AsyncRestTemplate asyncRestTemplate = applicationContext.getBean(AsyncRestTemplate.class);
         RestClientContext context = applicationContext.getBean(RestClientContext.class);
+        ServiceSettings serviceSettings = context.findServiceSettingsByName(name);
+        RestTemplate restTemplate = getRestTemplate(serviceSettings);
+        AsyncRestTemplate asyncRestTemplate = getAsyncRestTemplate();
 
         RestClientSpecification specification = context.findByRestClientName(name);
         FormattingConversionService conversionService = getConversionService();
 
-        ProxyFactory proxyFactory = new ProxyFactory();
-        proxyFactory.addInterface(objectType);
-
-        SyncRequestHelper syncRequestHelper = new SyncRequestHelper(specification, restTemplate, objectType);
-        AsyncRequestHelper asyncRequestHelper = new AsyncRequestHelper(asyncRestTemplate, objectType);
+        SyncRequestHelper syncRequestHelper = new SyncRequestHelper(specification, restTemplate);
+        CacheSettings cacheSettings = serviceSettings.getCache();
+        if (cacheSettings != null && cacheSettings.isEnabled()) {
+            syncRequestHelper.setResponseCache(new HttpResponseCache(cacheSettings.getMaxEntries()));
+        }
+        AsyncRequestHelper asyncRequestHelper = new AsyncRequestHelper(specification, asyncRestTemplate);
+        ReactiveRequestHelper reactiveRequestHelper = REACTOR_PRESENT ? new ReactiveRequestHelper(asyncRequestHelper, syncRequestHelper) : null;
 
         RestClientInterceptor interceptor = new RestClientInterceptor(
             syncRequestHelper,
             asyncRequestHelper,
+            reactiveRequestHelper,
             conversionService,
-            getServiceUrl(context));
+            getServiceUrl(context),
+            objectType);
+        interceptor.setCoalesceRequests(serviceSettings.isCoalesceRequests());
+        interceptor.setScheduler(applicationContext.getBean(RestClientScheduler.class));
+        interceptor.setCircuitBreakers(new CircuitBreakers(specification, serviceSettings.getCircuitBreaker()));
+        interceptor.setRateLimiters(new RateLimiters(name, serviceSettings.getRateLimit()));
+        ConcurrencyLimitSettings concurrencyLimitSettings = serviceSettings.getConcurrencyLimit();
+        if (concurrencyLimitSettings != null && concurrencyLimitSettings.isEnabled()) {
+            interceptor.setConcurrencyLimiter(
+                new AdaptiveConcurrencyLimiter(name, concurrencyLimitSettings, specification::isFailure));
+        }
+        BulkheadSettings bulkheadSettings = serviceSettings.getBulkhead();
+        if (bulkheadSettings != null && bulkheadSettings.isEnabled()) {
+            interceptor.setBulkhead(new Bulkhead(name, bulkheadSettings));
+        }
 
-        retryConfigurer().ifPresent(configurer -> configurer.configure(proxyFactory, interceptor));
+        MethodInterceptor retryAdvice = retryConfigurer()
+            .map(retryConfigurer -> retryConfigurer.configure(interceptor))
+            .orElse(null);
+        return RestClientInvocationHandler.newProxy(objectType, interceptor, retryAdvice, applicationContext.getClassLoader());
+    }
 
-        proxyFactory.addAdvice(interceptor);
+    /**
+     * A template of this client behaving as the shared one, which is left untouched as it may be the application's own.
+     */
+    private RestTemplate getRestTemplate(ServiceSettings serviceSettings) {
+        RestTemplate sharedRestTemplate = applicationContext.getBean(RestTemplate.class);
+        RestTemplate restTemplate = new RestTemplate(withRequestBodyConverters(sharedRestTemplate.getMessageConverters()));
+        if (serviceSettings.getPool() == null) {
+            // Looked up on each request, which includes the shared interceptors, as the factory may be replaced later
+            restTemplate.setRequestFactory(
+                (uri, httpMethod) -> sharedRestTemplate.getRequestFactory().createRequest(uri, httpMethod));
+        } else {
+            // A dedicated pool for this client
+            RestClientTransport transport = applicationContext.getBean(RestClientTransport.class);
+            restTemplate.setRequestFactory(transport.createRequestFactory(serviceSettings.getPool()));
+            restTemplate.setInterceptors(sharedRestTemplate.getInterceptors());
+        }
+        restTemplate.setErrorHandler(sharedRestTemplate.getErrorHandler());
+        restTemplate.setUriTemplateHandler(sharedRestTemplate.getUriTemplateHandler());
+        return restTemplate;
+    }
+
+    private AsyncRestTemplate getAsyncRestTemplate() {
+        AsyncRestTemplate sharedAsyncRestTemplate = applicationContext.getBean(AsyncRestTemplate.class);
+        RestTemplate restTemplate = new RestTemplate(withRequestBodyConverters(sharedAsyncRestTemplate.getMessageConverters()));
+        restTemplate.setErrorHandler(sharedAsyncRestTemplate.getErrorHandler());
+        restTemplate.setUriTemplateHandler(sharedAsyncRestTemplate.getUriTemplateHandler());
+        return new AsyncRestTemplate(
+            (uri, httpMethod) -> sharedAsyncRestTemplate.getAsyncRequestFactory().createAsyncRequest(uri, httpMethod),
+            restTemplate);
+    }
 
-        return (T) proxyFactory.getProxy(applicationContext.getClassLoader());
+    private static List<HttpMessageConverter<?>> withRequestBodyConverters(List<HttpMessageConverter<?>> messageConverters) {
+        List<HttpMessageConverter<?>> converters = new ArrayList<>(messageConverters);
+        // Ahead of converters writing any object, eg: Jackson's, which would otherwise serialize these bodies
+        if (converters.stream().noneMatch(StreamingRequestBodyHttpMessageConverter.class::isInstance)) {
+            converters.add(0, new StreamingRequestBodyHttpMessageConverter());
+        }
+        if (converters.stream().noneMatch(MultipartBodyHttpMessageConverter.class::isInstance)) {
+            converters.add(0, new MultipartBodyHttpMessageConverter(converters));
+        }
+        return converters;
     }
 
     private FormattingConversionService getConversionService() {
@@ -1,50 +1,227 @@
 package io.github.polysantiago.spring.rest;
 
-import io.github.polysantiago.spring.rest.util.ResolvableTypeUtils;
+import io.github.polysantiago.spring.rest.cache.ResponseMemoizer;
+import io.github.polysantiago.spring.rest.circuitbreaker.CircuitBreaker;
+import io.github.polysantiago.spring.rest.limiter.AdaptiveConcurrencyLimiter;
+import io.github.polysantiago.spring.rest.limiter.Bulkhead;
+import io.github.polysantiago.spring.rest.limiter.RateLimiter;
+import io.github.polysantiago.spring.rest.retry.AsyncRetryScheduler;
+import io.github.polysantiago.spring.rest.support.CallPermit;
+import io.github.polysantiago.spring.rest.support.RestClientScheduler;
+import io.github.polysantiago.spring.rest.util.CompletableFutures;
 import lombok.RequiredArgsConstructor;
-import org.aopalliance.intercept.MethodInterceptor;
-import org.aopalliance.intercept.MethodInvocation;
 import org.springframework.format.support.FormattingConversionService;
 import org.springframework.http.RequestEntity;
-import org.springframework.util.concurrent.ListenableFuture;
 
 import java.lang.reflect.Method;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
-import static net.javacrumbs.futureconverter.springjava.FutureConverter.toCompletableFuture;
+import static java.util.Collections.emptyList;
 
 @RequiredArgsConstructor
-class RestClientInterceptor implements MethodInterceptor {
+class RestClientInterceptor {
 
     private final SyncRequestHelper syncRequestHelper;
     private final AsyncRequestHelper asyncRequestHelper;
+    private final ReactiveRequestHelper reactiveRequestHelper;
     private final FormattingConversionService conversionService;
     private final URI serviceUrl;
+    private final Class<?> implementingClass;
+    private final Map<Method, RestClientInterceptorHelper> helpers = new ConcurrentHashMap<>();
+    private final Map<Method, RequestBatcher> batchers = new ConcurrentHashMap<>();
+    private final Map<Method, RequestHedger> hedgers = new ConcurrentHashMap<>();
+    private final Map<Method, CallGuard> callGuards = new ConcurrentHashMap<>();
+    private boolean coalesceRequests;
+    private RestClientScheduler scheduler;
+    private CircuitBreakers circuitBreakers;
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private Bulkhead bulkhead;
+    private RateLimiters rateLimiters;
 
     void setRetryEnabled(boolean retryEnabled) {
-        syncRequestHelper.setRetryEnabled(true);
+        syncRequestHelper.setRetryEnabled(retryEnabled);
     }
 
-    @Override
-    public Object invoke(MethodInvocation methodInvocation) throws Throwable {
-        Method method = methodInvocation.getMethod();
-        RequestEntity<Object> requestEntity = RestClientInterceptorHelper
-            .from(methodInvocation)
-            .conversionService(conversionService)
-            .buildRequest(serviceUrl);
+    void setCoalesceRequests(boolean coalesceRequests) {
+        this.coalesceRequests = coalesceRequests;
+    }
+
+    void setScheduler(RestClientScheduler scheduler) {
+        this.scheduler = scheduler;
+        asyncRequestHelper.setScheduler(scheduler);
+    }
+
+    void setCircuitBreakers(CircuitBreakers circuitBreakers) {
+        this.circuitBreakers = circuitBreakers;
+    }
+
+    void setConcurrencyLimiter(AdaptiveConcurrencyLimiter concurrencyLimiter) {
+        this.concurrencyLimiter = concurrencyLimiter;
+    }
+
+    void setBulkhead(Bulkhead bulkhead) {
+        this.bulkhead = bulkhead;
+    }
+
+    void setRateLimiters(RateLimiters rateLimiters) {
+        this.rateLimiters = rateLimiters;
+    }
+
+    void setAsyncRetryScheduler(AsyncRetryScheduler asyncRetryScheduler) {
+        asyncRequestHelper.setRetryScheduler(asyncRetryScheduler);
+    }
+
+    Object invoke(Method method, Object[] arguments) {
+        RestClientInterceptorHelper helper = getHelper(method);
+        return execute(method, helper, getCallGuard(method, helper), arguments);
+    }
+
+    /**
+     * Executes a call, whose exchanges with the service are each guarded by the given guard, see {@link CallGuard}.
+     */
+    private Object execute(Method method, RestClientInterceptorHelper helper, CallGuard callGuard, Object[] arguments) {
+        RequestEntity<Object> requestEntity = helper.buildRequest(arguments);
+        ResponseStrategy strategy = helper.getResponseStrategy();
+
+        switch (strategy.getDispatch()) {
+            case LISTENABLE_FUTURE:
+                return asyncRequestHelper.executeAsyncRequest(strategy, requestEntity, callGuard);
+            case COMPLETABLE_FUTURE:
+                return executeCompletableRequest(method, helper, callGuard, requestEntity, arguments);
+            case MONO:
+                return reactiveRequestHelper.executeMonoRequest(strategy, requestEntity, callGuard);
+            case FLUX:
+                return reactiveRequestHelper.executeFluxRequest(strategy, requestEntity, callGuard);
+            case STREAM:
+            case ITERATOR:
+            case ITERABLE:
+                if (strategy.getKind() == ResponseStrategy.Kind.PAGES) {
+                    return asyncRequestHelper.executePaginatedRequest(strategy, requestEntity,
+                        helper.getPaginated().prefetch(), callGuard);
+                }
+                return syncRequestHelper.executeStreamingRequest(strategy, requestEntity, callGuard);
+            case DOWNLOAD:
+                return syncRequestHelper.executeDownloadRequest(strategy, requestEntity,
+                    helper.getResponseTarget(arguments), callGuard);
+            default:
+                return executeRequest(method, helper, callGuard, requestEntity, arguments);
+        }
+    }
+
+    private Object executeRequest(Method method, RestClientInterceptorHelper helper, CallGuard callGuard,
+                                  RequestEntity<Object> requestEntity, Object[] arguments) {
+        ResponseStrategy strategy = helper.getResponseStrategy();
+        RequestCoalescer coalescer = helper.getRequestCoalescer();
+        ResponseMemoizer memoizer = helper.getResponseMemoizer();
+
+        Supplier<Object> exchange = () -> syncRequestHelper.executeRequest(strategy, requestEntity, callGuard);
+        if (helper.getBatched() != null) {
+            RequestBatcher batcher = getBatcher(method, helper, callGuard);
+            exchange = () -> CompletableFutures.join(batcher.submit(arguments[0]));
+        } else if (helper.getHedged() != null) {
+            // Waits on async requests as the losing ones must be cancelled
+            RequestHedger hedger = getHedger(method, helper);
+            exchange = () -> CompletableFutures.join(
+                hedger.execute(() -> asyncRequestHelper.executeCompletableRequest(strategy, requestEntity, callGuard)));
+        }
+        if (coalescer != null) {
+            Supplier<Object> singleExchange = exchange;
+            exchange = () -> coalescer.execute(requestEntity, singleExchange);
+        }
+        if (memoizer == null) {
+            return exchange.get();
+        }
+        // Stale results are refreshed through the async template so that callers never wait on it
+        return memoizer.get(requestEntity, exchange,
+            () -> asyncRequestHelper.executeCompletableRequest(strategy, requestEntity, callGuard));
+    }
+
+    private CompletableFuture<?> executeCompletableRequest(Method method, RestClientInterceptorHelper helper,
+                                                           CallGuard callGuard, RequestEntity<Object> requestEntity,
+                                                           Object[] arguments) {
+        ResponseStrategy strategy = helper.getResponseStrategy();
+        RequestCoalescer coalescer = helper.getRequestCoalescer();
+        ResponseMemoizer memoizer = helper.getResponseMemoizer();
 
-        if (ResolvableTypeUtils.returnTypeIs(method, ListenableFuture.class)) {
-            return executeAsync(method, requestEntity);
+        Supplier<CompletableFuture<?>> exchange =
+            () -> asyncRequestHelper.executeCompletableRequest(strategy, requestEntity, callGuard);
+        if (helper.getBatched() != null) {
+            RequestBatcher batcher = getBatcher(method, helper, callGuard);
+            exchange = () -> batcher.submit(arguments[0]);
+        } else if (helper.getHedged() != null) {
+            RequestHedger hedger = getHedger(method, helper);
+            exchange = () -> hedger.execute(
+                () -> asyncRequestHelper.executeCompletableRequest(strategy, requestEntity, callGuard));
+        }
+        if (coalescer != null) {
+            Supplier<CompletableFuture<?>> singleExchange = exchange;
+            exchange = () -> coalescer.executeAsync(requestEntity, singleExchange);
         }
-        if (ResolvableTypeUtils.returnTypeIs(method, CompletableFuture.class)) {
-            return toCompletableFuture(executeAsync(method, requestEntity));
+        return memoizer != null ? memoizer.getAsync(requestEntity, exchange) : exchange.get();
+    }
+
+    private RestClientInterceptorHelper getHelper(Method method) {
+        // Look up first as computeIfAbsent locks the bin even if the mapping is present
+        RestClientInterceptorHelper helper = helpers.get(method);
+        if (helper == null) {
+            helper = helpers.computeIfAbsent(method,
+                key -> RestClientInterceptorHelper.from(key, implementingClass, serviceUrl, conversionService, coalesceRequests));
+        }
+        return helper;
+    }
+
+    private CallGuard getCallGuard(Method method, RestClientInterceptorHelper helper) {
+        CallGuard callGuard = callGuards.get(method);
+        if (callGuard == null) {
+            callGuard = callGuards.computeIfAbsent(method, key -> createCallGuard(key, helper));
         }
-        return syncRequestHelper.executeRequest(methodInvocation, requestEntity);
+        return callGuard;
     }
 
-    private ListenableFuture<?> executeAsync(Method method, RequestEntity<Object> requestEntity) {
-        return asyncRequestHelper.executeAsyncRequest(method, requestEntity);
+    private CallGuard createCallGuard(Method method, RestClientInterceptorHelper helper) {
+        // Failing fast first, so that rejected calls neither consume rate permits nor take a slot of the concurrency
+        // limit or bulkhead while waiting for one. The concurrency limit comes last so that its round-trip time is
+        // measured from sending the request, not from waiting for the other guards
+        List<Supplier<? extends CallPermit>> gates = new ArrayList<>(1);
+        CircuitBreaker circuitBreaker = circuitBreakers != null ? circuitBreakers.get(method, helper) : null;
+        if (circuitBreaker != null) {
+            gates.add(circuitBreaker::acquirePermit);
+        }
+        List<RateLimiter> methodRateLimiters = rateLimiters != null ? rateLimiters.get(method, helper) : emptyList();
+        List<Supplier<? extends CallPermit>> limits = new ArrayList<>(2);
+        if (bulkhead != null) {
+            limits.add(bulkhead::acquirePermit);
+        }
+        if (concurrencyLimiter != null) {
+            limits.add(concurrencyLimiter::acquirePermit);
+        }
+        if (gates.isEmpty() && methodRateLimiters.isEmpty() && limits.isEmpty()) {
+            return CallGuard.NONE;
+        }
+        return new CallGuard(gates, methodRateLimiters, limits);
+    }
+
+    private RequestBatcher getBatcher(Method method, RestClientInterceptorHelper helper, CallGuard callGuard) {
+        RequestBatcher batcher = batchers.get(method);
+        if (batcher == null) {
+            batcher = batchers.computeIfAbsent(method,
+                key -> new RequestBatcher(helper, helper.getBatched(), serviceUrl, asyncRequestHelper, scheduler, callGuard));
+        }
+        return batcher;
+    }
+
+    private RequestHedger getHedger(Method method, RestClientInterceptorHelper helper) {
+        RequestHedger hedger = hedgers.get(method);
+        if (hedger == null) {
+            hedger = hedgers.computeIfAbsent(method, key -> new RequestHedger(helper.getHedged(), scheduler));
+        }
+        return hedger;
     }
 
 }
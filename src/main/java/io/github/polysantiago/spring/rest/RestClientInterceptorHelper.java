@@ -1,113 +1,195 @@
 package io.github.polysantiago.spring.rest;
 
+import io.github.polysantiago.spring.rest.ResponseStrategy.Dispatch;
+import io.github.polysantiago.spring.rest.cache.ResponseMemoizer;
+import io.github.polysantiago.spring.rest.circuitbreaker.CircuitBreakerSettings;
+import io.github.polysantiago.spring.rest.limiter.RateLimitSettings;
+import io.github.polysantiago.spring.rest.support.CompiledUriTemplate;
 import io.github.polysantiago.spring.rest.support.MethodParameters;
+import io.github.polysantiago.spring.rest.support.MultipartBody;
+import io.github.polysantiago.spring.rest.support.StreamingRequestBody;
+import lombok.AccessLevel;
+import lombok.Getter;
 import lombok.NonNull;
-import lombok.Setter;
-import lombok.experimental.Accessors;
-import org.aopalliance.intercept.MethodInvocation;
+import lombok.RequiredArgsConstructor;
 import org.springframework.core.MethodParameter;
 import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.core.convert.TypeDescriptor;
-import org.springframework.format.support.DefaultFormattingConversionService;
 import org.springframework.format.support.FormattingConversionService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.http.RequestEntity;
-import org.springframework.http.RequestEntity.BodyBuilder;
-import org.springframework.util.LinkedMultiValueMap;
-import org.springframework.util.MultiValueMap;
+import org.springframework.util.Assert;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.client.ResourceAccessException;
 
+import java.io.IOException;
 import java.lang.reflect.Method;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 
-import static java.util.Collections.singletonList;
+import static java.util.Collections.unmodifiableList;
 import static java.util.stream.Collectors.toList;
-import static java.util.stream.Collectors.toMap;
 import static org.apache.commons.lang3.ArrayUtils.isNotEmpty;
 import static org.apache.commons.lang3.StringUtils.substringAfter;
 import static org.apache.commons.lang3.StringUtils.substringBefore;
 import static org.springframework.http.MediaType.parseMediaType;
-import static org.springframework.util.CollectionUtils.isEmpty;
 
+/**
+ * Immutable invocation plan of a single {@link RestClient} method. All reflection and annotation lookups are
+ * performed once upon creation so that building a request only requires binding the invocation arguments.
+ */
 class RestClientInterceptorHelper {
 
     private static final TypeDescriptor STRING_TYPE_DESCRIPTOR = TypeDescriptor.valueOf(String.class);
     private static final String DEFAULT_PATH = "/";
+    private static final int NO_PARAMETER = -1;
 
-    private final Method method;
-    private final List<MethodParameter> methodParameters;
-    private final Object[] arguments;
+    @Getter
+    private final HttpMethod httpMethod;
+    @Getter
+    private final ResponseStrategy responseStrategy;
+    @Getter
+    private final ResponseMemoizer responseMemoizer;
+    @Getter
+    private final RequestCoalescer requestCoalescer;
+    @Getter
+    private final Batched batched;
+    @Getter
+    private final Hedged hedged;
+    @Getter
+    private final Paginated paginated;
+    @Getter
+    private final CircuitBreakerSettings circuitBreakerSettings;
+    @Getter
+    private final RateLimitSettings rateLimitSettings;
+    private final CompiledUriTemplate uriTemplate;
+    @Getter
+    private final HttpHeaders staticHeaders;
+    private final List<NamedParameter> queryParameters;
+    private final List<NamedParameter> headerParameters;
+    private final int[] pathParameters;
+    private final int bodyParameter;
+    private final int nonAnnotatedParameter;
+    private final int responseTargetParameter;
+    private final int[] partParameters;
+    private final MultipartBody.Template multipartTemplate;
+    private final FormattingConversionService conversionService;
 
-    @Setter
-    @Accessors(fluent = true)
-    private FormattingConversionService conversionService = new DefaultFormattingConversionService();
-
-    static RestClientInterceptorHelper from(MethodInvocation methodInvocation) {
-        return new RestClientInterceptorHelper(methodInvocation);
+    static RestClientInterceptorHelper from(Method method, Class<?> implementingClass, URI serviceUrl,
+                                            FormattingConversionService conversionService) {
+        return from(method, implementingClass, serviceUrl, conversionService, false);
     }
 
-    private RestClientInterceptorHelper(@NonNull MethodInvocation methodInvocation) {
-        this.method = methodInvocation.getMethod();
-        this.methodParameters = new MethodParameters(method).getParameters();
-        this.arguments = methodInvocation.getArguments();
+    static RestClientInterceptorHelper from(Method method, Class<?> implementingClass, URI serviceUrl,
+                                            FormattingConversionService conversionService, boolean coalesceRequests) {
+        return new RestClientInterceptorHelper(method, implementingClass, serviceUrl, conversionService, coalesceRequests);
     }
 
-    RequestEntity<Object> buildRequest(URI serviceUrl) {
+    private RestClientInterceptorHelper(@NonNull Method method, Class<?> implementingClass, @NonNull URI serviceUrl,
+                                        FormattingConversionService conversionService, boolean coalesceRequests) {
         RequestMapping request = AnnotatedElementUtils.findMergedAnnotation(method, RequestMapping.class);
+        Assert.state(request != null, "Method " + method + " must be annotated with @RequestMapping");
 
-        // Uri
-        URI uri = UriComponentsBuilder.fromUri(serviceUrl)
-            .path(isNotEmpty(request.value()) ? request.value()[0] : DEFAULT_PATH)
-            .queryParams(getQueryParameters(methodParameters, arguments))
-            .buildAndExpand(getPathParameters(methodParameters, arguments))
-            .encode()
-            .toUri();
-
-        // Request
-        BodyBuilder builder = RequestEntity
-            .method(toHttpMethod(isNotEmpty(request.method()) ? request.method()[0] : RequestMethod.GET), uri);
+        this.conversionService = conversionService;
+        this.httpMethod = toHttpMethod(isNotEmpty(request.method()) ? request.method()[0] : RequestMethod.GET);
+        this.staticHeaders = staticHeaders(request);
+        this.responseStrategy = ResponseStrategy.from(method, implementingClass);
+        this.responseMemoizer = responseMemoizer(method, responseStrategy);
+        this.requestCoalescer = coalesceRequests && isCoalescable(httpMethod, responseStrategy) ? new RequestCoalescer() : null;
+        this.batched = batched(method, responseStrategy);
+        this.hedged = hedged(method, httpMethod, responseStrategy);
+        this.paginated = paginated(method);
+        this.circuitBreakerSettings = circuitBreakerSettings(method);
+        this.rateLimitSettings = rateLimitSettings(method);
 
-        // Accept
-        if (isNotEmpty(request.produces())) {
-            builder.accept(produces(request.produces()));
+        List<MethodParameter> parameters = new MethodParameters(method).getParameters();
+        List<NamedParameter> queryParameters = new ArrayList<>();
+        List<NamedParameter> headerParameters = new ArrayList<>();
+        List<Integer> pathParameters = new ArrayList<>();
+        int bodyParameter = NO_PARAMETER;
+        int nonAnnotatedParameter = NO_PARAMETER;
+        int responseTargetParameter = NO_PARAMETER;
+        List<Integer> partParameters = new ArrayList<>();
+        List<String> partNames = new ArrayList<>();
+        for (MethodParameter parameter : parameters) {
+            int index = parameter.getParameterIndex();
+            if (ResponseStrategy.isResponseTarget(parameter)) {
+                responseTargetParameter = responseTargetParameter == NO_PARAMETER ? index : responseTargetParameter;
+            } else if (parameter.hasParameterAnnotation(RequestParam.class)) {
+                queryParameters.add(new NamedParameter(parameter.getParameterAnnotation(RequestParam.class).value(), parameter));
+            } else if (parameter.hasParameterAnnotation(RequestHeader.class)) {
+                headerParameters.add(new NamedParameter(parameter.getParameterAnnotation(RequestHeader.class).value(), parameter));
+            } else if (parameter.hasParameterAnnotation(PathVariable.class)) {
+                pathParameters.add(index);
+            } else if (parameter.hasParameterAnnotation(RequestPart.class)) {
+                partParameters.add(index);
+                partNames.add(partName(parameter));
+            } else if (parameter.hasParameterAnnotation(RequestBody.class)) {
+                bodyParameter = bodyParameter == NO_PARAMETER ? index : bodyParameter;
+            } else if (!parameter.hasParameterAnnotations()) {
+                nonAnnotatedParameter = nonAnnotatedParameter == NO_PARAMETER ? index : nonAnnotatedParameter;
+            }
         }
+        this.queryParameters = unmodifiableList(queryParameters);
+        this.headerParameters = unmodifiableList(headerParameters);
+        this.pathParameters = pathParameters.stream().mapToInt(Integer::intValue).toArray();
+        this.uriTemplate = CompiledUriTemplate.compile(serviceUrl,
+            isNotEmpty(request.value()) ? request.value()[0] : DEFAULT_PATH,
+            queryParameters.stream().map(NamedParameter::getName).collect(toList()));
+        this.bodyParameter = bodyParameter;
+        this.nonAnnotatedParameter = nonAnnotatedParameter;
+        this.responseTargetParameter = responseTargetParameter;
+        this.partParameters = partParameters.stream().mapToInt(Integer::intValue).toArray();
+        this.multipartTemplate = partNames.isEmpty() ? null : MultipartBody.Template.compile(partNames);
+        Assert.state(multipartTemplate == null || bodyParameter == NO_PARAMETER,
+            "Method " + method + " cannot have both @RequestPart and @RequestBody parameters");
+    }
 
-        // Content-Type
-        if (isNotEmpty(request.consumes())) {
-            builder.contentType(contentType(request.consumes()));
-        }
+    RequestEntity<Object> buildRequest(Object[] arguments) {
+        // Uri
+        URI uri = uriTemplate.expand(getPathParameters(arguments), getQueryParameters(arguments));
 
-        // Extra headers
-        if (isNotEmpty(request.headers())) {
-            requestHeaders(request.headers(), builder);
-        }
-        paramHeaders(methodParameters, arguments, builder);
+        // Accept, Content-Type and extra headers
+        HttpHeaders headers = new HttpHeaders();
+        staticHeaders.forEach((name, values) -> headers.put(name, new ArrayList<>(values)));
+        paramHeaders(arguments, headers);
 
-        return builder.body(body(methodParameters, arguments));
+        return new RequestEntity<>(body(arguments), headers, httpMethod, uri);
     }
 
-    private MultiValueMap<String, String> getQueryParameters(List<MethodParameter> parameters, Object[] arguments) {
-        if (!isEmpty(parameters)) {
-            return new LinkedMultiValueMap<>(parameters.stream()
-                .filter(parameter -> parameter.hasParameterAnnotation(RequestParam.class))
-                .collect(toMap(
-                    parameter -> ((RequestParam) parameter.getParameterAnnotations()[0]).value(),
-                    parameter -> {
-                        Object value = arguments[parameter.getParameterIndex()];
-                        if (value instanceof Collection) {
-                            return ((Collection<?>) value).stream()
-                                .map(element -> convertToString(TypeDescriptor.nested(parameter, 1), element))
-                                .collect(toList());
-                        }
-                        return singletonList(convertToString(new TypeDescriptor(parameter), value));
-                    })));
+    /**
+     * The {@link java.nio.file.Path} or {@link java.nio.channels.WritableByteChannel} the response is written to, if
+     * any, see {@link ResponseTarget}.
+     */
+    Object getResponseTarget(Object[] arguments) {
+        return responseTargetParameter != NO_PARAMETER ? arguments[responseTargetParameter] : null;
+    }
+
+    private String[][] getQueryParameters(Object[] arguments) {
+        String[][] queryParameters = new String[this.queryParameters.size()][];
+        for (int i = 0; i < queryParameters.length; i++) {
+            NamedParameter parameter = this.queryParameters.get(i);
+            Object value = arguments[parameter.getIndex()];
+            if (value instanceof Collection) {
+                Collection<?> elements = (Collection<?>) value;
+                String[] values = new String[elements.size()];
+                int index = 0;
+                for (Object element : elements) {
+                    values[index++] = convertToString(parameter.elementTypeDescriptor(element), element);
+                }
+                queryParameters[i] = values;
+            } else {
+                queryParameters[i] = new String[]{convertToString(parameter.getTypeDescriptor(), value)};
+            }
         }
-        return new LinkedMultiValueMap<>();
+        return queryParameters;
     }
 
     private String convertToString(TypeDescriptor sourceType, Object value) {
@@ -121,71 +203,182 @@ class RestClientInterceptorHelper {
         return value.toString();
     }
 
-    private Object[] getPathParameters(List<MethodParameter> parameters, Object[] arguments) {
-        if (!isEmpty(parameters)) {
-            return parameters.stream()
-                .filter(parameter -> parameter.hasParameterAnnotation(PathVariable.class))
-                .map(parameter -> arguments[parameter.getParameterIndex()])
-                .toArray(Object[]::new);
+    private Object[] getPathParameters(Object[] arguments) {
+        Object[] values = new Object[pathParameters.length];
+        for (int i = 0; i < pathParameters.length; i++) {
+            values[i] = arguments[pathParameters[i]];
         }
-        return new Object[]{};
+        return values;
     }
 
-    private static HttpMethod toHttpMethod(RequestMethod requestMethod) {
-        return HttpMethod.valueOf(requestMethod.name());
+    private Object body(Object[] arguments) {
+        if (multipartTemplate != null) {
+            Object[] parts = new Object[partParameters.length];
+            for (int i = 0; i < partParameters.length; i++) {
+                parts[i] = arguments[partParameters[i]];
+            }
+            return multipartTemplate.bind(parts);
+        }
+
+        // Get argument for first parameter annotated with RequestBody,
+        // or if non found, argument for first non-annotated parameter
+        Object body = bodyParameter != NO_PARAMETER ? arguments[bodyParameter] : null;
+        if (body == null && nonAnnotatedParameter != NO_PARAMETER) {
+            body = arguments[nonAnnotatedParameter];
+        }
+        try {
+            return StreamingRequestBody.adapt(body);
+        } catch (IOException ex) {
+            throw new ResourceAccessException("I/O error on request body: " + ex.getMessage(), ex);
+        }
     }
 
-    private static MediaType[] produces(String[] produces) {
-        return Stream.of(produces).map(MediaType::parseMediaType).toArray(MediaType[]::new);
+    private void paramHeaders(Object[] arguments, HttpHeaders headers) {
+        for (NamedParameter parameter : headerParameters) {
+            headers.add(parameter.getName(), convertToString(parameter.getTypeDescriptor(), arguments[parameter.getIndex()]));
+        }
     }
 
-    private static MediaType contentType(String[] consumes) {
-        return parseMediaType(consumes[0]);
+    private static String partName(MethodParameter parameter) {
+        RequestPart requestPart = parameter.getParameterAnnotation(RequestPart.class);
+        String name = !requestPart.value().isEmpty() ? requestPart.value() : requestPart.name();
+        if (name.isEmpty()) {
+            name = parameter.getParameterName();
+        }
+        Assert.state(name != null, "No name for @RequestPart parameter " + parameter.getParameterIndex() + " of " +
+            parameter.getMethod() + ", specify one or compile with -parameters");
+        return name;
     }
 
-    private static Object body(List<MethodParameter> parameters, Object[] arguments) {
-        // Get argument for first parameter annotated with RequestBody,
-        // or if non found, argument for first non-annotated parameter
-        if (!isEmpty(parameters)) {
-            Object body = getAnnotatedBody(parameters, arguments);
-            if (body != null) {
-                return body;
-            }
-            return getNonAnnotatedParameterValue(parameters, arguments);
+    private static HttpHeaders staticHeaders(RequestMapping request) {
+        HttpHeaders headers = new HttpHeaders();
+
+        // Accept
+        if (isNotEmpty(request.produces())) {
+            headers.setAccept(produces(request.produces()));
         }
-        return null;
+
+        // Content-Type
+        if (isNotEmpty(request.consumes())) {
+            headers.setContentType(parseMediaType(request.consumes()[0]));
+        }
+
+        // Extra headers
+        if (isNotEmpty(request.headers())) {
+            Stream.of(request.headers())
+                .forEach(header -> headers.add(substringBefore(header, ":"), substringAfter(header, ":")));
+        }
+        return headers;
+    }
+
+    private static ResponseMemoizer responseMemoizer(Method method, ResponseStrategy responseStrategy) {
+        CachedResponse cachedResponse = AnnotationUtils.findAnnotation(method, CachedResponse.class);
+        if (cachedResponse == null) {
+            return null;
+        }
+        Dispatch dispatch = responseStrategy.getDispatch();
+        Assert.state(dispatch == Dispatch.SYNC || dispatch == Dispatch.COMPLETABLE_FUTURE,
+            "Method " + method + " annotated with @CachedResponse must be synchronous or return CompletableFuture");
+        TimeUnit timeUnit = cachedResponse.timeUnit();
+        return new ResponseMemoizer(timeUnit.toMillis(cachedResponse.ttl()),
+            timeUnit.toMillis(cachedResponse.staleWhileRevalidate()), timeUnit.toMillis(cachedResponse.notFoundTtl()),
+            cachedResponse.maxEntries());
     }
 
-    private static Object getAnnotatedBody(List<MethodParameter> parameters, Object[] arguments) {
-        return parameters.stream()
-            .filter((methodParameter) -> methodParameter.hasParameterAnnotation(RequestBody.class))
-            .findFirst()
-            .map(parameter -> arguments[parameter.getParameterIndex()])
-            .orElse(null);
+    private static Batched batched(Method method, ResponseStrategy responseStrategy) {
+        Batched batched = AnnotationUtils.findAnnotation(method, Batched.class);
+        if (batched == null) {
+            return null;
+        }
+        Dispatch dispatch = responseStrategy.getDispatch();
+        Assert.state(method.getParameterCount() == 1, "Method " + method + " annotated with @Batched must take a single key");
+        Assert.state(responseStrategy.getKind() == ResponseStrategy.Kind.BODY &&
+                (dispatch == Dispatch.SYNC || dispatch == Dispatch.COMPLETABLE_FUTURE),
+            "Method " + method + " annotated with @Batched must return its value, either synchronously or as CompletableFuture");
+        Assert.state(batched.maxSize() > 0, "@Batched maxSize must be positive");
+        return batched;
     }
 
-    private static Object getNonAnnotatedParameterValue(List<MethodParameter> parameters, Object[] arguments) {
-        return parameters.stream()
-            .filter(parameter -> !parameter.hasParameterAnnotations())
-            .findFirst()
-            .map(parameter -> arguments[parameter.getParameterIndex()])
-            .orElse(null);
+    private static Hedged hedged(Method method, HttpMethod httpMethod, ResponseStrategy responseStrategy) {
+        Hedged hedged = AnnotationUtils.findAnnotation(method, Hedged.class);
+        if (hedged == null) {
+            return null;
+        }
+        Dispatch dispatch = responseStrategy.getDispatch();
+        Assert.state(httpMethod == HttpMethod.GET, "Method " + method + " annotated with @Hedged must be a GET");
+        Assert.state(dispatch == Dispatch.SYNC || dispatch == Dispatch.COMPLETABLE_FUTURE,
+            "Method " + method + " annotated with @Hedged must return its value, either synchronously or as CompletableFuture");
+        Assert.state(RequestHedger.isValidDelay(hedged.after()),
+            "@Hedged after must be a percentile, eg: p95, or a delay in milliseconds but was " + hedged.after());
+        Assert.state(hedged.maxExtra() >= 0, "@Hedged maxExtra must not be negative");
+        return hedged;
     }
 
-    private static void requestHeaders(String[] headers, BodyBuilder builder) {
-        Stream.of(headers)
-            .forEach(header -> builder.header(substringBefore(header, ":"), substringAfter(header, ":")));
+    private static Paginated paginated(Method method) {
+        Paginated paginated = AnnotationUtils.findAnnotation(method, Paginated.class);
+        Assert.state(paginated == null || paginated.prefetch() >= 0, "@Paginated prefetch must not be negative");
+        return paginated;
     }
 
-    private void paramHeaders(List<MethodParameter> parameters, Object[] arguments, BodyBuilder builder) {
-        if (!isEmpty(parameters)) {
-            parameters.stream()
-                .filter(parameter -> parameter.hasParameterAnnotation(RequestHeader.class))
-                .forEach(
-                    parameter -> builder.header(
-                        ((RequestHeader) parameter.getParameterAnnotations()[0]).value(),
-                        convertToString(new TypeDescriptor(parameter), arguments[parameter.getParameterIndex()])));
+    private static CircuitBreakerSettings circuitBreakerSettings(Method method) {
+        RestClientCircuitBreaker circuitBreaker = AnnotationUtils.findAnnotation(method, RestClientCircuitBreaker.class);
+        if (circuitBreaker == null) {
+            return null;
         }
+        CircuitBreakerSettings settings = new CircuitBreakerSettings();
+        settings.setEnabled(circuitBreaker.enabled());
+        settings.setFailureRateThreshold(circuitBreaker.failureRateThreshold());
+        settings.setWindowSize(circuitBreaker.windowSize());
+        settings.setOpenDuration(circuitBreaker.openDuration());
+        settings.setHalfOpenCalls(circuitBreaker.halfOpenCalls());
+        return settings;
+    }
+
+    private static RateLimitSettings rateLimitSettings(Method method) {
+        RateLimited rateLimited = AnnotationUtils.findAnnotation(method, RateLimited.class);
+        if (rateLimited == null) {
+            return null;
+        }
+        RateLimitSettings settings = new RateLimitSettings();
+        settings.setPermitsPerSecond(rateLimited.permitsPerSecond());
+        settings.setBurst(rateLimited.burst());
+        settings.setMaxWait(rateLimited.maxWait());
+        return settings;
+    }
+
+    private static boolean isCoalescable(HttpMethod httpMethod, ResponseStrategy responseStrategy) {
+        Dispatch dispatch = responseStrategy.getDispatch();
+        return httpMethod == HttpMethod.GET && (dispatch == Dispatch.SYNC || dispatch == Dispatch.COMPLETABLE_FUTURE);
+    }
+
+    private static HttpMethod toHttpMethod(RequestMethod requestMethod) {
+        return HttpMethod.valueOf(requestMethod.name());
+    }
+
+    private static List<MediaType> produces(String[] produces) {
+        return Stream.of(produces).map(MediaType::parseMediaType).collect(toList());
+    }
+
+    /**
+     * A method parameter bound by name, e.g. a request parameter or a request header.
+     */
+    @Getter
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    private static class NamedParameter {
+
+        private final String name;
+        private final int index;
+        private final TypeDescriptor typeDescriptor;
+        private final TypeDescriptor nestedTypeDescriptor;
+
+        private NamedParameter(String name, MethodParameter parameter) {
+            this(name, parameter.getParameterIndex(), new TypeDescriptor(parameter), TypeDescriptor.nested(parameter, 1));
+        }
+
+        private TypeDescriptor elementTypeDescriptor(Object element) {
+            return nestedTypeDescriptor != null ? nestedTypeDescriptor : TypeDescriptor.forObject(element);
+        }
+
     }
 
 }
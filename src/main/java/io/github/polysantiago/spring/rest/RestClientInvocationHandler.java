@@ -0,0 +1,135 @@
+package io.github.polysantiago.spring.rest;
+
+import lombok.RequiredArgsConstructor;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.ProxyMethodInvocation;
+
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Dispatches {@link RestClient} proxy invocations directly to a {@link RestClientInterceptor}, skipping the creation
+ * of an AOP interceptor chain on every call. The retry advice, if any, is the only advice and is applied around the
+ * interceptor through a minimal {@link ProxyMethodInvocation}, so that proxies are the same whether retries are
+ * enabled or not.
+ */
+@RequiredArgsConstructor
+class RestClientInvocationHandler implements InvocationHandler {
+
+    private final Class<?> objectType;
+    private final RestClientInterceptor interceptor;
+    private final MethodInterceptor retryAdvice;
+
+    @SuppressWarnings("unchecked")
+    static <T> T newProxy(Class<T> objectType, RestClientInterceptor interceptor, MethodInterceptor retryAdvice,
+                          ClassLoader classLoader) {
+        return (T) Proxy.newProxyInstance(classLoader, new Class<?>[]{objectType},
+            new RestClientInvocationHandler(objectType, interceptor, retryAdvice));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            return invokeObjectMethod(proxy, method, args);
+        }
+        Object[] arguments = args != null ? args : new Object[0];
+        if (retryAdvice == null) {
+            return interceptor.invoke(method, arguments);
+        }
+        return retryAdvice.invoke(new RestClientMethodInvocation(proxy, method, arguments));
+    }
+
+    private Object invokeObjectMethod(Object proxy, Method method, Object[] args) {
+        // Interface proxies only dispatch equals, hashCode and toString to the handler
+        if ("equals".equals(method.getName())) {
+            return proxy == args[0];
+        }
+        if ("hashCode".equals(method.getName())) {
+            return System.identityHashCode(proxy);
+        }
+        return "RestClient proxy for " + objectType.getName();
+    }
+
+    private class RestClientMethodInvocation implements ProxyMethodInvocation {
+
+        private final Object proxy;
+        private final Method method;
+        private Object[] arguments;
+        private Map<String, Object> userAttributes;
+
+        private RestClientMethodInvocation(Object proxy, Method method, Object[] arguments) {
+            this.proxy = proxy;
+            this.method = method;
+            this.arguments = arguments;
+        }
+
+        @Override
+        public Object proceed() {
+            return interceptor.invoke(method, arguments);
+        }
+
+        @Override
+        public Object getProxy() {
+            return proxy;
+        }
+
+        @Override
+        public Object getThis() {
+            return null;
+        }
+
+        @Override
+        public AccessibleObject getStaticPart() {
+            return method;
+        }
+
+        @Override
+        public Method getMethod() {
+            return method;
+        }
+
+        @Override
+        public Object[] getArguments() {
+            return arguments;
+        }
+
+        @Override
+        public void setArguments(Object... arguments) {
+            this.arguments = arguments;
+        }
+
+        @Override
+        public MethodInvocation invocableClone() {
+            return invocableClone(arguments.clone());
+        }
+
+        @Override
+        public MethodInvocation invocableClone(Object... arguments) {
+            return new RestClientMethodInvocation(proxy, method, arguments);
+        }
+
+        @Override
+        public void setUserAttribute(String key, Object value) {
+            if (userAttributes == null) {
+                userAttributes = new HashMap<>();
+            }
+            if (value != null) {
+                userAttributes.put(key, value);
+            } else {
+                userAttributes.remove(key);
+            }
+        }
+
+        @Override
+        public Object getUserAttribute(String key) {
+            return userAttributes != null ? userAttributes.get(key) : null;
+        }
+
+    }
+
+}
@@ -1,6 +1,9 @@
 package io.github.polysantiago.spring.rest;
 
 import io.github.polysantiago.spring.rest.retry.RetrySettings;
+import io.github.polysantiago.spring.rest.transport.AsyncSettings;
+import io.github.polysantiago.spring.rest.transport.ExecutorType;
+import io.github.polysantiago.spring.rest.transport.PoolSettings;
 import java.util.HashMap;
 import java.util.Map;
 import lombok.Getter;
@@ -16,6 +19,9 @@ public class RestClientProperties {
 
     private Boolean isoDateTimeFormat = true;
     private RetrySettings retry = new RetrySettings();
+    private PoolSettings pool = new PoolSettings();
+    private AsyncSettings async = new AsyncSettings();
+    private ExecutorType executor = ExecutorType.POOLED;
     private Map<String, Object> services = new HashMap<>();
 
 }
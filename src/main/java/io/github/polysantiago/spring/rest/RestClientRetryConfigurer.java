@@ -1,17 +1,23 @@
 package io.github.polysantiago.spring.rest;
 
+import io.github.polysantiago.spring.rest.retry.AsyncRetryScheduler;
 import lombok.RequiredArgsConstructor;
-import org.springframework.aop.framework.ProxyFactory;
+import org.aopalliance.intercept.MethodInterceptor;
 import org.springframework.retry.interceptor.RetryOperationsInterceptor;
 
 @RequiredArgsConstructor
 class RestClientRetryConfigurer {
 
     private final RetryOperationsInterceptor retryOperationsInterceptor;
+    private final AsyncRetryScheduler asyncRetryScheduler;
 
-    void configure(ProxyFactory proxyFactory, RestClientInterceptor restClientInterceptor) {
-        proxyFactory.addAdvice(retryOperationsInterceptor);
+    /**
+     * Enables retries on the given interceptor and returns the advice retrying its synchronous calls.
+     */
+    MethodInterceptor configure(RestClientInterceptor restClientInterceptor) {
         restClientInterceptor.setRetryEnabled(true);
+        restClientInterceptor.setAsyncRetryScheduler(asyncRetryScheduler);
+        return retryOperationsInterceptor;
     }
 
 }
@@ -1,10 +1,17 @@
 package io.github.polysantiago.spring.rest;
 
+import io.github.polysantiago.spring.rest.retry.RetryableException;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpStatusCodeException;
+
+import java.util.concurrent.CompletionException;
+import java.util.stream.Stream;
+
+import static org.apache.commons.lang3.exception.ExceptionUtils.getRootCause;
 
 @Getter
 @Setter
@@ -16,4 +23,25 @@ public class RestClientSpecification {
     private HttpStatus[] retryableStatuses;
     private Class<? extends Exception>[] retryableExceptions;
 
+    boolean isRetryableStatus(HttpStatus statusCode) {
+        return Stream.of(retryableStatuses).anyMatch(statusCode::equals);
+    }
+
+    boolean isRetryableException(Throwable throwable) {
+        return Stream.of(retryableExceptions)
+            .anyMatch(clazz -> clazz.isInstance(throwable) || clazz.isInstance(getRootCause(throwable)));
+    }
+
+    /**
+     * Whether the given error of a call is a failure of the service, ie: it would be retried.
+     */
+    boolean isFailure(Throwable throwable) {
+        Throwable error = throwable instanceof RetryableException || throwable instanceof CompletionException ?
+            throwable.getCause() : throwable;
+        if (error instanceof HttpStatusCodeException) {
+            return isRetryableStatus(((HttpStatusCodeException) error).getStatusCode());
+        }
+        return error != null && isRetryableException(error);
+    }
+
 }
@@ -0,0 +1,86 @@
+package io.github.polysantiago.spring.rest;
+
+import io.github.polysantiago.spring.rest.cache.CacheSettings;
+import io.github.polysantiago.spring.rest.circuitbreaker.CircuitBreakerSettings;
+import io.github.polysantiago.spring.rest.limiter.BulkheadSettings;
+import io.github.polysantiago.spring.rest.limiter.ConcurrencyLimitSettings;
+import io.github.polysantiago.spring.rest.limiter.RateLimitSettings;
+import io.github.polysantiago.spring.rest.transport.PoolSettings;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.beans.MutablePropertyValues;
+import org.springframework.boot.bind.RelaxedDataBinder;
+
+import java.util.Map;
+
+/**
+ * Settings of a single service declared under {@code spring.rest.client.services}. A service is either declared
+ * with its URL only, eg: {@code services.foo: http://foo.bar.se}, or with its URL and further settings, eg:
+ * {@code services.foo.url: http://foo.bar.se} and {@code services.foo.pool.max-total: 20}.
+ */
+@Getter
+@Setter
+public class ServiceSettings {
+
+    private String url;
+
+    /**
+     * Connection pool of a dedicated transport for the service, if not set the shared one is used
+     */
+    private PoolSettings pool;
+
+    /**
+     * HTTP cache of the responses of the service, if not set responses are not cached
+     */
+    private CacheSettings cache;
+
+    /**
+     * Whether identical concurrent {@code GET} requests share a single exchange
+     */
+    private boolean coalesceRequests;
+
+    /**
+     * Circuit breaker shared by the calls to the service, if not set calls are never failed fast
+     */
+    private CircuitBreakerSettings circuitBreaker;
+
+    /**
+     * Adaptive limit of the concurrent calls to the service, if not set calls are not limited
+     */
+    private ConcurrencyLimitSettings concurrencyLimit;
+
+    /**
+     * Fixed bound of the concurrent calls to the service, if not set calls are not bounded
+     */
+    private BulkheadSettings bulkhead;
+
+    /**
+     * Rate limit shared by the calls to the service, if not set only methods annotated with {@link RateLimited} are
+     * limited
+     */
+    private RateLimitSettings rateLimit;
+
+    static ServiceSettings from(Object value) {
+        ServiceSettings settings = new ServiceSettings();
+        if (value instanceof Map) {
+            MutablePropertyValues propertyValues = new MutablePropertyValues();
+            flatten(null, (Map<?, ?>) value, propertyValues);
+            new RelaxedDataBinder(settings).bind(propertyValues);
+        } else if (value != null) {
+            settings.setUrl(value.toString());
+        }
+        return settings;
+    }
+
+    private static void flatten(String prefix, Map<?, ?> map, MutablePropertyValues propertyValues) {
+        map.forEach((key, value) -> {
+            String name = prefix == null ? key.toString() : prefix + "." + key;
+            if (value instanceof Map) {
+                flatten(name, (Map<?, ?>) value, propertyValues);
+            } else {
+                propertyValues.add(name, value);
+            }
+        });
+    }
+
+}
@@ -1,101 +1,290 @@
 package io.github.polysantiago.spring.rest;
 
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.polysantiago.spring.rest.ResponseStrategy.Dispatch;
+import io.github.polysantiago.spring.rest.ResponseStrategy.Kind;
+import io.github.polysantiago.spring.rest.cache.HttpResponseCache;
 import io.github.polysantiago.spring.rest.retry.RetryableException;
-import io.github.polysantiago.spring.rest.support.SyntheticParametrizedTypeReference;
-import io.github.polysantiago.spring.rest.util.ResolvableTypeUtils;
+import io.github.polysantiago.spring.rest.support.EventStreamIterator;
+import io.github.polysantiago.spring.rest.support.JsonArrayIterator;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
-import org.aopalliance.intercept.MethodInvocation;
-import org.springframework.core.ResolvableType;
-import org.springframework.core.annotation.AnnotationUtils;
-import org.springframework.http.HttpEntity;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.RequestEntity;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.ResponseErrorHandler;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
-import java.lang.reflect.Method;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Optional;
-import java.util.function.Predicate;
-import java.util.stream.Stream;
 
-import static org.apache.commons.lang3.exception.ExceptionUtils.getRootCause;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.Collections.singletonList;
 
 @RequiredArgsConstructor
 class SyncRequestHelper {
 
+    private static final int BUFFER_SIZE = 64 * 1024;
+
     private final RestClientSpecification specification;
     private final RestTemplate restTemplate;
-    private final Class<?> implementingClass;
 
     @Setter
     private boolean retryEnabled;
 
-    <T> Object executeRequest(MethodInvocation invocation, RequestEntity<T> requestEntity) {
+    @Setter
+    private HttpResponseCache responseCache;
+
+    <T> Object executeRequest(ResponseStrategy strategy, RequestEntity<T> requestEntity, CallGuard callGuard) {
+        try {
+            return executeRequestInternal(strategy, requestEntity, callGuard);
+        } catch (HttpStatusCodeException ex) {
+            return handleHttpStatusCodeException(strategy, ex);
+        } catch (RuntimeException ex) {
+            throw handleRuntimeException(ex);
+        }
+    }
+
+    /**
+     * Executes a request whose JSON array response is decoded lazily, see {@link JsonArrayIterator}, or whose events
+     * are decoded as they arrive, see {@link EventStreamIterator}. Only opening the response is subject to error
+     * handling, retries and guards, the elements are read while the result is consumed.
+     */
+    <T> Object executeStreamingRequest(ResponseStrategy strategy, RequestEntity<T> requestEntity, CallGuard callGuard) {
+        try {
+            if (strategy.getKind() == Kind.EVENTS) {
+                EventStreamIterator<Object> iterator = openEventStream(strategy, requestEntity, callGuard);
+                return strategy.getDispatch() == Dispatch.ITERATOR ? iterator : iterator.stream();
+            }
+            ObjectMapper objectMapper = getObjectMapper();
+            JsonArrayIterator<Object> iterator = new JsonArrayIterator<>(objectMapper,
+                objectMapper.constructType(strategy.getResponseType().getType()),
+                open(requestEntity, MediaType.APPLICATION_JSON, callGuard));
+            return strategy.getDispatch() == Dispatch.ITERATOR ? iterator : iterator.stream();
+        } catch (HttpStatusCodeException ex) {
+            return handleHttpStatusCodeException(strategy, ex);
+        } catch (RuntimeException ex) {
+            throw handleRuntimeException(ex);
+        }
+    }
+
+    /**
+     * Opens a {@code text/event-stream} or {@code application/x-ndjson} response, as accepted by the request, and
+     * re-opens it with the {@code Last-Event-ID} upon reconnection, each opening being guarded.
+     */
+    <T> EventStreamIterator<T> openEventStream(ResponseStrategy strategy, RequestEntity<?> requestEntity,
+                                               CallGuard callGuard) {
+        ObjectMapper objectMapper = getObjectMapper();
+        MediaType mediaType = requestEntity.getHeaders().getAccept().stream()
+            .filter(EventStreamIterator::isEventStream)
+            .findFirst()
+            .orElse(MediaType.TEXT_EVENT_STREAM);
+        return new EventStreamIterator<>(objectMapper, objectMapper.constructType(strategy.getResponseType().getType()),
+            mediaType, lastEventId -> open(withLastEventId(requestEntity, lastEventId), mediaType, callGuard));
+    }
+
+    private static RequestEntity<?> withLastEventId(RequestEntity<?> requestEntity, String lastEventId) {
+        if (lastEventId == null) {
+            return requestEntity;
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(requestEntity.getHeaders());
+        headers.set(EventStreamIterator.LAST_EVENT_ID, lastEventId);
+        return new RequestEntity<>(requestEntity.getBody(), headers, requestEntity.getMethod(), requestEntity.getUrl());
+    }
+
+    /**
+     * Executes a request whose response body is copied in chunks to the given {@link Path} or
+     * {@link WritableByteChannel}, or to a new temporary file if none is given, without holding it in memory.
+     *
+     * @return the {@link Path} written to, if any
+     */
+    <T> Object executeDownloadRequest(ResponseStrategy strategy, RequestEntity<T> requestEntity, Object target,
+                                      CallGuard callGuard) {
         try {
-            return executeRequestInternal(invocation, requestEntity);
+            return download(requestEntity, target, callGuard);
         } catch (HttpStatusCodeException ex) {
-            return handleHttpStatusCodeException(invocation.getMethod(), ex);
+            return handleHttpStatusCodeException(strategy, ex);
         } catch (RuntimeException ex) {
             throw handleRuntimeException(ex);
         }
     }
 
+    private Object download(RequestEntity<?> requestEntity, Object target, CallGuard callGuard) {
+        Path path = null;
+        boolean temporary = false;
+        try {
+            if (target == null) {
+                path = Files.createTempFile("rest-client-", ".download");
+                temporary = true;
+            } else if (target instanceof Path) {
+                path = (Path) target;
+            }
+            try (ClientHttpResponse response = open(requestEntity, MediaType.ALL, callGuard)) {
+                if (path != null) {
+                    try (FileChannel file = FileChannel.open(path, CREATE, WRITE, TRUNCATE_EXISTING)) {
+                        copy(response.getBody(), file);
+                    }
+                } else {
+                    copy(response.getBody(), (WritableByteChannel) target);
+                }
+            }
+            return path;
+        } catch (IOException ex) {
+            deleteIfTemporary(path, temporary);
+            throw new ResourceAccessException("I/O error on " + requestEntity.getMethod() + " request for \"" +
+                requestEntity.getUrl() + "\": " + ex.getMessage(), ex);
+        } catch (RuntimeException ex) {
+            deleteIfTemporary(path, temporary);
+            throw ex;
+        }
+    }
+
+    private static void copy(InputStream source, WritableByteChannel target) throws IOException {
+        // Not a zero-copy transfer: the connection only exposes a stream, whose chunks go through this heap buffer
+        byte[] chunk = new byte[BUFFER_SIZE];
+        ByteBuffer buffer = ByteBuffer.wrap(chunk);
+        int read;
+        while ((read = source.read(chunk)) != -1) {
+            buffer.limit(read);
+            while (buffer.hasRemaining()) {
+                target.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+
+    private static void deleteIfTemporary(Path path, boolean temporary) {
+        if (!temporary) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ex) {
+            // Ignore, a temporary file anyway
+        }
+    }
+
     private RuntimeException handleRuntimeException(RuntimeException ex) {
-        if (retryEnabled && anyMatch(specification.getRetryableExceptions(), clazz -> clazz.isInstance(ex) || clazz.isInstance(getRootCause(ex)))) {
+        if (retryEnabled && !CallGuard.isRejection(ex) && specification.isRetryableException(ex)) {
             return new RetryableException(ex);
         }
         return ex;
     }
 
-    private <T> Optional<T> handleHttpStatusCodeException(Method method, HttpStatusCodeException ex) {
+    private <T> Optional<T> handleHttpStatusCodeException(ResponseStrategy strategy, HttpStatusCodeException ex) {
         HttpStatus statusCode = ex.getStatusCode();
-        if (ResolvableTypeUtils.returnTypeIs(method, Optional.class) && statusCode.equals(HttpStatus.NOT_FOUND)) {
+        if (strategy.isOptional() && statusCode.equals(HttpStatus.NOT_FOUND)) {
             return Optional.empty();
         }
-        if (retryEnabled && anyMatch(specification.getRetryableStatuses(), statusCode::equals)) {
+        if (retryEnabled && specification.isRetryableStatus(statusCode)) {
             throw new RetryableException(ex);
         }
         throw ex;
     }
 
-    private <T> Object executeRequestInternal(MethodInvocation invocation, RequestEntity<T> requestEntity) {
-        Method method = invocation.getMethod();
-        if (hasPostLocation(method)) {
-            return postForLocation(requestEntity, method);
+    private <T> Object executeRequestInternal(ResponseStrategy strategy, RequestEntity<T> requestEntity,
+                                              CallGuard callGuard) {
+        ResponseEntity<T> responseEntity = exchange(strategy, requestEntity, callGuard);
+        switch (strategy.getKind()) {
+            case LOCATION:
+                return responseEntity.getHeaders().getLocation();
+            case ENTITY:
+                return responseEntity;
+            default:
+                return extractBodyNullSafe(responseEntity);
         }
-        ResolvableType resolvedType = ResolvableType.forMethodReturnType(method, implementingClass);
+    }
 
-        if (ResolvableTypeUtils.returnTypeIsAnyOf(method, HttpEntity.class, ResponseEntity.class)) {
-            return exchangeForResponseEntity(resolvedType, requestEntity);
+    private <T> ResponseEntity<T> exchange(ResponseStrategy strategy, RequestEntity<?> requestEntity, CallGuard callGuard) {
+        ParameterizedTypeReference<T> responseType = strategy.getResponseType();
+        if (responseCache == null) {
+            return callGuard.execute(() -> restTemplate.exchange(requestEntity, responseType));
         }
-        SyntheticParametrizedTypeReference<T> responseType = SyntheticParametrizedTypeReference.fromResolvableType(resolvedType);
-        return extractBodyNullSafe(restTemplate.exchange(requestEntity, responseType));
+        // Fresh responses are served without sending any request, hence without being guarded
+        return responseCache.exchange(requestEntity, responseType.getType(),
+            request -> callGuard.execute(() -> restTemplate.exchange(request, responseType)));
+    }
+
+    private ClientHttpResponse open(RequestEntity<?> requestEntity, MediaType defaultAccept, CallGuard callGuard) {
+        return callGuard.execute(() -> open(requestEntity, defaultAccept));
     }
 
-    private boolean hasPostLocation(Method method) {
-        return AnnotationUtils.findAnnotation(method, PostForLocation.class) != null;
+    private ClientHttpResponse open(RequestEntity<?> requestEntity, MediaType defaultAccept) {
+        // Executed on the template's request factory and interceptors, but without its response extraction which
+        // would read the whole body and close the response
+        URI url = requestEntity.getUrl();
+        HttpMethod method = requestEntity.getMethod();
+        try {
+            ClientHttpRequest request = restTemplate.getRequestFactory().createRequest(url, method);
+            request.getHeaders().putAll(requestEntity.getHeaders());
+            if (request.getHeaders().getAccept().isEmpty()) {
+                request.getHeaders().setAccept(singletonList(defaultAccept));
+            }
+            writeBody(request, requestEntity.getBody());
+            ClientHttpResponse response = request.execute();
+            try {
+                ResponseErrorHandler errorHandler = restTemplate.getErrorHandler();
+                if (errorHandler.hasError(response)) {
+                    errorHandler.handleError(response);
+                }
+            } catch (IOException | RuntimeException ex) {
+                response.close();
+                throw ex;
+            }
+            return response;
+        } catch (IOException ex) {
+            throw new ResourceAccessException("I/O error on " + method + " request for \"" + url + "\": " +
+                ex.getMessage(), ex);
+        }
     }
 
-    private <T> URI postForLocation(RequestEntity<T> requestEntity, Method method) {
-        if (!ResolvableTypeUtils.returnTypeIs(method, URI.class)) {
-            throw new RuntimeException("Method annotated with @PostForLocation must return URI");
+    @SuppressWarnings("unchecked")
+    private void writeBody(ClientHttpRequest request, Object body) throws IOException {
+        if (body == null) {
+            return;
+        }
+        MediaType contentType = request.getHeaders().getContentType();
+        for (HttpMessageConverter<?> converter : restTemplate.getMessageConverters()) {
+            if (converter.canWrite(body.getClass(), contentType)) {
+                ((HttpMessageConverter<Object>) converter).write(body, contentType, request);
+                return;
+            }
         }
-        return restTemplate.exchange(requestEntity, Object.class).getHeaders().getLocation();
+        throw new RestClientException("No HttpMessageConverter for " + body.getClass().getName() +
+            (contentType != null ? " and content type \"" + contentType + "\"" : ""));
     }
 
-    private <T> ResponseEntity<T> exchangeForResponseEntity(ResolvableType resolvedType, RequestEntity<T> requestEntity) {
-        return restTemplate.exchange(requestEntity, SyntheticParametrizedTypeReference.fromResolvableType(resolvedType.getGeneric(0)));
+    private ObjectMapper getObjectMapper() {
+        return restTemplate.getMessageConverters().stream()
+            .filter(MappingJackson2HttpMessageConverter.class::isInstance)
+            .map(converter -> ((MappingJackson2HttpMessageConverter) converter).getObjectMapper())
+            .findFirst()
+            .orElseThrow(() -> new IllegalStateException("Streaming responses require a MappingJackson2HttpMessageConverter"));
     }
 
     private <T> T extractBodyNullSafe(ResponseEntity<T> responseEntity) {
         return Optional.ofNullable(responseEntity).map(ResponseEntity::getBody).orElse(null);
     }
-
-    private static <T> boolean anyMatch(T[] array, Predicate<T> predicate) {
-        return Stream.of(array).anyMatch(predicate);
-    }
 }
@@ -0,0 +1,20 @@
+package io.github.polysantiago.spring.rest.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class CacheSettings {
+
+    /**
+     * Whether responses are cached following their HTTP caching headers
+     */
+    private boolean enabled = true;
+
+    /**
+     * Maximum number of cached responses, the least recently used are evicted first
+     */
+    private int maxEntries = 1000;
+
+}
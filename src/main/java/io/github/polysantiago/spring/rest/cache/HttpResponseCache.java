@@ -0,0 +1,206 @@
+package io.github.polysantiago.spring.rest.cache;
+
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.RequestEntity;
+import org.springframework.http.ResponseEntity;
+
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * A private HTTP cache of decoded {@code GET} responses following {@code Cache-Control}, {@code Expires} and
+ * {@code Vary}. Stale responses holding an {@code ETag} or {@code Last-Modified} validator are revalidated with a
+ * conditional request, and a {@code 304 Not Modified} reuses the cached response without decoding it again, updating
+ * its headers with those of the {@code 304}.
+ * <p>
+ * Cached bodies are shared among callers and should therefore not be modified.
+ */
+public class HttpResponseCache {
+
+    private static final String NO_STORE = "no-store";
+    private static final String NO_CACHE = "no-cache";
+    private static final String MAX_AGE = "max-age=";
+    private static final String AGE = "Age";
+    private static final String VARY_ANY = "*";
+
+    private final Map<Key, Entry> entries;
+
+    public HttpResponseCache(int maxEntries) {
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    /**
+     * Executes the given request through the cache.
+     *
+     * @param request      the request
+     * @param responseType the type the response body is decoded to, responses of different types are cached apart
+     * @param exchange     executes a request, eg: {@code RestTemplate::exchange}
+     * @return the cached or the received response
+     */
+    @SuppressWarnings("unchecked")
+    public <T> ResponseEntity<T> exchange(RequestEntity<?> request, Type responseType,
+                                          Function<RequestEntity<?>, ResponseEntity<T>> exchange) {
+        if (request.getMethod() != HttpMethod.GET) {
+            return exchange.apply(request);
+        }
+        Key key = new Key(request.getUrl(), responseType);
+        Entry entry = entries.get(key);
+        if (entry != null && !entry.matches(request.getHeaders())) {
+            entry = null;
+        }
+
+        long now = System.currentTimeMillis();
+        if (entry != null && entry.isFresh(now)) {
+            return (ResponseEntity<T>) entry.response;
+        }
+
+        ResponseEntity<T> response = exchange.apply(entry != null ? entry.conditional(request) : request);
+        if (entry != null && response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+            Entry revalidated = entry.revalidated(response.getHeaders(), now);
+            entries.put(key, revalidated);
+            return (ResponseEntity<T>) revalidated.response;
+        }
+
+        store(key, request.getHeaders(), response, now);
+        return response;
+    }
+
+    private void store(Key key, HttpHeaders requestHeaders, ResponseEntity<?> response, long now) {
+        if (response.getStatusCode() != HttpStatus.OK) {
+            return;
+        }
+        HttpHeaders headers = response.getHeaders();
+        List<String> vary = headers.getVary();
+        if (hasDirective(headers, NO_STORE) || vary.contains(VARY_ANY)) {
+            entries.remove(key);
+            return;
+        }
+        long expiresAt = expiresAt(headers, now);
+        if (expiresAt <= now && headers.getETag() == null && headers.getLastModified() == -1) {
+            // Neither fresh nor revalidatable
+            entries.remove(key);
+            return;
+        }
+        Map<String, List<String>> varyValues = new HashMap<>();
+        vary.forEach(name -> varyValues.put(name, requestHeaders.get(name)));
+        entries.put(key, new Entry(response, expiresAt, varyValues));
+    }
+
+    private static long expiresAt(HttpHeaders headers, long now) {
+        if (hasDirective(headers, NO_CACHE)) {
+            return now;
+        }
+        String maxAge = directive(headers, MAX_AGE);
+        if (maxAge != null) {
+            return now + (seconds(maxAge) - seconds(headers.getFirst(AGE))) * 1000;
+        }
+        long expires = headers.getExpires();
+        if (expires != -1) {
+            long date = headers.getDate();
+            return now + expires - (date != -1 ? date : now);
+        }
+        return now;
+    }
+
+    /**
+     * Parses a number of seconds, malformed values, eg: {@code 10, 20}, counting as none.
+     */
+    private static long seconds(String value) {
+        String trimmed = StringUtils.trimToEmpty(value);
+        return StringUtils.isNumeric(trimmed) ? NumberUtils.toLong(trimmed) : 0;
+    }
+
+    private static boolean hasDirective(HttpHeaders headers, String name) {
+        return directives(headers).anyMatch(name::equals);
+    }
+
+    private static String directive(HttpHeaders headers, String prefix) {
+        return directives(headers)
+            .filter(directive -> directive.startsWith(prefix))
+            .map(directive -> StringUtils.strip(directive.substring(prefix.length()), "\""))
+            .filter(StringUtils::isNumeric)
+            .findFirst()
+            .orElse(null);
+    }
+
+    private static Stream<String> directives(HttpHeaders headers) {
+        String cacheControl = headers.getCacheControl();
+        if (cacheControl == null) {
+            return Stream.empty();
+        }
+        return Arrays.stream(cacheControl.split(",")).map(String::trim).map(String::toLowerCase);
+    }
+
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static class Key {
+
+        private final URI uri;
+        private final Type responseType;
+
+    }
+
+    @RequiredArgsConstructor
+    private static class Entry {
+
+        private final ResponseEntity<?> response;
+        private final long expiresAt;
+        private final Map<String, List<String>> varyValues;
+
+        private boolean isFresh(long now) {
+            return now < expiresAt;
+        }
+
+        private boolean matches(HttpHeaders requestHeaders) {
+            return varyValues.entrySet().stream()
+                .allMatch(vary -> Objects.equals(vary.getValue(), requestHeaders.get(vary.getKey())));
+        }
+
+        private RequestEntity<?> conditional(RequestEntity<?> request) {
+            HttpHeaders responseHeaders = response.getHeaders();
+            HttpHeaders headers = new HttpHeaders();
+            headers.putAll(request.getHeaders());
+            if (responseHeaders.getETag() != null) {
+                headers.setIfNoneMatch(responseHeaders.getETag());
+            }
+            if (responseHeaders.getLastModified() != -1) {
+                headers.setIfModifiedSince(responseHeaders.getLastModified());
+            }
+            return new RequestEntity<>(request.getBody(), headers, request.getMethod(), request.getUrl());
+        }
+
+        /**
+         * Updates the stored response with the headers of a {@code 304 Not Modified}, eg: new validators or freshness.
+         */
+        private Entry revalidated(HttpHeaders notModifiedHeaders, long now) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.putAll(response.getHeaders());
+            // The age of the stored response is that of the 304, if any
+            headers.remove(AGE);
+            notModifiedHeaders.forEach((name, values) -> {
+                // Describes the empty body of the 304, not the stored one
+                if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                    headers.put(name, values);
+                }
+            });
+            ResponseEntity<Object> updated = new ResponseEntity<>(response.getBody(), headers, response.getStatusCode());
+            return new Entry(updated, expiresAt(headers, now), varyValues);
+        }
+
+    }
+
+}
@@ -0,0 +1,131 @@
+package io.github.polysantiago.spring.rest.cache;
+
+import lombok.RequiredArgsConstructor;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * A size-bounded LRU cache of method results with a time to live. Expired results may still be served for a while
+ * during which a single background refresh is triggered, so that callers never wait on a refresh. Empty
+ * {@link Optional} results are cached with their own time to live, if any.
+ */
+public class ResponseMemoizer {
+
+    private final long ttl;
+    private final long staleWhileRevalidate;
+    private final long notFoundTtl;
+    private final Map<Object, Entry> entries;
+
+    /**
+     * @param ttl                  how long in milliseconds a result is fresh
+     * @param staleWhileRevalidate how long in milliseconds an expired result is served while being refreshed
+     * @param notFoundTtl          how long in milliseconds an empty {@link Optional} is fresh
+     * @param maxEntries           the maximum number of cached results
+     */
+    public ResponseMemoizer(long ttl, long staleWhileRevalidate, long notFoundTtl, int maxEntries) {
+        this.ttl = ttl;
+        this.staleWhileRevalidate = staleWhileRevalidate;
+        this.notFoundTtl = notFoundTtl;
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<Object, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    /**
+     * @param key       the cache key
+     * @param loader    loads the result in the calling thread upon a miss
+     * @param refresher loads the result in the background while serving a stale one
+     * @return the cached or loaded result
+     */
+    public Object get(Object key, Supplier<Object> loader, Supplier<CompletableFuture<?>> refresher) {
+        Entry entry = lookup(key, refresher);
+        if (entry != null) {
+            return entry.value;
+        }
+        Object value = loader.get();
+        store(key, value);
+        return value;
+    }
+
+    /**
+     * @param key    the cache key
+     * @param loader loads the result upon a miss, or in the background while serving a stale one
+     * @return the cached or loaded result
+     */
+    public CompletableFuture<?> getAsync(Object key, Supplier<CompletableFuture<?>> loader) {
+        Entry entry = lookup(key, loader);
+        if (entry != null) {
+            return CompletableFuture.completedFuture(entry.value);
+        }
+        CompletableFuture<?> future = loader.get();
+        future.thenAccept(value -> store(key, value));
+        return future;
+    }
+
+    private Entry lookup(Object key, Supplier<CompletableFuture<?>> refresher) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        if (now < entry.expiresAt) {
+            return entry;
+        }
+        if (now < entry.staleUntil) {
+            if (entry.refreshing.compareAndSet(false, true)) {
+                refresh(key, entry, refresher);
+            }
+            return entry;
+        }
+        entries.remove(key, entry);
+        return null;
+    }
+
+    private void refresh(Object key, Entry entry, Supplier<CompletableFuture<?>> refresher) {
+        try {
+            refresher.get().whenComplete((value, throwable) -> {
+                if (throwable == null) {
+                    store(key, value);
+                } else {
+                    // Keep serving the stale result, a later call triggers a new refresh
+                    entry.refreshing.set(false);
+                }
+            });
+        } catch (RuntimeException ex) {
+            entry.refreshing.set(false);
+        }
+    }
+
+    private void store(Object key, Object value) {
+        long timeToLive = isNotFound(value) ? notFoundTtl : ttl;
+        if (timeToLive <= 0) {
+            return;
+        }
+        long expiresAt = System.currentTimeMillis() + timeToLive;
+        entries.put(key, new Entry(value, expiresAt, expiresAt + staleWhileRevalidate));
+    }
+
+    private static boolean isNotFound(Object value) {
+        return value instanceof Optional && !((Optional<?>) value).isPresent();
+    }
+
+    @RequiredArgsConstructor
+    private static class Entry {
+
+        private final Object value;
+        private final long expiresAt;
+        private final long staleUntil;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    }
+
+}
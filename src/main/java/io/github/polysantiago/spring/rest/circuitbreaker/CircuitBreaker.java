@@ -0,0 +1,217 @@
+package io.github.polysantiago.spring.rest.circuitbreaker;
+
+import io.github.polysantiago.spring.rest.support.CallPermit;
+import org.springframework.util.Assert;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * Fails calls fast while a service keeps failing, without any lock. The outcome of the most recent calls is recorded
+ * in a ring buffer and the circuit opens once their failure rate reaches the threshold. Calls are then rejected with
+ * {@link CircuitBreakerOpenException} until the open duration elapses, after which the circuit is half-open: a few
+ * calls probe the service and their failure rate either closes the circuit or opens it again.
+ * <p>
+ * Each call acquires a {@link Permit} which records its outcome, only in the state it was acquired in. Whether an
+ * error is a failure is decided by the given predicate, any other outcome is a success.
+ */
+public final class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final String name;
+    private final Predicate<Throwable> isFailure;
+    private final int failureRateThreshold;
+    private final int windowSize;
+    private final long openDurationNanos;
+    private final int halfOpenCalls;
+    private final LongSupplier nanoClock;
+    private final AtomicReference<Phase> phase;
+
+    public CircuitBreaker(String name, CircuitBreakerSettings settings, Predicate<Throwable> isFailure) {
+        this(name, settings, isFailure, System::nanoTime);
+    }
+
+    CircuitBreaker(String name, CircuitBreakerSettings settings, Predicate<Throwable> isFailure, LongSupplier nanoClock) {
+        Assert.isTrue(settings.getWindowSize() > 0, "Circuit breaker window size must be positive");
+        Assert.isTrue(settings.getHalfOpenCalls() > 0, "Circuit breaker half-open calls must be positive");
+        this.name = name;
+        this.isFailure = isFailure;
+        this.failureRateThreshold = settings.getFailureRateThreshold();
+        this.windowSize = settings.getWindowSize();
+        this.openDurationNanos = TimeUnit.MILLISECONDS.toNanos(settings.getOpenDuration());
+        this.halfOpenCalls = settings.getHalfOpenCalls();
+        this.nanoClock = nanoClock;
+        this.phase = new AtomicReference<>(closed());
+    }
+
+    public State getState() {
+        return phase.get().state;
+    }
+
+    /**
+     * Acquires a permit to call the service, whose outcome must then be recorded.
+     *
+     * @throws CircuitBreakerOpenException if the circuit is open, or half-open and all probing calls are in flight
+     */
+    public Permit acquirePermit() {
+        while (true) {
+            Phase current = phase.get();
+            switch (current.state) {
+                case CLOSED:
+                    return new Permit(current);
+                case OPEN:
+                    if (nanoClock.getAsLong() - current.openedAt < openDurationNanos) {
+                        throw new CircuitBreakerOpenException(name);
+                    }
+                    phase.compareAndSet(current, halfOpen());
+                    break;
+                default:
+                    if (current.tryAcquireProbe()) {
+                        return new Permit(current);
+                    }
+                    throw new CircuitBreakerOpenException(name);
+            }
+        }
+    }
+
+    private void record(Phase recorded, boolean failure) {
+        if (phase.get() != recorded) {
+            return;
+        }
+        int failureRate = recorded.window.record(failure);
+        if (failureRate < 0) {
+            return;
+        }
+        if (recorded.state == State.HALF_OPEN) {
+            phase.compareAndSet(recorded, failureRate >= failureRateThreshold ? open() : closed());
+        } else if (failureRate >= failureRateThreshold) {
+            phase.compareAndSet(recorded, open());
+        }
+    }
+
+    private Phase closed() {
+        return new Phase(State.CLOSED, new Window(windowSize), 0, 0);
+    }
+
+    private Phase open() {
+        return new Phase(State.OPEN, null, nanoClock.getAsLong(), 0);
+    }
+
+    private Phase halfOpen() {
+        return new Phase(State.HALF_OPEN, new Window(halfOpenCalls), 0, halfOpenCalls);
+    }
+
+    /**
+     * The permit of a single call, recording its outcome at most once.
+     */
+    public final class Permit implements CallPermit {
+
+        private final Phase phase;
+        private final AtomicBoolean recorded = new AtomicBoolean();
+
+        private Permit(Phase phase) {
+            this.phase = phase;
+        }
+
+        @Override
+        public void onSuccess() {
+            if (recorded.compareAndSet(false, true)) {
+                record(phase, false);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if (recorded.compareAndSet(false, true)) {
+                record(phase, isFailure.test(throwable));
+            }
+        }
+
+        @Override
+        public void release() {
+            if (recorded.compareAndSet(false, true)) {
+                phase.releaseProbe();
+            }
+        }
+
+    }
+
+    private static final class Phase {
+
+        private final State state;
+        private final Window window;
+        private final long openedAt;
+        private final AtomicInteger probes;
+
+        private Phase(State state, Window window, long openedAt, int probes) {
+            this.state = state;
+            this.window = window;
+            this.openedAt = openedAt;
+            this.probes = new AtomicInteger(probes);
+        }
+
+        private boolean tryAcquireProbe() {
+            int available;
+            do {
+                available = probes.get();
+                if (available <= 0) {
+                    return false;
+                }
+            } while (!probes.compareAndSet(available, available - 1));
+            return true;
+        }
+
+        private void releaseProbe() {
+            if (state == State.HALF_OPEN) {
+                probes.incrementAndGet();
+            }
+        }
+
+    }
+
+    /**
+     * Ring buffer of the outcomes of the most recent calls, with running counts of its calls and failures.
+     */
+    private static final class Window {
+
+        private static final int EMPTY = 0;
+        private static final int SUCCESS = 1;
+        private static final int FAILURE = 2;
+
+        private final AtomicIntegerArray outcomes;
+        private final AtomicLong index = new AtomicLong();
+        private final AtomicInteger calls = new AtomicInteger();
+        private final AtomicInteger failures = new AtomicInteger();
+
+        private Window(int size) {
+            this.outcomes = new AtomicIntegerArray(size);
+        }
+
+        /**
+         * Records an outcome and returns the failure rate in percent, or {@code -1} while the window is not full.
+         */
+        private int record(boolean failure) {
+            int slot = (int) (index.getAndIncrement() % outcomes.length());
+            int previous = outcomes.getAndSet(slot, failure ? FAILURE : SUCCESS);
+            int recordedCalls = previous == EMPTY ? calls.incrementAndGet() : calls.get();
+            int recordedFailures;
+            if (failure == (previous == FAILURE)) {
+                recordedFailures = failures.get();
+            } else {
+                recordedFailures = failure ? failures.incrementAndGet() : failures.decrementAndGet();
+            }
+            return recordedCalls < outcomes.length() ? -1 : recordedFailures * 100 / recordedCalls;
+        }
+
+    }
+
+}
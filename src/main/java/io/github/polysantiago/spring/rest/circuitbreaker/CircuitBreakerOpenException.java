@@ -0,0 +1,14 @@
+package io.github.polysantiago.spring.rest.circuitbreaker;
+
+import org.springframework.web.client.RestClientException;
+
+/**
+ * Thrown instead of calling a service whose circuit is open, see {@link CircuitBreaker}.
+ */
+public class CircuitBreakerOpenException extends RestClientException {
+
+    public CircuitBreakerOpenException(String name) {
+        super("Circuit breaker " + name + " is open, calls are not permitted");
+    }
+
+}
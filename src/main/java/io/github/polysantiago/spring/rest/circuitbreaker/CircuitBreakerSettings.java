@@ -0,0 +1,35 @@
+package io.github.polysantiago.spring.rest.circuitbreaker;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class CircuitBreakerSettings {
+
+    /**
+     * Whether calls fail fast while the service keeps failing
+     */
+    private boolean enabled = true;
+
+    /**
+     * Failure rate, in percent, of the recorded calls from which the circuit opens
+     */
+    private int failureRateThreshold = 50;
+
+    /**
+     * Number of most recent calls whose failure rate is evaluated, the circuit only opens once as many are recorded
+     */
+    private int windowSize = 100;
+
+    /**
+     * How long, in milliseconds, calls fail fast once the circuit opens before probing the service again
+     */
+    private long openDuration = 30000;
+
+    /**
+     * Number of calls probing the service once the circuit is half-open, whose failure rate closes or re-opens it
+     */
+    private int halfOpenCalls = 10;
+
+}
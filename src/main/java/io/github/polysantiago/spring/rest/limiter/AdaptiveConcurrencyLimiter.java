@@ -0,0 +1,196 @@
+package io.github.polysantiago.spring.rest.limiter;
+
+import io.github.polysantiago.spring.rest.support.CallPermit;
+import org.springframework.util.Assert;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * Limits the number of concurrent calls to a service, adjusting the limit from the round-trip time of each call
+ * compared to the minimum one, as in the gradient algorithm: the limit shrinks as requests queue up at the service and
+ * grows by the square root of the limit while they do not. Failures, as decided by the given predicate, back off the
+ * limit as well. The limit only grows while at least half of it is in use.
+ * <p>
+ * Permits are acquired without any lock, calls over the limit are either rejected with {@link LimitExceededException}
+ * right away or wait up to the configured time for another call to complete.
+ */
+public final class AdaptiveConcurrencyLimiter {
+
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double BACKOFF_RATIO = 0.9;
+    // The minimum round-trip time is probed again after as many calls, should the service have become slower
+    private static final int MIN_RTT_WINDOW = 500;
+
+    private final String name;
+    private final Predicate<Throwable> isFailure;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final long maxWaitNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger waiters = new AtomicInteger();
+    private final AtomicLong estimatedLimit;
+    private final AtomicLong minRtt = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong windowMinRtt = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong samples = new AtomicLong();
+    private final Object monitor = new Object();
+
+    public AdaptiveConcurrencyLimiter(String name, ConcurrencyLimitSettings settings, Predicate<Throwable> isFailure) {
+        this(name, settings, isFailure, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(String name, ConcurrencyLimitSettings settings, Predicate<Throwable> isFailure,
+                               LongSupplier nanoClock) {
+        Assert.isTrue(settings.getMinLimit() > 0, "Concurrency min limit must be positive");
+        Assert.isTrue(settings.getMaxLimit() >= settings.getMinLimit(), "Concurrency max limit must not be lower than its min limit");
+        Assert.isTrue(settings.getSmoothing() > 0 && settings.getSmoothing() <= 1, "Concurrency limit smoothing must be within (0, 1]");
+        this.name = name;
+        this.isFailure = isFailure;
+        this.minLimit = settings.getMinLimit();
+        this.maxLimit = settings.getMaxLimit();
+        this.smoothing = settings.getSmoothing();
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(settings.getMaxWait());
+        this.nanoClock = nanoClock;
+        double initialLimit = Math.max(minLimit, Math.min(maxLimit, settings.getInitialLimit()));
+        this.estimatedLimit = new AtomicLong(Double.doubleToLongBits(initialLimit));
+    }
+
+    public int getLimit() {
+        return (int) Double.longBitsToDouble(estimatedLimit.get());
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Acquires a permit to call the service, whose outcome must then be recorded.
+     *
+     * @throws LimitExceededException if the limit is reached and no call completed within the max wait
+     */
+    public Permit acquirePermit() {
+        if (tryAcquire() || (maxWaitNanos > 0 && awaitPermit())) {
+            return new Permit();
+        }
+        throw new LimitExceededException(String.format("Concurrency limit of %d exceeded for service '%s'", getLimit(), name));
+    }
+
+    private boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= getLimit()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private boolean awaitPermit() {
+        long deadline = nanoClock.getAsLong() + maxWaitNanos;
+        synchronized (monitor) {
+            // Registered before trying again, so that a call completing meanwhile notifies this one
+            waiters.incrementAndGet();
+            try {
+                while (!tryAcquire()) {
+                    long remaining = deadline - nanoClock.getAsLong();
+                    if (remaining <= 0) {
+                        return false;
+                    }
+                    TimeUnit.NANOSECONDS.timedWait(monitor, remaining);
+                }
+                return true;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return false;
+            } finally {
+                waiters.decrementAndGet();
+            }
+        }
+    }
+
+    private void releaseSlot() {
+        inFlight.decrementAndGet();
+        if (waiters.get() > 0) {
+            synchronized (monitor) {
+                monitor.notifyAll();
+            }
+        }
+    }
+
+    private void record(long rtt, int inFlightAtStart, boolean failure) {
+        long noLoadRtt = updateMinRtt(rtt);
+        long current;
+        double newLimit;
+        do {
+            current = estimatedLimit.get();
+            double limit = Double.longBitsToDouble(current);
+            if (failure) {
+                newLimit = limit * BACKOFF_RATIO;
+            } else if (inFlightAtStart < limit / 2) {
+                // Not enough load to tell whether the service would cope with more calls
+                return;
+            } else {
+                double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, (double) noLoadRtt / rtt));
+                newLimit = limit * (1 - smoothing) + (limit * gradient + Math.sqrt(limit)) * smoothing;
+            }
+            newLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        } while (!estimatedLimit.compareAndSet(current, Double.doubleToLongBits(newLimit)));
+    }
+
+    private long updateMinRtt(long rtt) {
+        long windowMin = windowMinRtt.accumulateAndGet(rtt, Math::min);
+        if (samples.incrementAndGet() % MIN_RTT_WINDOW == 0) {
+            minRtt.set(windowMin);
+            windowMinRtt.set(Long.MAX_VALUE);
+            return windowMin;
+        }
+        return minRtt.accumulateAndGet(rtt, Math::min);
+    }
+
+    /**
+     * The permit of a single call, recording its round-trip time at most once.
+     */
+    public final class Permit implements CallPermit {
+
+        private final long start = nanoClock.getAsLong();
+        private final int inFlightAtStart = inFlight.get();
+        private final AtomicBoolean recorded = new AtomicBoolean();
+
+        private Permit() {
+        }
+
+        @Override
+        public void onSuccess() {
+            if (recorded.compareAndSet(false, true)) {
+                releaseSlot();
+                record(Math.max(1, nanoClock.getAsLong() - start), inFlightAtStart, false);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if (recorded.compareAndSet(false, true)) {
+                releaseSlot();
+                // Any response still measures the round-trip time
+                record(Math.max(1, nanoClock.getAsLong() - start), inFlightAtStart, isFailure.test(throwable));
+            }
+        }
+
+        @Override
+        public void release() {
+            if (recorded.compareAndSet(false, true)) {
+                releaseSlot();
+            }
+        }
+
+    }
+
+}
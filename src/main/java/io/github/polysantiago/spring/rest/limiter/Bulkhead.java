@@ -0,0 +1,88 @@
+package io.github.polysantiago.spring.rest.limiter;
+
+import io.github.polysantiago.spring.rest.support.CallPermit;
+import org.springframework.util.Assert;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Bounds the number of concurrent calls to a service, so that a degraded service cannot take up the threads and
+ * connections shared with the other ones. Calls over the bound are either rejected with {@link LimitExceededException}
+ * right away or wait up to the configured time for another call to complete.
+ */
+public final class Bulkhead {
+
+    private final String name;
+    private final int maxConcurrentCalls;
+    private final long maxWait;
+    private final Semaphore semaphore;
+
+    public Bulkhead(String name, BulkheadSettings settings) {
+        Assert.isTrue(settings.getMaxConcurrentCalls() > 0, "Bulkhead max concurrent calls must be positive");
+        this.name = name;
+        this.maxConcurrentCalls = settings.getMaxConcurrentCalls();
+        this.maxWait = settings.getMaxWait();
+        this.semaphore = new Semaphore(maxConcurrentCalls);
+    }
+
+    public int getAvailableCalls() {
+        return semaphore.availablePermits();
+    }
+
+    /**
+     * Acquires a permit to call the service, which must then be released by recording its outcome.
+     *
+     * @throws LimitExceededException if all calls are in flight and none completed within the max wait
+     */
+    public Permit acquirePermit() {
+        if (tryAcquire()) {
+            return new Permit();
+        }
+        throw new LimitExceededException(
+            String.format("Bulkhead of %d concurrent calls full for service '%s'", maxConcurrentCalls, name));
+    }
+
+    private boolean tryAcquire() {
+        if (maxWait <= 0) {
+            return semaphore.tryAcquire();
+        }
+        try {
+            return semaphore.tryAcquire(maxWait, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * The permit of a single call, releasing its slot at most once whatever its outcome.
+     */
+    public final class Permit implements CallPermit {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit() {
+        }
+
+        @Override
+        public void onSuccess() {
+            release();
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            release();
+        }
+
+        @Override
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                semaphore.release();
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,25 @@
+package io.github.polysantiago.spring.rest.limiter;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class BulkheadSettings {
+
+    /**
+     * Whether the number of concurrent calls is bounded
+     */
+    private boolean enabled = true;
+
+    /**
+     * Maximum number of concurrent calls
+     */
+    private int maxConcurrentCalls = 25;
+
+    /**
+     * How long, in milliseconds, a call over the maximum waits for another one to complete, 0 rejects it right away
+     */
+    private long maxWait;
+
+}
@@ -0,0 +1,40 @@
+package io.github.polysantiago.spring.rest.limiter;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class ConcurrencyLimitSettings {
+
+    /**
+     * Whether the number of concurrent calls is limited
+     */
+    private boolean enabled = true;
+
+    /**
+     * Limit of concurrent calls until enough calls were answered to adjust it
+     */
+    private int initialLimit = 20;
+
+    /**
+     * Lowest limit of concurrent calls
+     */
+    private int minLimit = 1;
+
+    /**
+     * Highest limit of concurrent calls
+     */
+    private int maxLimit = 200;
+
+    /**
+     * Weight, between 0 and 1, of each new estimate of the limit, lower values adjust it more slowly but steadily
+     */
+    private double smoothing = 0.2;
+
+    /**
+     * How long, in milliseconds, a call over the limit waits for another one to complete, 0 rejects it right away
+     */
+    private long maxWait;
+
+}
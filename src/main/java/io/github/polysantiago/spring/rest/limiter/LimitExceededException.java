@@ -0,0 +1,14 @@
+package io.github.polysantiago.spring.rest.limiter;
+
+import org.springframework.web.client.RestClientException;
+
+/**
+ * Thrown instead of calling a service when a limit of its client is exceeded, eg: its concurrency limit.
+ */
+public class LimitExceededException extends RestClientException {
+
+    public LimitExceededException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,30 @@
+package io.github.polysantiago.spring.rest.limiter;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class RateLimitSettings {
+
+    /**
+     * Whether the rate of calls is limited
+     */
+    private boolean enabled = true;
+
+    /**
+     * Sustained number of calls per second
+     */
+    private double permitsPerSecond = 10;
+
+    /**
+     * Number of calls which can be made at once after being idle, 1 spaces out all calls evenly
+     */
+    private int burst = 1;
+
+    /**
+     * How long, in milliseconds, a call over the rate waits for a permit, 0 rejects it right away
+     */
+    private long maxWait;
+
+}
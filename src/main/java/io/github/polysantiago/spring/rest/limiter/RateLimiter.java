@@ -0,0 +1,88 @@
+package io.github.polysantiago.spring.rest.limiter;
+
+import org.springframework.util.Assert;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Limits the rate of calls to a service as a token bucket refilled at the configured rate and holding up to the
+ * burst, without any lock. The bucket is kept as the time at which it would be full again, as in the generic cell rate
+ * algorithm: each call moves it forward by the interval between two permits, while it does not exceed the current time
+ * by more than the burst.
+ * <p>
+ * Calls over the rate are either rejected with {@link LimitExceededException} right away or, if their permit becomes
+ * available within the configured max wait, reserve it and are left to wait for it. A reserved permit which ends up
+ * unused, eg: as another guard rejected the call, can be refunded.
+ */
+public final class RateLimiter {
+
+    private final String name;
+    private final double permitsPerSecond;
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final long maxWaitNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicLong fullAt;
+
+    public RateLimiter(String name, RateLimitSettings settings) {
+        this(name, settings, System::nanoTime);
+    }
+
+    RateLimiter(String name, RateLimitSettings settings, LongSupplier nanoClock) {
+        Assert.isTrue(settings.getPermitsPerSecond() > 0, "Rate limit permits per second must be positive");
+        Assert.isTrue(settings.getBurst() > 0, "Rate limit burst must be positive");
+        Assert.isTrue(settings.getMaxWait() >= 0, "Rate limit max wait must not be negative");
+        this.name = name;
+        this.permitsPerSecond = settings.getPermitsPerSecond();
+        this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+        this.burstNanos = intervalNanos * settings.getBurst();
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(settings.getMaxWait());
+        this.nanoClock = nanoClock;
+        this.fullAt = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    /**
+     * Reserves a permit to call the service, which the caller must wait for before calling it.
+     *
+     * @return how long to wait for the permit, in nanoseconds
+     * @throws LimitExceededException if no permit is available within the max wait, in which case nothing is reserved
+     */
+    public long reservePermit() {
+        long waitNanos = reserve();
+        if (waitNanos < 0) {
+            throw new LimitExceededException(
+                String.format("Rate limit of %s calls per second exceeded for service '%s'", permitsPerSecond, name));
+        }
+        return waitNanos;
+    }
+
+    /**
+     * Gives back a reserved permit which was not used to call the service.
+     */
+    public void refundPermit() {
+        fullAt.addAndGet(-intervalNanos);
+    }
+
+    /**
+     * Reserves a permit and returns how long to wait for it, or {@code -1} if it is not available within the max wait,
+     * in which case nothing is reserved.
+     */
+    private long reserve() {
+        while (true) {
+            long now = nanoClock.getAsLong();
+            long current = fullAt.get();
+            // A bucket idle for longer than its refill holds the burst only
+            long next = Math.max(current, now) + intervalNanos;
+            long waitNanos = next - burstNanos - now;
+            if (waitNanos > maxWaitNanos) {
+                return -1;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return Math.max(0, waitNanos);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,49 @@
+package io.github.polysantiago.spring.rest.retry;
+
+import io.github.polysantiago.spring.rest.support.RestClientScheduler;
+import org.springframework.retry.backoff.BackOffContext;
+import org.springframework.retry.backoff.BackOffPolicy;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.apache.commons.lang3.ObjectUtils.defaultIfNull;
+
+/**
+ * Schedules the retries of asynchronous requests on the {@link RestClientScheduler} so that no thread is blocked while
+ * backing off. Delays are those the back off policy of {@link RetryInterceptor} would sleep, recorded instead.
+ */
+public class AsyncRetryScheduler {
+
+    private final RetrySettings retrySettings;
+    private final RestClientScheduler scheduler;
+
+    public AsyncRetryScheduler(RetrySettings retrySettings, RestClientScheduler scheduler) {
+        this.retrySettings = defaultIfNull(retrySettings, new RetrySettings());
+        this.scheduler = scheduler;
+    }
+
+    public int getMaxAttempts() {
+        return retrySettings.getMaxAttempts();
+    }
+
+    /**
+     * @param attempt the number of the attempt which failed, starting at 1
+     * @return the delay in milliseconds before the next attempt
+     */
+    public long getBackOffDelay(int attempt) {
+        AtomicLong delay = new AtomicLong();
+        BackOffPolicy policy = RetryInterceptor.createBackOffPolicy(retrySettings.getBackOff(), delay::set);
+        // Backs off as many times as the blocking retries would have, the last delay being the one of this attempt
+        BackOffContext context = policy.start(null);
+        for (int i = 0; i < attempt; i++) {
+            policy.backOff(context);
+        }
+        return delay.get();
+    }
+
+    public void schedule(Runnable task, long delay) {
+        scheduler.scheduleHandOff(task, delay, TimeUnit.MILLISECONDS);
+    }
+
+}
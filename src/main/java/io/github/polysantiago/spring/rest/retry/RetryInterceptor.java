@@ -19,12 +19,15 @@ public class RetryInterceptor {
     public RetryOperationsInterceptor buildInterceptor() {
         return RetryInterceptorBuilder.stateless()
             .retryPolicy(new SimpleRetryPolicy(retrySettings.getMaxAttempts(), singletonMap(RetryableException.class, true)))
-            .backOffPolicy(getBackOffPolicy())
+            .backOffPolicy(createBackOffPolicy(retrySettings.getBackOff(), new ThreadWaitSleeper()))
             .build();
     }
 
-    private BackOffPolicy getBackOffPolicy() {
-        BackOffSettings backOff = retrySettings.getBackOff();
+    /**
+     * Creates the back off policy of both blocking and asynchronous retries, the latter recording the delays through
+     * the given sleeper, see {@link AsyncRetryScheduler}.
+     */
+    static BackOffPolicy createBackOffPolicy(BackOffSettings backOff, Sleeper sleeper) {
         long min = backOff.getDelay();
         long max = backOff.getMaxDelay();
         if (backOff.getMultiplier() > 0) {
@@ -35,16 +38,19 @@ public class RetryInterceptor {
             policy.setInitialInterval(min);
             policy.setMultiplier(backOff.getMultiplier());
             policy.setMaxInterval(max > min ? max : ExponentialBackOffPolicy.DEFAULT_MAX_INTERVAL);
+            policy.setSleeper(sleeper);
             return policy;
         }
         if (max > min) {
             UniformRandomBackOffPolicy policy = new UniformRandomBackOffPolicy();
             policy.setMinBackOffPeriod(min);
             policy.setMaxBackOffPeriod(max);
+            policy.setSleeper(sleeper);
             return policy;
         }
         FixedBackOffPolicy policy = new FixedBackOffPolicy();
         policy.setBackOffPeriod(min);
+        policy.setSleeper(sleeper);
         return policy;
     }
 
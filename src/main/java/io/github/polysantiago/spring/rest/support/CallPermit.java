@@ -0,0 +1,18 @@
+package io.github.polysantiago.spring.rest.support;
+
+/**
+ * The permit of a single guarded call, eg: by a circuit breaker or a concurrency limit, recording its outcome at most
+ * once.
+ */
+public interface CallPermit {
+
+    void onSuccess();
+
+    void onError(Throwable throwable);
+
+    /**
+     * Releases the permit of a call whose outcome is unknown, eg: cancelled, without recording it.
+     */
+    void release();
+
+}
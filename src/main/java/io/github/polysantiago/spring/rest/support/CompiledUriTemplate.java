@@ -0,0 +1,196 @@
+package io.github.polysantiago.spring.rest.support;
+
+import org.springframework.util.Assert;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A URI template compiled against a base URI. The literal parts of the template are encoded once upon compilation
+ * so that expanding it only requires encoding the variable and query parameter values.
+ * <p>
+ * Expansion follows the semantics of {@code UriComponentsBuilder.fromUri(baseUri).path(pathTemplate)
+ * .queryParams(params).buildAndExpand(values).encode().toUri()}: path variables are expanded by position and
+ * values are encoded as path and query parameter components respectively.
+ */
+public final class CompiledUriTemplate {
+
+    private static final Pattern NAMES_PATTERN = Pattern.compile("\\{([^/]+?)\\}");
+    private static final String ENCODING = "UTF-8";
+    private static final char PATH_DELIMITER = '/';
+
+    private final String[] literals;
+    private final String[] variableNames;
+    private final String[] queryNames;
+    private final String baseQuery;
+    private final String fragment;
+    private final int estimatedLength;
+
+    private CompiledUriTemplate(List<String> literals, List<String> variableNames, String[] queryNames,
+                                String baseQuery, String fragment) {
+        this.literals = literals.toArray(new String[literals.size()]);
+        this.variableNames = variableNames.toArray(new String[variableNames.size()]);
+        this.queryNames = queryNames;
+        this.baseQuery = baseQuery;
+        this.fragment = fragment;
+        this.estimatedLength = literals.stream().mapToInt(String::length).sum() + 16 * (variableNames.size() + queryNames.length);
+    }
+
+    /**
+     * Compiles the given path template against the given base URI.
+     *
+     * @param baseUri             the URI the path template is appended to
+     * @param pathTemplate        the path template, eg: {@code /foo/{id}}
+     * @param queryParameterNames the names of the query parameters whose values are given upon expansion
+     * @return the compiled template
+     */
+    public static CompiledUriTemplate compile(URI baseUri, String pathTemplate, List<String> queryParameterNames) {
+        UriComponents components = UriComponentsBuilder.fromUri(baseUri).path(pathTemplate).build();
+
+        StringBuilder prefix = new StringBuilder(UriComponentsBuilder.newInstance()
+            .scheme(components.getScheme())
+            .userInfo(components.getUserInfo())
+            .host(components.getHost())
+            .port(components.getPort())
+            .build()
+            .encode()
+            .toUriString());
+
+        List<String> literals = new ArrayList<>();
+        List<String> variableNames = new ArrayList<>();
+        String path = components.getPath();
+        if (path != null && !path.isEmpty()) {
+            if (prefix.length() != 0 && path.charAt(0) != PATH_DELIMITER) {
+                prefix.append(PATH_DELIMITER);
+            }
+            Matcher matcher = NAMES_PATTERN.matcher(path);
+            int start = 0;
+            while (matcher.find()) {
+                prefix.append(encodePath(path.substring(start, matcher.start())));
+                literals.add(prefix.toString());
+                prefix.setLength(0);
+                variableNames.add(getVariableName(matcher.group(1)));
+                start = matcher.end();
+            }
+            prefix.append(encodePath(path.substring(start)));
+        }
+        literals.add(prefix.toString());
+
+        String[] queryNames = queryParameterNames.stream()
+            .map(CompiledUriTemplate::encodeQueryParam)
+            .toArray(String[]::new);
+
+        return new CompiledUriTemplate(literals, variableNames, queryNames,
+            encodeQuery(components.getQueryParams()), encodeFragment(components.getFragment()));
+    }
+
+    /**
+     * Expands this template into a {@link URI}.
+     *
+     * @param uriVariables the path variable values, by position
+     * @param queryValues  the values of each query parameter, in the order given upon compilation
+     * @return the expanded and encoded {@link URI}
+     */
+    public URI expand(Object[] uriVariables, String[][] queryValues) {
+        Assert.isTrue(queryValues.length == queryNames.length, "Expected " + queryNames.length + " query parameters");
+
+        StringBuilder uri = new StringBuilder(estimatedLength);
+        uri.append(literals[0]);
+        for (int i = 0; i < variableNames.length; i++) {
+            if (i >= uriVariables.length) {
+                throw new IllegalArgumentException("Not enough variable values available to expand '" + variableNames[i] + "'");
+            }
+            Object value = uriVariables[i];
+            if (value != null) {
+                uri.append(encodePath(value.toString()));
+            }
+            uri.append(literals[i + 1]);
+        }
+
+        boolean first = true;
+        if (baseQuery != null) {
+            uri.append('?').append(baseQuery);
+            first = false;
+        }
+        for (int i = 0; i < queryNames.length; i++) {
+            String[] values = queryValues[i];
+            if (values == null || values.length == 0) {
+                uri.append(first ? '?' : '&').append(queryNames[i]);
+                first = false;
+                continue;
+            }
+            for (String value : values) {
+                uri.append(first ? '?' : '&').append(queryNames[i]);
+                if (value != null) {
+                    uri.append('=').append(encodeQueryParam(value));
+                }
+                first = false;
+            }
+        }
+
+        if (fragment != null) {
+            uri.append('#').append(fragment);
+        }
+        return URI.create(uri.toString());
+    }
+
+    private static String getVariableName(String match) {
+        int colonIdx = match.indexOf(':');
+        return colonIdx != -1 ? match.substring(0, colonIdx) : match;
+    }
+
+    private static String encodeQuery(MultiValueMap<String, String> queryParams) {
+        if (queryParams.isEmpty()) {
+            return null;
+        }
+        StringBuilder query = new StringBuilder();
+        queryParams.forEach((name, values) -> {
+            if (values.isEmpty()) {
+                query.append(query.length() == 0 ? "" : "&").append(encodeQueryParam(name));
+            }
+            for (String value : values) {
+                query.append(query.length() == 0 ? "" : "&").append(encodeQueryParam(name));
+                if (value != null) {
+                    query.append('=').append(encodeQueryParam(value));
+                }
+            }
+        });
+        return query.toString();
+    }
+
+    private static String encodePath(String path) {
+        try {
+            return UriUtils.encodePath(path, ENCODING);
+        } catch (UnsupportedEncodingException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static String encodeQueryParam(String queryParam) {
+        try {
+            return UriUtils.encodeQueryParam(queryParam, ENCODING);
+        } catch (UnsupportedEncodingException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static String encodeFragment(String fragment) {
+        if (fragment == null) {
+            return null;
+        }
+        try {
+            return UriUtils.encodeFragment(fragment, ENCODING);
+        } catch (UnsupportedEncodingException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+}
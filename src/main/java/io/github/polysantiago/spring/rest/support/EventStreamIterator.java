@@ -0,0 +1,238 @@
+package io.github.polysantiago.spring.rest.support;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazily decodes the elements of a {@code text/event-stream} or {@code application/x-ndjson} response as they arrive,
+ * only reading further from the connection as elements are requested. The response is closed, releasing its
+ * connection, once the stream ends, upon any error or when this iterator is closed.
+ * <p>
+ * The data of each server-sent event is decoded as an element. If the connection of a server-sent event stream is
+ * lost, it is re-established with the {@code Last-Event-ID} of the last event received, after the delay sent by the
+ * server in a {@code retry} field, 3 seconds by default, giving up after 3 consecutive failed attempts, whether the
+ * connection was lost or could not be re-established.
+ */
+public final class EventStreamIterator<T> implements Iterator<T>, Closeable {
+
+    public static final MediaType APPLICATION_NDJSON = MediaType.valueOf("application/x-ndjson");
+    public static final String LAST_EVENT_ID = "Last-Event-ID";
+
+    private static final int MAX_RECONNECT_ATTEMPTS = 3;
+    private static final long DEFAULT_RETRY_DELAY = 3000;
+
+    private final Function<String, ClientHttpResponse> connector;
+    private final boolean serverSentEvents;
+    private final ObjectReader reader;
+    private final boolean rawData;
+
+    private ClientHttpResponse response;
+    private BufferedReader lineReader;
+    private String lastEventId;
+    private long retryDelay = DEFAULT_RETRY_DELAY;
+    private T next;
+    private boolean closed;
+
+    /**
+     * @param connector opens the response, given the {@code Last-Event-ID} to resume from, if any
+     */
+    public EventStreamIterator(ObjectMapper objectMapper, JavaType elementType, MediaType mediaType,
+                               Function<String, ClientHttpResponse> connector) {
+        this.connector = connector;
+        this.serverSentEvents = MediaType.TEXT_EVENT_STREAM.isCompatibleWith(mediaType);
+        this.reader = objectMapper.readerFor(elementType);
+        this.rawData = elementType.getRawClass() == String.class;
+        connect();
+    }
+
+    public static boolean isEventStream(MediaType mediaType) {
+        return MediaType.TEXT_EVENT_STREAM.isCompatibleWith(mediaType) || APPLICATION_NDJSON.isCompatibleWith(mediaType);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !closed) {
+            next = read();
+            if (next == null) {
+                close();
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        T value = next;
+        next = null;
+        return value;
+    }
+
+    /**
+     * A sequential stream of the remaining elements, closing this iterator once closed itself.
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false)
+            .onClose(this::close);
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        disconnect();
+    }
+
+    private T read() {
+        int failedAttempts = 0;
+        while (true) {
+            // Failing to reconnect, eg: while the server restarts, is a failed attempt as well
+            RuntimeException failure = response == null ? reconnect() : null;
+            if (failure == null) {
+                try {
+                    return serverSentEvents ? readEvent() : readLine();
+                } catch (IOException ex) {
+                    failure = new ResourceAccessException("I/O error on event stream: " + ex.getMessage(), ex);
+                } catch (RuntimeException ex) {
+                    if (closed) {
+                        return null;
+                    }
+                    close();
+                    throw ex;
+                }
+            }
+            if (closed) {
+                return null;
+            }
+            disconnect();
+            if (!serverSentEvents || ++failedAttempts >= MAX_RECONNECT_ATTEMPTS) {
+                close();
+                throw failure;
+            }
+            sleep(retryDelay);
+        }
+    }
+
+    private T readLine() throws IOException {
+        String line;
+        while ((line = lineReader.readLine()) != null) {
+            if (!line.trim().isEmpty()) {
+                T value = decode(line);
+                if (value != null) {
+                    return value;
+                }
+            }
+        }
+        return null;
+    }
+
+    private T readEvent() throws IOException {
+        StringBuilder data = null;
+        String line;
+        while ((line = lineReader.readLine()) != null) {
+            if (line.isEmpty()) {
+                if (data != null) {
+                    T value = decode(data.toString());
+                    data = null;
+                    if (value != null) {
+                        return value;
+                    }
+                }
+                continue;
+            }
+            if (line.charAt(0) == ':') {
+                continue;
+            }
+            int colon = line.indexOf(':');
+            String field = colon < 0 ? line : line.substring(0, colon);
+            String value = colon < 0 ? "" : line.substring(line.startsWith(" ", colon + 1) ? colon + 2 : colon + 1);
+            switch (field) {
+                case "data":
+                    data = data == null ? new StringBuilder(value) : data.append('\n').append(value);
+                    break;
+                case "id":
+                    lastEventId = value.indexOf('\0') < 0 ? value : lastEventId;
+                    break;
+                case "retry":
+                    if (!value.isEmpty() && value.chars().allMatch(Character::isDigit)) {
+                        retryDelay = Long.parseLong(value);
+                    }
+                    break;
+                default:
+                    // event names are not exposed, only the data of each event is
+            }
+        }
+        // An event not terminated by a blank line is incomplete and thus discarded
+        return null;
+    }
+
+    private T decode(String data) throws IOException {
+        if (rawData) {
+            @SuppressWarnings("unchecked")
+            T value = (T) data;
+            return value;
+        }
+        try {
+            return reader.readValue(data);
+        } catch (IOException ex) {
+            throw new HttpMessageNotReadableException("Could not read JSON: " + ex.getMessage(), ex);
+        }
+    }
+
+    private void connect() {
+        response = connector.apply(lastEventId);
+        try {
+            lineReader = new BufferedReader(new InputStreamReader(response.getBody(), StandardCharsets.UTF_8));
+        } catch (IOException ex) {
+            disconnect();
+            throw new ResourceAccessException("I/O error on event stream: " + ex.getMessage(), ex);
+        }
+    }
+
+    private RuntimeException reconnect() {
+        try {
+            connect();
+            return null;
+        } catch (RuntimeException ex) {
+            return ex;
+        }
+    }
+
+    private void disconnect() {
+        if (response != null) {
+            response.close();
+            response = null;
+            lineReader = null;
+        }
+    }
+
+    private void sleep(long delay) {
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            close();
+            throw new ResourceAccessException("Interrupted while reconnecting event stream");
+        }
+    }
+
+}
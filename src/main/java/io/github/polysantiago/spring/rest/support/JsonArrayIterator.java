@@ -0,0 +1,110 @@
+package io.github.polysantiago.spring.rest.support;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazily decodes the elements of a JSON array response body, one at a time, as they are read from the connection.
+ * The response is closed, releasing its connection, once the array is exhausted, upon any decoding error or when
+ * this iterator is closed.
+ */
+public final class JsonArrayIterator<T> implements Iterator<T>, Closeable {
+
+    private final ClientHttpResponse response;
+    private final ObjectReader reader;
+    private final JsonParser parser;
+    private boolean closed;
+
+    public JsonArrayIterator(ObjectMapper objectMapper, JavaType elementType, ClientHttpResponse response) {
+        this.response = response;
+        this.reader = objectMapper.readerFor(elementType);
+        try {
+            this.parser = objectMapper.getFactory().createParser(response.getBody());
+            JsonToken token = parser.nextToken();
+            if (token == null) {
+                close();
+            } else if (token != JsonToken.START_ARRAY) {
+                throw new HttpMessageNotReadableException("Expected a JSON array but found " + token);
+            } else {
+                advance();
+            }
+        } catch (IOException | RuntimeException ex) {
+            close();
+            throw notReadable(ex);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !closed;
+    }
+
+    @Override
+    public T next() {
+        if (closed) {
+            throw new NoSuchElementException();
+        }
+        try {
+            T value = reader.readValue(parser);
+            advance();
+            return value;
+        } catch (IOException | RuntimeException ex) {
+            close();
+            throw notReadable(ex);
+        }
+    }
+
+    /**
+     * A sequential stream of the remaining elements, closing this iterator once closed itself.
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED), false)
+            .onClose(this::close);
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (parser != null) {
+                parser.close();
+            }
+        } catch (IOException ex) {
+            // Ignore, the response is closed anyway
+        } finally {
+            response.close();
+        }
+    }
+
+    private void advance() throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == null || token == JsonToken.END_ARRAY) {
+            close();
+        }
+    }
+
+    private static RuntimeException notReadable(Exception ex) {
+        if (ex instanceof HttpMessageNotReadableException) {
+            return (HttpMessageNotReadableException) ex;
+        }
+        return new HttpMessageNotReadableException("Could not read JSON: " + ex.getMessage(), ex);
+    }
+
+}
@@ -0,0 +1,239 @@
+package io.github.polysantiago.spring.rest.support;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.util.StreamUtils;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URLConnection;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * A {@code multipart/form-data} request body bound from the {@code @RequestPart} arguments of a method invocation.
+ * File parts, i.e. {@link Path}, {@link FileChannel}, {@link Resource} and {@link InputStream}, are streamed from
+ * their source rather than read into memory, their content type guessed from their file name. Any other part is
+ * written by the first message converter able to, see {@link MultipartBodyHttpMessageConverter}.
+ * <p>
+ * Each body has a random boundary of its own, so that part contents cannot forge parts with a boundary seen before.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class MultipartBody {
+
+    private static final byte[] CRLF = {'\r', '\n'};
+    private static final byte[] DASHES = {'-', '-'};
+    private static final MediaType TEXT_PLAIN_UTF8 = new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
+
+    private final Template template;
+    private final Object[] values;
+    private final byte[] boundary;
+    private final MediaType contentType;
+
+    public MediaType getContentType() {
+        return contentType;
+    }
+
+    void writeTo(OutputStream outputStream, List<HttpMessageConverter<?>> partConverters) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                writeBoundary(outputStream);
+                outputStream.write(template.partDispositions.get(i));
+                writePart(outputStream, template.partNames.get(i), values[i], partConverters);
+                outputStream.write(CRLF);
+            }
+        }
+        writeBoundary(outputStream);
+        outputStream.write(DASHES);
+        outputStream.write(CRLF);
+    }
+
+    private void writeBoundary(OutputStream outputStream) throws IOException {
+        outputStream.write(DASHES);
+        outputStream.write(boundary);
+    }
+
+    private static void writePart(OutputStream outputStream, String name, Object value,
+                                  List<HttpMessageConverter<?>> partConverters) throws IOException {
+        if (value instanceof Path) {
+            Path path = (Path) value;
+            writeFileHeaders(outputStream, String.valueOf(path.getFileName()), true);
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                transfer(channel, outputStream);
+            }
+        } else if (value instanceof FileChannel) {
+            writeFileHeaders(outputStream, name, false);
+            transfer((FileChannel) value, outputStream);
+        } else if (value instanceof Resource) {
+            Resource resource = (Resource) value;
+            String filename = resource.getFilename();
+            writeFileHeaders(outputStream, filename != null ? filename : name, filename != null);
+            try (InputStream inputStream = resource.getInputStream()) {
+                StreamUtils.copy(inputStream, outputStream);
+            }
+        } else if (value instanceof InputStream) {
+            writeFileHeaders(outputStream, name, false);
+            try (InputStream inputStream = (InputStream) value) {
+                StreamUtils.copy(inputStream, outputStream);
+            }
+        } else if (value instanceof CharSequence) {
+            writeHeaders(outputStream, null, TEXT_PLAIN_UTF8);
+            outputStream.write(value.toString().getBytes(StandardCharsets.UTF_8));
+        } else {
+            writeConverted(outputStream, value, partConverters);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void writeConverted(OutputStream outputStream, Object value,
+                                       List<HttpMessageConverter<?>> partConverters) throws IOException {
+        for (HttpMessageConverter<?> converter : partConverters) {
+            if (!(converter instanceof MultipartBodyHttpMessageConverter) && converter.canWrite(value.getClass(), null)) {
+                PartOutputMessage partOutputMessage = new PartOutputMessage(outputStream, getDefaultContentType(converter));
+                ((HttpMessageConverter<Object>) converter).write(value, null, partOutputMessage);
+                // Converters writing no content may never ask for the body
+                partOutputMessage.writeHeaders();
+                return;
+            }
+        }
+        throw new HttpMessageNotWritableException("No HttpMessageConverter for part of type " + value.getClass().getName());
+    }
+
+    private static void transfer(FileChannel channel, OutputStream outputStream) throws IOException {
+        WritableByteChannel target = Channels.newChannel(outputStream);
+        long position = channel.position();
+        long size = channel.size();
+        while (position < size) {
+            position += channel.transferTo(position, size - position, target);
+        }
+    }
+
+    private static MediaType getDefaultContentType(HttpMessageConverter<?> converter) {
+        return converter.getSupportedMediaTypes().stream()
+            .filter(MediaType::isConcrete)
+            .findFirst()
+            .orElse(null);
+    }
+
+    /**
+     * @param known whether the filename is the file's own, from which its content type is then guessed
+     */
+    private static void writeFileHeaders(OutputStream outputStream, String filename, boolean known) throws IOException {
+        String contentType = known ? URLConnection.guessContentTypeFromName(filename) : null;
+        writeHeaders(outputStream, filename,
+            contentType != null ? MediaType.parseMediaType(contentType) : MediaType.APPLICATION_OCTET_STREAM);
+    }
+
+    private static void writeHeaders(OutputStream outputStream, String filename, MediaType contentType) throws IOException {
+        StringBuilder headers = new StringBuilder();
+        if (filename != null) {
+            headers.append("; filename=\"").append(filename.replace("\"", "\\\"")).append('"');
+        }
+        headers.append("\r\n").append(HttpHeaders.CONTENT_TYPE).append(": ").append(contentType).append("\r\n\r\n");
+        outputStream.write(headers.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * The parts of a method, whose part headers are computed once and shared by all its invocations.
+     */
+    public static final class Template {
+
+        private final List<String> partNames;
+        private final List<byte[]> partDispositions;
+
+        private Template(List<String> partNames) {
+            this.partNames = Collections.unmodifiableList(partNames);
+            // Each header lacks its line ending as file parts append a filename to it
+            this.partDispositions = partNames.stream()
+                .map(name -> ("\r\nContent-Disposition: form-data; name=\"" + name.replace("\"", "\\\"") + "\"")
+                    .getBytes(StandardCharsets.UTF_8))
+                .collect(toList());
+        }
+
+        public static Template compile(List<String> partNames) {
+            return new Template(partNames);
+        }
+
+        /**
+         * @param values the value of each part, in the order given upon compilation; {@code null} parts are omitted
+         */
+        public MultipartBody bind(Object[] values) {
+            String boundary = MimeTypeUtils.generateMultipartBoundaryString();
+            return new MultipartBody(this, values, boundary.getBytes(StandardCharsets.US_ASCII),
+                new MediaType(MediaType.MULTIPART_FORM_DATA, Collections.singletonMap("boundary", boundary)));
+        }
+
+    }
+
+    /**
+     * Writes the headers set by a message converter ahead of the part's content, defaulting its content type to the
+     * first concrete one the converter supports.
+     */
+    @RequiredArgsConstructor
+    private static class PartOutputMessage implements HttpOutputMessage {
+
+        private final OutputStream outputStream;
+        private final MediaType defaultContentType;
+        private final HttpHeaders headers = new HttpHeaders();
+        private boolean headersWritten;
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headersWritten ? HttpHeaders.readOnlyHttpHeaders(headers) : headers;
+        }
+
+        private void writeHeaders() throws IOException {
+            if (headersWritten) {
+                return;
+            }
+            if (headers.getContentType() == null && defaultContentType != null) {
+                headers.setContentType(defaultContentType);
+            }
+            StringBuilder builder = new StringBuilder("\r\n");
+            for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+                for (String value : header.getValue()) {
+                    builder.append(header.getKey()).append(": ").append(value).append("\r\n");
+                }
+            }
+            outputStream.write(builder.append("\r\n").toString().getBytes(StandardCharsets.UTF_8));
+            headersWritten = true;
+        }
+
+        @Override
+        public OutputStream getBody() throws IOException {
+            writeHeaders();
+            // Converters may close the part's stream, but not the request's
+            return new FilterOutputStream(outputStream) {
+                @Override
+                public void write(byte[] bytes, int offset, int length) throws IOException {
+                    out.write(bytes, offset, length);
+                }
+
+                @Override
+                public void close() throws IOException {
+                    flush();
+                }
+            };
+        }
+
+    }
+
+}
@@ -0,0 +1,55 @@
+package io.github.polysantiago.spring.rest.support;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.util.List;
+
+import static java.util.Collections.singletonList;
+
+/**
+ * Writes a {@link MultipartBody} as a {@link StreamingRequestBody}, its non-file parts written by the given part
+ * converters. Must be registered before any converter able to write arbitrary objects, eg: Jackson's.
+ */
+public class MultipartBodyHttpMessageConverter implements HttpMessageConverter<MultipartBody> {
+
+    private final StreamingRequestBodyHttpMessageConverter streamingConverter = new StreamingRequestBodyHttpMessageConverter();
+    private final List<HttpMessageConverter<?>> partConverters;
+
+    public MultipartBodyHttpMessageConverter(List<HttpMessageConverter<?>> partConverters) {
+        this.partConverters = partConverters;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return MultipartBody.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public List<MediaType> getSupportedMediaTypes() {
+        return singletonList(MediaType.MULTIPART_FORM_DATA);
+    }
+
+    @Override
+    public MultipartBody read(Class<? extends MultipartBody> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("MultipartBody can only be written");
+    }
+
+    @Override
+    public void write(MultipartBody body, MediaType contentType, HttpOutputMessage outputMessage) throws IOException {
+        // The boundary is carried by the content type, overriding any declared without it
+        outputMessage.getHeaders().setContentType(body.getContentType());
+        streamingConverter.write(StreamingRequestBody.of(outputStream -> body.writeTo(outputStream, partConverters)),
+            body.getContentType(), outputMessage);
+    }
+
+}
@@ -0,0 +1,149 @@
+package io.github.polysantiago.spring.rest.support;
+
+import io.github.polysantiago.spring.rest.util.CompletableFutures;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.PagedResources;
+
+import java.io.Closeable;
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazily iterates the elements of all pages of a {@link PagedResources} response by following their {@code next}
+ * links. As a page's {@code next} link is only known once it arrives, pages are fetched one after the other, but in the
+ * background while the previous ones are consumed, up to the given number of pages ahead of the page being consumed.
+ * Closing this iterator cancels the page being fetched.
+ */
+public final class PagedResourcesIterator<T> implements Iterator<T>, Closeable {
+
+    private final Function<URI, CompletableFuture<PagedResources<T>>> nextPage;
+    private final int prefetch;
+    // The pages fetched or being fetched which are not consumed yet, in order
+    private final Deque<CompletableFuture<PagedResources<T>>> pages = new ArrayDeque<>();
+    // The next link of the last page fetched, while it is not fetched yet
+    private URI nextPageUri;
+    private CompletableFuture<PagedResources<T>> pageInFlight;
+    private Iterator<T> current = Collections.emptyIterator();
+    private boolean closed;
+
+    public PagedResourcesIterator(CompletableFuture<PagedResources<T>> firstPage,
+                                  Function<URI, CompletableFuture<PagedResources<T>>> nextPage, int prefetch) {
+        this.nextPage = nextPage;
+        this.prefetch = prefetch;
+        synchronized (this) {
+            enqueue(firstPage);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!current.hasNext()) {
+            CompletableFuture<PagedResources<T>> page = takePage();
+            if (page == null) {
+                close();
+                return false;
+            }
+            try {
+                current = CompletableFutures.join(page).getContent().iterator();
+            } catch (RuntimeException ex) {
+                close();
+                throw ex;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.next();
+    }
+
+    public Stream<T> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED), false)
+            .onClose(this::close);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        current = Collections.emptyIterator();
+        pages.clear();
+        nextPageUri = null;
+        if (pageInFlight != null) {
+            pageInFlight.cancel(true);
+        }
+    }
+
+    private synchronized CompletableFuture<PagedResources<T>> takePage() {
+        if (closed) {
+            return null;
+        }
+        if (pages.isEmpty() && nextPageUri != null) {
+            // Nothing was prefetched, the consumer has to wait for the next page anyway
+            fetch(nextPageUri);
+        }
+        CompletableFuture<PagedResources<T>> page = pages.poll();
+        prefetch();
+        return page;
+    }
+
+    private void prefetch() {
+        if (nextPageUri != null && pages.size() < prefetch) {
+            fetch(nextPageUri);
+        }
+    }
+
+    private void fetch(URI uri) {
+        nextPageUri = null;
+        CompletableFuture<PagedResources<T>> page;
+        try {
+            page = nextPage.apply(uri);
+        } catch (RuntimeException ex) {
+            page = new CompletableFuture<>();
+            page.completeExceptionally(ex);
+        }
+        enqueue(page);
+    }
+
+    private void enqueue(CompletableFuture<PagedResources<T>> page) {
+        // Queued before completion so that a page already completed counts as fetched ahead
+        CompletableFuture<PagedResources<T>> queued = new CompletableFuture<>();
+        pages.add(queued);
+        pageInFlight = page;
+        page.whenComplete((resources, throwable) -> {
+            if (throwable != null) {
+                queued.completeExceptionally(throwable);
+            } else {
+                // The next link is known before the consumer may see this page, which is thus never taken as the last
+                onPage(resources);
+                queued.complete(resources);
+            }
+        });
+    }
+
+    private synchronized void onPage(PagedResources<T> page) {
+        if (closed) {
+            return;
+        }
+        Link next = page.getLink(Link.REL_NEXT);
+        nextPageUri = next != null ? URI.create(next.expand().getHref()) : null;
+        prefetch();
+    }
+
+}
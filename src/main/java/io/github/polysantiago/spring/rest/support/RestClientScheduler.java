@@ -0,0 +1,84 @@
+package io.github.polysantiago.spring.rest.support;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A timer shared by rest clients to run short delayed tasks, eg: flushing pending batches or retrying asynchronous
+ * requests. Tasks run on a single daemon thread, those sending requests are handed off to the executor of the async
+ * transport, or to daemon threads of its own, so that a blocking send never holds the timer. Sending may block even on
+ * a non-blocking transport, eg: waiting for a slot of a bulkhead.
+ */
+public class RestClientScheduler implements DisposableBean {
+
+    private final ScheduledExecutorService executor;
+    private final ExecutorService ownHandOffExecutor;
+    private final Executor handOffExecutor;
+
+    public RestClientScheduler() {
+        this(null);
+    }
+
+    /**
+     * @param handOffExecutor the executor running the tasks which send requests, or {@code null} to run them on threads
+     *                        of its own
+     */
+    public RestClientScheduler(Executor handOffExecutor) {
+        this.executor = Executors.newSingleThreadScheduledExecutor(daemonThreadFactory("rest-client-scheduler-"));
+        this.ownHandOffExecutor = Executors.newCachedThreadPool(daemonThreadFactory("rest-client-hand-off-"));
+        this.handOffExecutor = handOffExecutor != null ? handOffExecutor : ownHandOffExecutor;
+    }
+
+    /**
+     * Schedules a task which must not block.
+     */
+    public ScheduledFuture<?> schedule(Runnable task, long delay, TimeUnit unit) {
+        return executor.schedule(task, delay, unit);
+    }
+
+    /**
+     * Schedules a task which may block, eg: sending a request, handing it off once due.
+     */
+    public ScheduledFuture<?> scheduleHandOff(Runnable task, long delay, TimeUnit unit) {
+        return executor.schedule(() -> handOff(task), delay, unit);
+    }
+
+    private void handOff(Runnable task) {
+        try {
+            handOffExecutor.execute(task);
+        } catch (RejectedExecutionException ex) {
+            // Still run so that its callers complete, eg: failing as the transport rejects their requests as well
+            runOwn(task);
+        }
+    }
+
+    private void runOwn(Runnable task) {
+        try {
+            ownHandOffExecutor.execute(task);
+        } catch (RejectedExecutionException ex) {
+            // Shut down along with the timer
+            task.run();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+        ownHandOffExecutor.shutdown();
+    }
+
+    private static CustomizableThreadFactory daemonThreadFactory(String threadNamePrefix) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(threadNamePrefix);
+        threadFactory.setDaemon(true);
+        return threadFactory;
+    }
+
+}
@@ -0,0 +1,83 @@
+package io.github.polysantiago.spring.rest.support;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * A request body written straight to the connection rather than buffered in memory, eg: an upload. Bodies of type
+ * {@link InputStream}, {@link Path}, {@link Resource} and {@link StreamingHttpOutputMessage.Body} are adapted to it.
+ * <p>
+ * An {@link InputStream} is read once only, thus its request cannot be retried.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class StreamingRequestBody implements StreamingHttpOutputMessage.Body {
+
+    private static final long UNKNOWN_LENGTH = -1;
+
+    @Getter(AccessLevel.NONE)
+    private final StreamingHttpOutputMessage.Body body;
+    private final long contentLength;
+
+    @Override
+    public void writeTo(OutputStream outputStream) throws IOException {
+        body.writeTo(outputStream);
+    }
+
+    public static StreamingRequestBody of(StreamingHttpOutputMessage.Body body) {
+        return body instanceof StreamingRequestBody ? (StreamingRequestBody) body : new StreamingRequestBody(body, UNKNOWN_LENGTH);
+    }
+
+    public static StreamingRequestBody of(InputStream inputStream) {
+        return new StreamingRequestBody(outputStream -> {
+            try (InputStream in = inputStream) {
+                StreamUtils.copy(in, outputStream);
+            }
+        }, UNKNOWN_LENGTH);
+    }
+
+    public static StreamingRequestBody of(Path path) throws IOException {
+        return new StreamingRequestBody(outputStream -> Files.copy(path, outputStream), Files.size(path));
+    }
+
+    public static StreamingRequestBody of(Resource resource) throws IOException {
+        // Same as ResourceHttpMessageConverter, the length of an InputStreamResource cannot be read ahead
+        long contentLength = resource instanceof InputStreamResource ? UNKNOWN_LENGTH : resource.contentLength();
+        return new StreamingRequestBody(outputStream -> {
+            try (InputStream in = resource.getInputStream()) {
+                StreamUtils.copy(in, outputStream);
+            }
+        }, contentLength);
+    }
+
+    /**
+     * Adapts the given body if it is of a streamed type.
+     *
+     * @return the adapted body, or the given body as is
+     */
+    public static Object adapt(Object body) throws IOException {
+        if (body instanceof InputStream) {
+            return of((InputStream) body);
+        } else if (body instanceof Path) {
+            return of((Path) body);
+        } else if (body instanceof Resource) {
+            return of((Resource) body);
+        } else if (body instanceof StreamingHttpOutputMessage.Body) {
+            return of((StreamingHttpOutputMessage.Body) body);
+        }
+        return body;
+    }
+
+}
@@ -0,0 +1,60 @@
+package io.github.polysantiago.spring.rest.support;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.util.List;
+
+import static java.util.Collections.singletonList;
+
+/**
+ * Writes a {@link StreamingRequestBody} as is, handing it over to a {@link StreamingHttpOutputMessage} so that it is
+ * streamed once the request is executed. Must be registered before any converter able to write arbitrary objects,
+ * eg: Jackson's.
+ */
+public class StreamingRequestBodyHttpMessageConverter implements HttpMessageConverter<StreamingRequestBody> {
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return StreamingRequestBody.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public List<MediaType> getSupportedMediaTypes() {
+        return singletonList(MediaType.ALL);
+    }
+
+    @Override
+    public StreamingRequestBody read(Class<? extends StreamingRequestBody> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("StreamingRequestBody can only be written");
+    }
+
+    @Override
+    public void write(StreamingRequestBody body, MediaType contentType, HttpOutputMessage outputMessage) throws IOException {
+        HttpHeaders headers = outputMessage.getHeaders();
+        if (headers.getContentType() == null) {
+            boolean concrete = contentType != null && !contentType.isWildcardType() && !contentType.isWildcardSubtype();
+            headers.setContentType(concrete ? contentType : MediaType.APPLICATION_OCTET_STREAM);
+        }
+        if (headers.getContentLength() < 0 && body.getContentLength() >= 0) {
+            headers.setContentLength(body.getContentLength());
+        }
+        if (outputMessage instanceof StreamingHttpOutputMessage) {
+            ((StreamingHttpOutputMessage) outputMessage).setBody(body);
+        } else {
+            body.writeTo(outputMessage.getBody());
+        }
+    }
+
+}
@@ -18,7 +18,7 @@ public final class SyntheticParametrizedType implements ParameterizedType, Seria
     private final Type[] actualTypeArguments;
 
     SyntheticParametrizedType(ResolvableType resolvedType) {
-        this.rawType = resolvedType.getRawClass();
+        this.rawType = resolvedType.resolve();
         this.actualTypeArguments = resolveGenerics(resolvedType);
     }
 
@@ -0,0 +1,40 @@
+package io.github.polysantiago.spring.rest.transport;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * {@link PublicMetrics} of the worker pool of an {@link ExecutorAsyncRestClientTransport}, if any.
+ */
+@RequiredArgsConstructor
+public class AsyncExecutorPublicMetrics implements PublicMetrics {
+
+    private static final String PREFIX = "restclient.async.";
+
+    private final ObjectProvider<ExecutorAsyncRestClientTransport> transport;
+
+    @Override
+    public Collection<Metric<?>> metrics() {
+        ExecutorAsyncRestClientTransport executorTransport = transport.getIfAvailable();
+        if (executorTransport == null) {
+            return Collections.emptyList();
+        }
+        ThreadPoolExecutor executor = executorTransport.getTaskExecutor().getThreadPoolExecutor();
+        List<Metric<?>> metrics = new ArrayList<>();
+        metrics.add(new Metric<>(PREFIX + "active", executor.getActiveCount()));
+        metrics.add(new Metric<>(PREFIX + "pool.size", executor.getPoolSize()));
+        metrics.add(new Metric<>(PREFIX + "queue.size", executor.getQueue().size()));
+        metrics.add(new Metric<>(PREFIX + "queue.remaining", executor.getQueue().remainingCapacity()));
+        metrics.add(new Metric<>(PREFIX + "completed", executor.getCompletedTaskCount()));
+        return metrics;
+    }
+
+}
@@ -0,0 +1,32 @@
+package io.github.polysantiago.spring.rest.transport;
+
+import org.springframework.http.client.AsyncClientHttpRequestFactory;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Strategy to create the HTTP transport used by {@code AsyncRestTemplate} instances backing rest clients.
+ */
+public interface AsyncRestClientTransport {
+
+    /**
+     * Creates an {@link AsyncClientHttpRequestFactory} whose connections are pooled according to the given settings.
+     * Implementations that do not pool connections may ignore them.
+     *
+     * @param poolSettings the connection pool settings
+     * @return the request factory
+     */
+    AsyncClientHttpRequestFactory createAsyncRequestFactory(PoolSettings poolSettings);
+
+    /**
+     * The executor to which delayed tasks sending requests are handed off, eg: flushing pending batches. Defaults to
+     * none, in which case they are handed off to threads of the scheduler itself, as sending may block even on a
+     * non-blocking transport, eg: waiting for a slot of a bulkhead.
+     *
+     * @return the executor, or {@code null}
+     */
+    default Executor getTaskExecutor() {
+        return null;
+    }
+
+}
@@ -0,0 +1,46 @@
+package io.github.polysantiago.spring.rest.transport;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class AsyncSettings {
+
+    /**
+     * Number of worker threads kept in the pool, even if idle
+     */
+    private int corePoolSize = 8;
+
+    /**
+     * Maximum number of worker threads, only exceeding the core pool size once the queue is full
+     */
+    private int maxPoolSize = 64;
+
+    /**
+     * Maximum number of requests waiting for a worker thread
+     */
+    private int queueCapacity = 1000;
+
+    /**
+     * Time in seconds after which idle threads above the core pool size are terminated
+     */
+    private int keepAlive = 60;
+
+    /**
+     * What to do with requests once both the worker threads and the queue are exhausted
+     */
+    private RejectionPolicy rejectionPolicy = RejectionPolicy.ABORT;
+
+    public enum RejectionPolicy {
+        /**
+         * The request fails with a {@code TaskRejectedException}
+         */
+        ABORT,
+        /**
+         * The request is executed by the calling thread, slowing down the caller
+         */
+        CALLER_RUNS
+    }
+
+}
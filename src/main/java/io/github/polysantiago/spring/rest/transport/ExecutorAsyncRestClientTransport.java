@@ -0,0 +1,55 @@
+package io.github.polysantiago.spring.rest.transport;
+
+import lombok.Getter;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.client.AsyncClientHttpRequestFactory;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * {@link AsyncRestClientTransport} executing blocking {@code HttpURLConnection} requests on a bounded pool of worker
+ * threads configured through {@link AsyncSettings}. The pool is shut down along with it.
+ */
+public class ExecutorAsyncRestClientTransport implements AsyncRestClientTransport, DisposableBean {
+
+    private static final String THREAD_NAME_PREFIX = "rest-client-async-";
+
+    @Getter
+    private final ThreadPoolTaskExecutor taskExecutor;
+
+    public ExecutorAsyncRestClientTransport(AsyncSettings asyncSettings) {
+        this.taskExecutor = new ThreadPoolTaskExecutor();
+        this.taskExecutor.setCorePoolSize(asyncSettings.getCorePoolSize());
+        this.taskExecutor.setMaxPoolSize(asyncSettings.getMaxPoolSize());
+        this.taskExecutor.setQueueCapacity(asyncSettings.getQueueCapacity());
+        this.taskExecutor.setKeepAliveSeconds(asyncSettings.getKeepAlive());
+        this.taskExecutor.setRejectedExecutionHandler(rejectedExecutionHandler(asyncSettings.getRejectionPolicy()));
+        this.taskExecutor.setThreadNamePrefix(THREAD_NAME_PREFIX);
+        this.taskExecutor.initialize();
+    }
+
+    @Override
+    public AsyncClientHttpRequestFactory createAsyncRequestFactory(PoolSettings poolSettings) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setTaskExecutor(taskExecutor);
+        return requestFactory;
+    }
+
+    @Override
+    public void destroy() {
+        taskExecutor.shutdown();
+    }
+
+    private static RejectedExecutionHandler rejectedExecutionHandler(AsyncSettings.RejectionPolicy rejectionPolicy) {
+        switch (rejectionPolicy) {
+            case CALLER_RUNS:
+                return new ThreadPoolExecutor.CallerRunsPolicy();
+            default:
+                return new ThreadPoolExecutor.AbortPolicy();
+        }
+    }
+
+}
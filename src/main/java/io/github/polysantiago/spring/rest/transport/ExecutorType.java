@@ -0,0 +1,18 @@
+package io.github.polysantiago.spring.rest.transport;
+
+/**
+ * The threads asynchronous requests are executed on, unless a non-blocking transport is used.
+ */
+public enum ExecutorType {
+
+    /**
+     * A bounded pool of platform threads, see {@link AsyncSettings}
+     */
+    POOLED,
+
+    /**
+     * One virtual thread per request, requires Java 21 or later
+     */
+    VIRTUAL
+
+}
@@ -0,0 +1,81 @@
+package io.github.polysantiago.spring.rest.transport;
+
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.nio.reactor.IOReactorException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.client.AsyncClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsAsyncClientHttpRequestFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link AsyncRestClientTransport} based on a pooling, non-blocking Apache HttpAsyncClient. Requests in flight do not
+ * hold any thread, responses are handled by the I/O reactor threads. The clients it creates are closed along with it.
+ * <p>
+ * Idle and expired connections are evicted from the pools by a single background thread, as the async client has no
+ * evictor of its own. Connections are not validated after inactivity, see {@link PoolSettings#getValidateAfterInactivity()}.
+ */
+public class HttpComponentsAsyncRestClientTransport implements AsyncRestClientTransport, DisposableBean {
+
+    private final List<CloseableHttpAsyncClient> httpAsyncClients = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService evictor;
+
+    public HttpComponentsAsyncRestClientTransport() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("rest-client-async-evictor-");
+        threadFactory.setDaemon(true);
+        this.evictor = Executors.newSingleThreadScheduledExecutor(threadFactory);
+    }
+
+    @Override
+    public AsyncClientHttpRequestFactory createAsyncRequestFactory(PoolSettings poolSettings) {
+        PoolingNHttpClientConnectionManager connectionManager = createConnectionManager();
+        connectionManager.setMaxTotal(poolSettings.getMaxTotal());
+        connectionManager.setDefaultMaxPerRoute(poolSettings.getMaxPerRoute());
+        scheduleEviction(connectionManager, poolSettings.getIdleTimeout());
+
+        CloseableHttpAsyncClient httpAsyncClient = HttpAsyncClients.custom()
+            .setConnectionManager(connectionManager)
+            .build();
+        httpAsyncClients.add(httpAsyncClient);
+
+        return new HttpComponentsAsyncClientHttpRequestFactory(httpAsyncClient);
+    }
+
+    private void scheduleEviction(PoolingNHttpClientConnectionManager connectionManager, long idleTimeout) {
+        if (idleTimeout <= 0) {
+            return;
+        }
+        // Checked as often as the idle timeout, as HttpClient's own evictor does for the sync pool
+        evictor.scheduleWithFixedDelay(() -> {
+            connectionManager.closeExpiredConnections();
+            connectionManager.closeIdleConnections(idleTimeout, TimeUnit.MILLISECONDS);
+        }, idleTimeout, idleTimeout, TimeUnit.MILLISECONDS);
+    }
+
+    private static PoolingNHttpClientConnectionManager createConnectionManager() {
+        try {
+            return new PoolingNHttpClientConnectionManager(new DefaultConnectingIOReactor());
+        } catch (IOReactorException ex) {
+            throw new IllegalStateException("Unable to create I/O reactor", ex);
+        }
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        evictor.shutdownNow();
+        for (CloseableHttpAsyncClient httpAsyncClient : httpAsyncClients) {
+            httpAsyncClient.close();
+        }
+        httpAsyncClients.clear();
+    }
+
+}
@@ -0,0 +1,49 @@
+package io.github.polysantiago.spring.rest.transport;
+
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link RestClientTransport} based on a pooling Apache HttpClient. The clients it creates are closed along with it.
+ */
+public class HttpComponentsRestClientTransport implements RestClientTransport, DisposableBean {
+
+    private final List<CloseableHttpClient> httpClients = new CopyOnWriteArrayList<>();
+
+    @Override
+    public ClientHttpRequestFactory createRequestFactory(PoolSettings poolSettings) {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(poolSettings.getMaxTotal());
+        connectionManager.setDefaultMaxPerRoute(poolSettings.getMaxPerRoute());
+        connectionManager.setValidateAfterInactivity(poolSettings.getValidateAfterInactivity());
+
+        CloseableHttpClient httpClient = HttpClients.custom()
+            .setConnectionManager(connectionManager)
+            .evictExpiredConnections()
+            .evictIdleConnections(poolSettings.getIdleTimeout(), TimeUnit.MILLISECONDS)
+            .build();
+        httpClients.add(httpClient);
+
+        HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(httpClient);
+        requestFactory.setBufferRequestBody(false);
+        return new StreamingClientHttpRequestFactory(requestFactory);
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        for (CloseableHttpClient httpClient : httpClients) {
+            httpClient.close();
+        }
+        httpClients.clear();
+    }
+
+}
@@ -0,0 +1,31 @@
+package io.github.polysantiago.spring.rest.transport;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class PoolSettings {
+
+    /**
+     * Maximum number of connections in the pool
+     */
+    private int maxTotal = 200;
+
+    /**
+     * Maximum number of connections per route (host)
+     */
+    private int maxPerRoute = 50;
+
+    /**
+     * Time in milliseconds after which idle connections are evicted from the pool
+     */
+    private long idleTimeout = 30000;
+
+    /**
+     * Time in milliseconds of inactivity after which connections are validated before being leased. Only applies to the
+     * sync pool: connections of the async pool are watched by its I/O reactor, which notices when they are closed
+     */
+    private int validateAfterInactivity = 2000;
+
+}
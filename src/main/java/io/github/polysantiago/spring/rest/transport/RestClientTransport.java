@@ -0,0 +1,19 @@
+package io.github.polysantiago.spring.rest.transport;
+
+import org.springframework.http.client.ClientHttpRequestFactory;
+
+/**
+ * Strategy to create the HTTP transport used by {@code RestTemplate} instances backing rest clients.
+ */
+public interface RestClientTransport {
+
+    /**
+     * Creates a {@link ClientHttpRequestFactory} whose connections are pooled according to the given settings.
+     * Implementations that do not pool connections may ignore them.
+     *
+     * @param poolSettings the connection pool settings
+     * @return the request factory
+     */
+    ClientHttpRequestFactory createRequestFactory(PoolSettings poolSettings);
+
+}
@@ -0,0 +1,19 @@
+package io.github.polysantiago.spring.rest.transport;
+
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+
+/**
+ * {@link RestClientTransport} based on the JDK's {@code HttpURLConnection}, whose keep-alive connections are managed
+ * by the JDK itself and thus not configurable through {@link PoolSettings}.
+ */
+public class SimpleRestClientTransport implements RestClientTransport {
+
+    @Override
+    public ClientHttpRequestFactory createRequestFactory(PoolSettings poolSettings) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setBufferRequestBody(false);
+        return new StreamingClientHttpRequestFactory(requestFactory);
+    }
+
+}
@@ -0,0 +1,92 @@
+package io.github.polysantiago.spring.rest.transport;
+
+import io.github.polysantiago.spring.rest.support.StreamingRequestBody;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.http.client.AbstractClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+
+/**
+ * Streams a {@link StreamingRequestBody} straight to the connection, with chunked transfer encoding unless its length
+ * is known upfront, while any other body is buffered as usual and sent with a {@code Content-Length}. The given
+ * request factory must not buffer request bodies itself.
+ */
+@RequiredArgsConstructor
+public class StreamingClientHttpRequestFactory implements ClientHttpRequestFactory {
+
+    private final ClientHttpRequestFactory requestFactory;
+
+    @Override
+    public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) throws IOException {
+        return new StreamingClientHttpRequest(uri, httpMethod);
+    }
+
+    @RequiredArgsConstructor
+    private class StreamingClientHttpRequest extends AbstractClientHttpRequest implements StreamingHttpOutputMessage {
+
+        private final URI uri;
+        @Getter
+        private final HttpMethod method;
+
+        private ByteArrayOutputStream bufferedOutput;
+        private Body body;
+
+        @Override
+        public URI getURI() {
+            return uri;
+        }
+
+        @Override
+        public void setBody(Body body) {
+            this.body = body;
+        }
+
+        @Override
+        protected OutputStream getBodyInternal(HttpHeaders headers) {
+            if (bufferedOutput == null) {
+                bufferedOutput = new ByteArrayOutputStream(1024);
+            }
+            return bufferedOutput;
+        }
+
+        @Override
+        protected ClientHttpResponse executeInternal(HttpHeaders headers) throws IOException {
+            ClientHttpRequest request = requestFactory.createRequest(uri, method);
+            request.getHeaders().putAll(headers);
+            if (body instanceof StreamingRequestBody) {
+                write(request, body);
+            } else if (body != null || bufferedOutput != null) {
+                ByteArrayOutputStream output = bufferedOutput != null ? bufferedOutput : new ByteArrayOutputStream(1024);
+                if (body != null) {
+                    body.writeTo(output);
+                }
+                byte[] bytes = output.toByteArray();
+                if (request.getHeaders().getContentLength() < 0) {
+                    request.getHeaders().setContentLength(bytes.length);
+                }
+                write(request, outputStream -> outputStream.write(bytes));
+            }
+            return request.execute();
+        }
+
+        private void write(ClientHttpRequest request, Body body) throws IOException {
+            if (request instanceof StreamingHttpOutputMessage) {
+                ((StreamingHttpOutputMessage) request).setBody(body);
+            } else {
+                body.writeTo(request.getBody());
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,51 @@
+package io.github.polysantiago.spring.rest.transport;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.client.AsyncClientHttpRequestFactory;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.scheduling.concurrent.ConcurrentTaskExecutor;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * {@link AsyncRestClientTransport} executing blocking {@code HttpURLConnection} requests on one virtual thread per
+ * request, so that slow requests in flight do not hold any platform thread. Requires Java 21 or later, the executor
+ * is looked up reflectively as the library targets Java 8.
+ */
+public class VirtualThreadAsyncRestClientTransport implements AsyncRestClientTransport, DisposableBean {
+
+    private static final String VIRTUAL_THREAD_EXECUTOR_FACTORY = "newVirtualThreadPerTaskExecutor";
+
+    private final ExecutorService executorService = newVirtualThreadPerTaskExecutor();
+
+    @Override
+    public AsyncClientHttpRequestFactory createAsyncRequestFactory(PoolSettings poolSettings) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setTaskExecutor(new ConcurrentTaskExecutor(executorService));
+        return requestFactory;
+    }
+
+    @Override
+    public Executor getTaskExecutor() {
+        return executorService;
+    }
+
+    @Override
+    public void destroy() {
+        executorService.shutdown();
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        Method factory = ReflectionUtils.findMethod(Executors.class, VIRTUAL_THREAD_EXECUTOR_FACTORY);
+        if (factory == null) {
+            throw new IllegalStateException("Executor type 'virtual' requires Java 21 or later, running on Java " +
+                System.getProperty("java.version"));
+        }
+        return (ExecutorService) ReflectionUtils.invokeMethod(factory, null);
+    }
+
+}
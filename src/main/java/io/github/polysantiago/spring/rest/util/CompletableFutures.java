@@ -0,0 +1,29 @@
+package io.github.polysantiago.spring.rest.util;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+@UtilityClass
+public class CompletableFutures {
+
+    /**
+     * Waits for the given future and returns its result, rethrowing its unchecked exception as is.
+     */
+    public static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw ex;
+        }
+    }
+
+}
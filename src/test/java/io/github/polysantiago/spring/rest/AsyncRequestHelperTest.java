@@ -0,0 +1,218 @@
+package io.github.polysantiago.spring.rest;
+
+import io.github.polysantiago.spring.rest.circuitbreaker.CircuitBreakerOpenException;
+import io.github.polysantiago.spring.rest.limiter.Bulkhead;
+import io.github.polysantiago.spring.rest.limiter.BulkheadSettings;
+import io.github.polysantiago.spring.rest.limiter.RateLimitSettings;
+import io.github.polysantiago.spring.rest.limiter.RateLimiter;
+import io.github.polysantiago.spring.rest.retry.AsyncRetryScheduler;
+import io.github.polysantiago.spring.rest.support.CallPermit;
+import io.github.polysantiago.spring.rest.support.RestClientScheduler;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.*;
+import org.springframework.util.concurrent.SettableListenableFuture;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.client.AsyncRestTemplate;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.net.URI;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class AsyncRequestHelperTest {
+
+    interface FooClient {
+
+        @GetMapping
+        CompletableFuture<Foo> foo();
+
+        @GetMapping
+        CompletableFuture<Optional<Foo>> optionalFoo();
+
+    }
+
+    private static final URI URL = URI.create("http://localhost");
+
+    private final SettableListenableFuture<ResponseEntity<Object>> listenableFuture = new SettableListenableFuture<>();
+
+    private AsyncRestTemplate asyncRestTemplate;
+
+    private AsyncRequestHelper asyncRequestHelper;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        asyncRestTemplate = mock(AsyncRestTemplate.class);
+        when(asyncRestTemplate.exchange(eq(URL), eq(HttpMethod.GET), any(HttpEntity.class), any(ParameterizedTypeReference.class)))
+            .thenReturn(listenableFuture);
+        asyncRequestHelper = new AsyncRequestHelper(new RestClientSpecification(), asyncRestTemplate);
+    }
+
+    @Test
+    public void testCompletesWithBody() throws Exception {
+        CompletableFuture<?> future = execute("foo");
+
+        listenableFuture.set(ResponseEntity.ok(new Foo("bar")));
+
+        assertThat(future.get()).isEqualTo(new Foo("bar"));
+    }
+
+    @Test
+    public void testCompletesExceptionally() throws Exception {
+        CompletableFuture<?> future = execute("foo");
+
+        listenableFuture.setException(new HttpClientErrorException(HttpStatus.BAD_REQUEST));
+
+        assertThatThrownBy(future::get)
+            .isInstanceOf(ExecutionException.class)
+            .hasCauseInstanceOf(HttpClientErrorException.class);
+    }
+
+    @Test
+    public void testCompletesWithEmptyOptionalOnNotFound() throws Exception {
+        CompletableFuture<?> future = execute("optionalFoo");
+
+        listenableFuture.setException(new HttpClientErrorException(HttpStatus.NOT_FOUND));
+
+        assertThat(future.get()).isEqualTo(Optional.empty());
+    }
+
+    @Test
+    public void testCancelPropagates() throws Exception {
+        CompletableFuture<?> future = execute("foo");
+
+        future.cancel(true);
+
+        assertThat(listenableFuture.isCancelled()).isTrue();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testCancelDuringBackOffStopsRetries() throws Exception {
+        AsyncRetryScheduler retryScheduler = mock(AsyncRetryScheduler.class);
+        when(retryScheduler.getMaxAttempts()).thenReturn(3);
+        asyncRequestHelper = new AsyncRequestHelper(new RestClientSpecification("foo",
+            new HttpStatus[]{HttpStatus.SERVICE_UNAVAILABLE}, new Class[0]), asyncRestTemplate);
+        asyncRequestHelper.setRetryScheduler(retryScheduler);
+
+        CompletableFuture<?> future = execute("foo");
+        listenableFuture.setException(new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE));
+
+        ArgumentCaptor<Runnable> retry = ArgumentCaptor.forClass(Runnable.class);
+        verify(retryScheduler).schedule(retry.capture(), anyLong());
+
+        future.cancel(true);
+        retry.getValue().run();
+
+        verify(asyncRestTemplate, times(1))
+            .exchange(eq(URL), eq(HttpMethod.GET), any(HttpEntity.class), any(ParameterizedTypeReference.class));
+        assertThat(future.isCancelled()).isTrue();
+    }
+
+    @Test
+    public void testEachRetryAttemptIsGuarded() throws Exception {
+        AsyncRetryScheduler retryScheduler = mock(AsyncRetryScheduler.class);
+        when(retryScheduler.getMaxAttempts()).thenReturn(3);
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArguments()[0]).run();
+            return null;
+        }).when(retryScheduler).schedule(any(Runnable.class), anyLong());
+        asyncRequestHelper = new AsyncRequestHelper(new RestClientSpecification("foo",
+            new HttpStatus[]{HttpStatus.SERVICE_UNAVAILABLE}, new Class[0]), asyncRestTemplate);
+        asyncRequestHelper.setRetryScheduler(retryScheduler);
+        CallPermit permit = mock(CallPermit.class);
+        AtomicInteger attempts = new AtomicInteger();
+        CallGuard callGuard = new CallGuard(singletonList(() -> {
+            if (attempts.incrementAndGet() > 1) {
+                throw new CircuitBreakerOpenException("foo");
+            }
+            return permit;
+        }));
+
+        CompletableFuture<?> future = execute("foo", callGuard);
+        HttpServerErrorException error = new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE);
+        listenableFuture.setException(error);
+
+        assertThatThrownBy(future::get).hasCauseInstanceOf(CircuitBreakerOpenException.class);
+        verify(permit).onError(error);
+        assertThat(attempts.get()).isEqualTo(2);
+        verify(asyncRestTemplate, times(1))
+            .exchange(eq(URL), eq(HttpMethod.GET), any(HttpEntity.class), any(ParameterizedTypeReference.class));
+    }
+
+    @Test
+    public void testCancelReleasesPermitWithoutRecording() throws Exception {
+        CallPermit permit = mock(CallPermit.class);
+
+        execute("foo", new CallGuard(singletonList(() -> permit))).cancel(true);
+
+        assertThat(listenableFuture.isCancelled()).isTrue();
+        verify(permit).release();
+        verify(permit, never()).onSuccess();
+        verify(permit, never()).onError(any(Throwable.class));
+    }
+
+    @Test
+    public void testRateLimitedAttemptWaitingForBulkheadDoesNotHoldScheduler() throws Exception {
+        RestClientScheduler scheduler = new RestClientScheduler();
+        asyncRequestHelper.setScheduler(scheduler);
+        RateLimitSettings rateLimitSettings = new RateLimitSettings();
+        rateLimitSettings.setMaxWait(1000);
+        BulkheadSettings bulkheadSettings = new BulkheadSettings();
+        bulkheadSettings.setMaxConcurrentCalls(1);
+        bulkheadSettings.setMaxWait(5000);
+        Bulkhead bulkhead = new Bulkhead("foo", bulkheadSettings);
+        CallGuard callGuard = new CallGuard(emptyList(),
+            singletonList(new RateLimiter("foo", rateLimitSettings)), singletonList(bulkhead::acquirePermit));
+
+        try {
+            CompletableFuture<?> first = execute("foo", callGuard);
+            // Sent once its rate permit is due, then waits for the slot of the first one
+            CompletableFuture<?> second = execute("foo", callGuard);
+
+            CountDownLatch timer = new CountDownLatch(1);
+            scheduler.schedule(timer::countDown, 200, TimeUnit.MILLISECONDS);
+            assertThat(timer.await(1, TimeUnit.SECONDS)).isTrue();
+            assertThat(second).isNotDone();
+
+            listenableFuture.set(ResponseEntity.ok(new Foo("bar")));
+
+            assertThat(first.get()).isEqualTo(new Foo("bar"));
+            assertThat(second.get(1, TimeUnit.SECONDS)).isEqualTo(new Foo("bar"));
+        } finally {
+            scheduler.destroy();
+        }
+    }
+
+    private CompletableFuture<?> execute(String methodName) throws Exception {
+        return execute(methodName, CallGuard.NONE);
+    }
+
+    private CompletableFuture<?> execute(String methodName, CallGuard callGuard) throws Exception {
+        ResponseStrategy strategy = ResponseStrategy.from(FooClient.class.getMethod(methodName), FooClient.class);
+        return asyncRequestHelper.executeCompletableRequest(strategy, new RequestEntity<>(HttpMethod.GET, URL), callGuard);
+    }
+
+}
@@ -0,0 +1,87 @@
+package io.github.polysantiago.spring.rest;
+
+import io.github.polysantiago.spring.rest.limiter.RateLimitSettings;
+import io.github.polysantiago.spring.rest.limiter.RateLimiter;
+import io.github.polysantiago.spring.rest.support.CallPermit;
+import org.junit.Test;
+import org.springframework.web.client.RestClientException;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class CallGuardTest {
+
+    private final CallPermit first = mock(CallPermit.class);
+
+    private final CallPermit second = mock(CallPermit.class);
+
+    @Test
+    public void testRecordsOutcomeOnAllPermits() throws Exception {
+        CallGuard callGuard = new CallGuard(Arrays.asList(() -> first, () -> second));
+
+        IOException error = new IOException();
+        callGuard.acquirePermit().onError(error);
+
+        verify(first).onError(error);
+        verify(second).onError(error);
+    }
+
+    @Test
+    public void testRecordsErrorThrownByExchange() throws Exception {
+        CallGuard callGuard = new CallGuard(Arrays.asList(() -> first, () -> second));
+
+        StackOverflowError error = new StackOverflowError();
+        assertThat(catchThrowable(() -> callGuard.execute(() -> {
+            throw error;
+        }))).isSameAs(error);
+
+        verify(first).onError(error);
+        verify(second).onError(error);
+    }
+
+    @Test
+    public void testReleasesAcquiredPermitsOnRejection() throws Exception {
+        CallGuard callGuard = new CallGuard(Arrays.asList(() -> first, () -> {
+            throw new RestClientException("Rejected");
+        }, () -> second));
+
+        assertThat(catchThrowable(callGuard::acquirePermit)).isInstanceOf(RestClientException.class);
+
+        verify(first).release();
+        verify(second, never()).release();
+    }
+
+    @Test
+    public void testRefundsRateLimitOnRejection() throws Exception {
+        RateLimiter rateLimiter = new RateLimiter("foo", new RateLimitSettings());
+        CallGuard callGuard = new CallGuard(Collections.singletonList(() -> first),
+            Collections.singletonList(rateLimiter), Collections.singletonList(() -> {
+            throw new RestClientException("Rejected");
+        }));
+
+        assertThat(catchThrowable(callGuard::acquirePermit)).isInstanceOf(RestClientException.class);
+
+        verify(first).release();
+        assertThat(rateLimiter.reservePermit()).isZero();
+    }
+
+    @Test
+    public void testCancelledReservationRefundsRateLimit() throws Exception {
+        RateLimiter rateLimiter = new RateLimiter("foo", new RateLimitSettings());
+        CallGuard callGuard = new CallGuard(Collections.emptyList(), Collections.singletonList(rateLimiter),
+            Collections.singletonList(() -> second));
+
+        callGuard.reserve().cancel();
+
+        verify(second, never()).release();
+        assertThat(rateLimiter.reservePermit()).isZero();
+    }
+
+}
@@ -0,0 +1,31 @@
+package io.github.polysantiago.spring.rest;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LatencyTrackerTest {
+
+    @Test
+    public void testUnknownUntilEnoughSamples() throws Exception {
+        LatencyTracker tracker = new LatencyTracker(95);
+        for (int i = 1; i < LatencyTracker.MIN_SAMPLES; i++) {
+            tracker.record(i);
+        }
+        assertThat(tracker.getPercentileNanos()).isEqualTo(-1);
+
+        tracker.record(LatencyTracker.MIN_SAMPLES);
+        assertThat(tracker.getPercentileNanos()).isEqualTo(19);
+    }
+
+    @Test
+    public void testPercentileOfRecentSamples() throws Exception {
+        LatencyTracker tracker = new LatencyTracker(99);
+        for (int i = 1; i <= 128; i++) {
+            tracker.record(i % 2 == 0 ? 10 : 1000);
+        }
+
+        assertThat(tracker.getPercentileNanos()).isEqualTo(1000);
+    }
+
+}
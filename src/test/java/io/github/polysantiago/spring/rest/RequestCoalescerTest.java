@@ -0,0 +1,89 @@
+package io.github.polysantiago.spring.rest;
+
+import org.junit.Test;
+import org.springframework.http.RequestEntity;
+
+import java.net.URI;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class RequestCoalescerTest {
+
+    private static final RequestEntity<?> REQUEST = RequestEntity.get(URI.create("http://localhost/foo")).build();
+
+    private final RequestCoalescer coalescer = new RequestCoalescer();
+
+    private final AtomicInteger exchanges = new AtomicInteger();
+
+    @Test
+    public void testConcurrentCallersShareOneExchange() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Object> leader = executor.submit(() -> coalescer.execute(REQUEST, () -> {
+                started.countDown();
+                await(release);
+                return exchanges.incrementAndGet();
+            }));
+            started.await();
+            Future<Object> follower = executor.submit(() -> coalescer.execute(REQUEST, exchanges::incrementAndGet));
+            Thread.sleep(50);
+            release.countDown();
+
+            assertThat(leader.get()).isEqualTo(1);
+            assertThat(follower.get()).isEqualTo(1);
+            assertThat(exchanges.get()).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testSequentialCallersDoNotShare() throws Exception {
+        coalescer.execute(REQUEST, exchanges::incrementAndGet);
+        coalescer.execute(REQUEST, exchanges::incrementAndGet);
+
+        assertThat(exchanges.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void testFailureIsPropagated() throws Exception {
+        assertThatThrownBy(() -> coalescer.execute(REQUEST, () -> {
+            throw new IllegalStateException();
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(coalescer.execute(REQUEST, exchanges::incrementAndGet)).isEqualTo(1);
+    }
+
+    @Test
+    public void testAsyncCallersShareOneExchange() throws Exception {
+        CompletableFuture<Object> exchange = new CompletableFuture<>();
+
+        CompletableFuture<?> leader = coalescer.executeAsync(REQUEST, () -> {
+            exchanges.incrementAndGet();
+            return exchange;
+        });
+        CompletableFuture<?> follower = coalescer.executeAsync(REQUEST, () -> {
+            exchanges.incrementAndGet();
+            return new CompletableFuture<>();
+        });
+        follower.cancel(true);
+        exchange.complete("foo");
+
+        assertThat(leader.get()).isEqualTo("foo");
+        assertThat(exchanges.get()).isEqualTo(1);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
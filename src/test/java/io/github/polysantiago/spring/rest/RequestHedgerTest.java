@@ -0,0 +1,181 @@
+package io.github.polysantiago.spring.rest;
+
+import io.github.polysantiago.spring.rest.support.RestClientScheduler;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class RequestHedgerTest {
+
+    interface FooClient {
+
+        @Hedged(after = "20")
+        String fixed();
+
+        @Hedged(after = "20", maxExtra = 2)
+        String twice();
+
+        @Hedged
+        String percentile();
+
+        @Hedged(after = "p50")
+        String median();
+
+    }
+
+    private final RestClientScheduler scheduler = new RestClientScheduler();
+
+    private final BlockingQueue<CompletableFuture<Object>> attempts = new LinkedBlockingQueue<>();
+
+    @After
+    public void tearDown() throws Exception {
+        scheduler.destroy();
+    }
+
+    @Test
+    public void testHedgesSlowRequest() throws Exception {
+        CompletableFuture<?> call = hedger("fixed").execute(this::attempt);
+        CompletableFuture<Object> first = nextAttempt();
+        CompletableFuture<Object> second = nextAttempt();
+
+        second.complete("second");
+
+        assertThat(call.get(1, TimeUnit.SECONDS)).isEqualTo("second");
+        assertThat(awaitCancelled(first)).isCancelled();
+    }
+
+    @Test
+    public void testDoesNotHedgeFastRequest() throws Exception {
+        CompletableFuture<?> call = hedger("fixed").execute(this::attempt);
+        nextAttempt().complete("first");
+
+        assertThat(call.get(1, TimeUnit.SECONDS)).isEqualTo("first");
+        assertThat(attempts.poll(100, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    public void testSendsUpToMaxExtraRequests() throws Exception {
+        CompletableFuture<?> call = hedger("twice").execute(this::attempt);
+        CompletableFuture<Object> first = nextAttempt();
+        CompletableFuture<Object> second = nextAttempt();
+        CompletableFuture<Object> third = nextAttempt();
+        assertThat(attempts.poll(100, TimeUnit.MILLISECONDS)).isNull();
+
+        first.complete("first");
+
+        assertThat(call.get(1, TimeUnit.SECONDS)).isEqualTo("first");
+        assertThat(second).isCancelled();
+        assertThat(third).isCancelled();
+    }
+
+    @Test
+    public void testFailsOnceNoRequestIsInFlight() throws Exception {
+        CompletableFuture<?> call = hedger("fixed").execute(this::attempt);
+        CompletableFuture<Object> first = nextAttempt();
+        CompletableFuture<Object> second = nextAttempt();
+
+        first.completeExceptionally(new ResourceAccessException("Connection reset"));
+        assertThat(call).isNotDone();
+
+        second.completeExceptionally(new ResourceAccessException("Connection reset"));
+        assertThat(catchThrowable(call::join))
+            .isInstanceOf(CompletionException.class)
+            .hasCauseInstanceOf(ResourceAccessException.class);
+    }
+
+    @Test
+    public void testDoesNotHedgeFailedRequest() throws Exception {
+        CompletableFuture<?> call = hedger("fixed").execute(this::attempt);
+        nextAttempt().completeExceptionally(new ResourceAccessException("Connection refused"));
+
+        assertThat(call).isCompletedExceptionally();
+        assertThat(attempts.poll(100, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    public void testPercentileRequiresSamples() throws Exception {
+        RequestHedger hedger = hedger("percentile");
+        for (int i = 0; i < LatencyTracker.MIN_SAMPLES; i++) {
+            CompletableFuture<?> call = hedger.execute(this::attempt);
+            nextAttempt().complete("fast");
+            call.join();
+        }
+        assertThat(attempts.poll(100, TimeUnit.MILLISECONDS)).isNull();
+
+        CompletableFuture<?> call = hedger.execute(this::attempt);
+        nextAttempt();
+        nextAttempt().complete("hedged");
+
+        assertThat(call.get(1, TimeUnit.SECONDS)).isEqualTo("hedged");
+    }
+
+    @Test
+    public void testPercentileDoesNotFallWhenHedgesWin() throws Exception {
+        RequestHedger hedger = hedger("median");
+        for (int i = 0; i < LatencyTracker.MIN_SAMPLES; i++) {
+            CompletableFuture<?> call = hedger.execute(this::attempt);
+            CompletableFuture<Object> attempt = nextAttempt();
+            Thread.sleep(20);
+            attempt.complete("slow");
+            call.join();
+        }
+        long delayNanos = hedger.getDelayNanos();
+        assertThat(delayNanos).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(20));
+
+        // Up to the next estimate, answered right away by hedges while the first requests never are
+        for (int i = LatencyTracker.MIN_SAMPLES; i < 64; i++) {
+            CompletableFuture<?> call = hedger.execute(this::attempt);
+            nextAttempt();
+            nextAttempt().complete("hedged");
+            call.join();
+        }
+
+        assertThat(hedger.getDelayNanos()).isGreaterThanOrEqualTo(delayNanos);
+    }
+
+    @Test
+    public void testValidDelays() throws Exception {
+        assertThat(RequestHedger.isValidDelay("p95")).isTrue();
+        assertThat(RequestHedger.isValidDelay("p99.9")).isTrue();
+        assertThat(RequestHedger.isValidDelay("50")).isTrue();
+        assertThat(RequestHedger.isValidDelay("p100")).isFalse();
+        assertThat(RequestHedger.isValidDelay("50ms")).isFalse();
+    }
+
+    private RequestHedger hedger(String methodName) throws Exception {
+        Hedged hedged = AnnotationUtils.findAnnotation(FooClient.class.getMethod(methodName), Hedged.class);
+        return new RequestHedger(hedged, scheduler);
+    }
+
+    private CompletableFuture<?> attempt() {
+        CompletableFuture<Object> attempt = new CompletableFuture<>();
+        attempts.add(attempt);
+        return attempt;
+    }
+
+    private static CompletableFuture<Object> awaitCancelled(CompletableFuture<Object> attempt) throws InterruptedException {
+        // Losers are cancelled by the thread completing the call, right after completing it
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (!attempt.isCancelled() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        return attempt;
+    }
+
+    private CompletableFuture<Object> nextAttempt() throws InterruptedException {
+        CompletableFuture<Object> attempt = attempts.poll(1, TimeUnit.SECONDS);
+        assertThat(attempt).isNotNull();
+        return attempt;
+    }
+
+}
@@ -0,0 +1,186 @@
+package io.github.polysantiago.spring.rest;
+
+import io.github.polysantiago.spring.rest.ResponseStrategy.Dispatch;
+import io.github.polysantiago.spring.rest.ResponseStrategy.Kind;
+import org.junit.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.hateoas.PagedResources;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.concurrent.ListenableFuture;
+import org.springframework.web.bind.annotation.GetMapping;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ResponseStrategyTest {
+
+    interface FooParent<T> {
+
+        @GetMapping
+        List<T> list();
+
+        @GetMapping
+        ResponseEntity<T> entity();
+
+        @GetMapping
+        CompletableFuture<Optional<T>> optional();
+
+        @GetMapping
+        ListenableFuture<T> listenable();
+
+        @PostForLocation
+        URI location();
+
+        @GetMapping
+        Mono<T> mono();
+
+        @GetMapping
+        Flux<T> flux();
+
+        @GetMapping
+        Stream<T> stream();
+
+        @GetMapping
+        Iterator<T> iterator();
+
+        @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+        Stream<T> events();
+
+        @GetMapping(produces = "application/x-ndjson")
+        Flux<T> ndjson();
+
+        @Paginated
+        @GetMapping
+        Iterable<T> paginated();
+
+        @Paginated
+        @GetMapping
+        List<T> invalidPaginated();
+
+        @GetMapping
+        Path download();
+
+        @GetMapping
+        void downloadTo(WritableByteChannel channel);
+
+        @GetMapping
+        String invalidDownload(@ResponseTarget Path path);
+
+        @PostForLocation
+        String invalidLocation();
+
+    }
+
+    interface FooClient extends FooParent<Foo> {
+
+    }
+
+    @Test
+    public void testBody() throws Exception {
+        assertStrategy("list", Dispatch.SYNC, Kind.BODY, ResolvableType.forClassWithGenerics(List.class, Foo.class));
+    }
+
+    @Test
+    public void testMono() throws Exception {
+        assertStrategy("mono", Dispatch.MONO, Kind.BODY, ResolvableType.forClass(Foo.class));
+    }
+
+    @Test
+    public void testFlux() throws Exception {
+        assertStrategy("flux", Dispatch.FLUX, Kind.BODY, ResolvableType.forClassWithGenerics(List.class, Foo.class));
+    }
+
+    @Test
+    public void testStream() throws Exception {
+        assertStrategy("stream", Dispatch.STREAM, Kind.BODY, ResolvableType.forClass(Foo.class));
+    }
+
+    @Test
+    public void testIterator() throws Exception {
+        assertStrategy("iterator", Dispatch.ITERATOR, Kind.BODY, ResolvableType.forClass(Foo.class));
+    }
+
+    @Test
+    public void testEvents() throws Exception {
+        assertStrategy("events", Dispatch.STREAM, Kind.EVENTS, ResolvableType.forClass(Foo.class));
+    }
+
+    @Test
+    public void testNdjson() throws Exception {
+        assertStrategy("ndjson", Dispatch.FLUX, Kind.EVENTS, ResolvableType.forClass(Foo.class));
+    }
+
+    @Test
+    public void testPaginated() throws Exception {
+        assertStrategy("paginated", Dispatch.ITERABLE, Kind.PAGES, ResolvableType.forClassWithGenerics(PagedResources.class, Foo.class));
+    }
+
+    @Test
+    public void testDownload() throws Exception {
+        assertStrategy("download", Dispatch.DOWNLOAD, Kind.BODY, ResolvableType.forClass(Object.class));
+    }
+
+    @Test
+    public void testDownloadToChannel() throws Exception {
+        assertStrategy("downloadTo", Dispatch.DOWNLOAD, Kind.BODY, ResolvableType.forClass(Object.class),
+            WritableByteChannel.class);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testDownloadMustReturnVoidOrPath() throws Exception {
+        ResponseStrategy.from(FooClient.class.getMethod("invalidDownload", Path.class), FooClient.class);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testPaginatedMustReturnStreamIteratorOrIterable() throws Exception {
+        ResponseStrategy.from(FooClient.class.getMethod("invalidPaginated"), FooClient.class);
+    }
+
+    @Test
+    public void testEntity() throws Exception {
+        assertStrategy("entity", Dispatch.SYNC, Kind.ENTITY, ResolvableType.forClass(Foo.class));
+    }
+
+    @Test
+    public void testCompletableFutureOptional() throws Exception {
+        assertStrategy("optional", Dispatch.COMPLETABLE_FUTURE, Kind.OPTIONAL, ResolvableType.forClassWithGenerics(Optional.class, Foo.class));
+    }
+
+    @Test
+    public void testListenableFuture() throws Exception {
+        assertStrategy("listenable", Dispatch.LISTENABLE_FUTURE, Kind.BODY, ResolvableType.forClass(Foo.class));
+    }
+
+    @Test
+    public void testLocation() throws Exception {
+        assertStrategy("location", Dispatch.SYNC, Kind.LOCATION, ResolvableType.forClass(Object.class));
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testLocationMustReturnUri() throws Exception {
+        ResponseStrategy.from(FooClient.class.getMethod("invalidLocation"), FooClient.class);
+    }
+
+    private static void assertStrategy(String methodName, Dispatch dispatch, Kind kind, ResolvableType responseType,
+                                       Class<?>... parameterTypes) throws Exception {
+        ResponseStrategy strategy = ResponseStrategy.from(FooClient.class.getMethod(methodName, parameterTypes), FooClient.class);
+
+        assertThat(strategy.getDispatch()).isEqualTo(dispatch);
+        assertThat(strategy.getKind()).isEqualTo(kind);
+        ResolvableType actualResponseType = ResolvableType.forType(strategy.getResponseType().getType());
+        assertThat(actualResponseType.resolve()).isEqualTo(responseType.resolve());
+        assertThat(actualResponseType.getGeneric(0).resolve()).isEqualTo(responseType.getGeneric(0).resolve());
+    }
+
+}
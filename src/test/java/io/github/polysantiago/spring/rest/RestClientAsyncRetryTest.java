@@ -0,0 +1,120 @@
+package io.github.polysantiago.spring.rest;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.retry.annotation.EnableRetry;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.util.concurrent.ListenableFuture;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.client.AsyncRestTemplate;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.client.MockRestServiceServer.createServer;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.*;
+
+@ActiveProfiles("test")
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = "spring.rest.client.retry.back-off.delay:10")
+public class RestClientAsyncRetryTest {
+
+    @Autowired
+    private AsyncFooClient fooClient;
+
+    @Autowired
+    private AsyncRestTemplate asyncRestTemplate;
+
+    private MockRestServiceServer asyncServer;
+
+    @Configuration
+    @EnableRestClients(basePackageClasses = AsyncFooClient.class)
+    @EnableRetry
+    protected static class TestConfiguration extends AbstractRestClientAsyncTest.BaseTestConfiguration {
+
+    }
+
+    @RestClient(value = "localhost", url = "${localhost.uri}")
+    interface AsyncFooClient {
+
+        @RequestMapping("/retry")
+        CompletableFuture<String> foo();
+
+        @RequestMapping("/retry")
+        ListenableFuture<String> listenableFoo();
+
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        asyncServer = createServer(asyncRestTemplate);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        asyncServer.verify();
+    }
+
+    @Test
+    public void testRetry() throws Exception {
+        asyncServer.expect(requestTo("http://localhost/retry"))
+            .andExpect(method(HttpMethod.GET))
+            .andRespond(withStatus(HttpStatus.SERVICE_UNAVAILABLE));
+
+        asyncServer.expect(requestTo("http://localhost/retry"))
+            .andExpect(method(HttpMethod.GET))
+            .andRespond(withSuccess("success", MediaType.TEXT_PLAIN));
+
+        assertThat(fooClient.foo().get()).isEqualTo("success");
+    }
+
+    @Test
+    public void testRetryListenableFuture() throws Exception {
+        asyncServer.expect(requestTo("http://localhost/retry"))
+            .andRespond(withStatus(HttpStatus.SERVICE_UNAVAILABLE));
+
+        asyncServer.expect(requestTo("http://localhost/retry"))
+            .andRespond(withSuccess("success", MediaType.TEXT_PLAIN));
+
+        assertThat(fooClient.listenableFoo().get()).isEqualTo("success");
+    }
+
+    @Test
+    public void testShouldNotRetry() throws Exception {
+        asyncServer.expect(requestTo("http://localhost/retry"))
+            .andRespond(withServerError());
+
+        assertThatThrownBy(() -> fooClient.foo().get())
+            .isInstanceOf(ExecutionException.class)
+            .hasCauseInstanceOf(HttpServerErrorException.class);
+    }
+
+    @Test
+    public void testMaxAttempts() throws Exception {
+        asyncServer.expect(requestTo("http://localhost/retry"))
+            .andRespond(withStatus(HttpStatus.SERVICE_UNAVAILABLE));
+
+        asyncServer.expect(requestTo("http://localhost/retry"))
+            .andRespond(withStatus(HttpStatus.SERVICE_UNAVAILABLE));
+
+        assertThatThrownBy(() -> fooClient.foo().get())
+            .isInstanceOf(ExecutionException.class)
+            .hasCauseInstanceOf(HttpServerErrorException.class);
+    }
+
+}
@@ -0,0 +1,146 @@
+package io.github.polysantiago.spring.rest;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.client.AsyncRestTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.springframework.test.web.client.MockRestServiceServer.createServer;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.content;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+@ActiveProfiles("test")
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = "spring.rest.client.services.batched.bulkhead.max-concurrent-calls:1")
+public class RestClientBatchedTest {
+
+    @Configuration
+    @EnableRestClients(basePackageClasses = BatchedFooClient.class)
+    protected static class TestConfiguration extends AbstractRestClientAsyncTest.BaseTestConfiguration {
+
+    }
+
+    @RestClient(value = "batched", url = "${localhost.uri}")
+    interface BatchedFooClient {
+
+        @Batched(endpoint = "/foos:batchGet", maxDelay = 50)
+        @GetMapping("/foos/{id}")
+        CompletableFuture<String> getFoo(@PathVariable("id") String id);
+
+        @Batched(endpoint = "/foos:batchGet", maxDelay = 50)
+        @GetMapping("/foos/{id}")
+        String getFooSync(@PathVariable("id") String id);
+
+        @Batched(endpoint = "/foos:batchGet", maxSize = 2, maxDelay = 1, timeUnit = TimeUnit.MINUTES)
+        @GetMapping("/foos/{id}")
+        CompletableFuture<String> getFooEagerly(@PathVariable("id") String id);
+
+    }
+
+    @Autowired
+    private BatchedFooClient fooClient;
+
+    @Autowired
+    private AsyncRestTemplate asyncRestTemplate;
+
+    private MockRestServiceServer asyncServer;
+
+    @Before
+    public void setUp() throws Exception {
+        asyncServer = createServer(asyncRestTemplate);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        asyncServer.verify();
+    }
+
+    @Test
+    public void testBatched() throws Exception {
+        asyncServer.expect(requestTo("http://localhost/foos:batchGet"))
+            .andExpect(method(HttpMethod.POST))
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+            .andExpect(content().string("[\"1\",\"2\"]"))
+            .andRespond(withSuccess("[\"foo\",\"bar\"]", MediaType.APPLICATION_JSON));
+
+        CompletableFuture<String> first = fooClient.getFoo("1");
+        CompletableFuture<String> second = fooClient.getFoo("2");
+        CompletableFuture<String> duplicate = fooClient.getFoo("1");
+
+        assertThat(first.get()).isEqualTo("foo");
+        assertThat(second.get()).isEqualTo("bar");
+        assertThat(duplicate.get()).isEqualTo("foo");
+    }
+
+    @Test
+    public void testBatchedCallersShareBulkheadSlot() throws Exception {
+        asyncServer.expect(requestTo("http://localhost/foos:batchGet"))
+            .andExpect(content().string("[\"8\",\"9\",\"10\"]"))
+            .andRespond(withSuccess("[\"foo\",\"bar\",\"baz\"]", MediaType.APPLICATION_JSON));
+
+        // Only the batch request takes the single slot, not each caller waiting for it
+        CompletableFuture<String> first = fooClient.getFoo("8");
+        CompletableFuture<String> second = fooClient.getFoo("9");
+        CompletableFuture<String> third = fooClient.getFoo("10");
+
+        assertThat(first.get()).isEqualTo("foo");
+        assertThat(second.get()).isEqualTo("bar");
+        assertThat(third.get()).isEqualTo("baz");
+    }
+
+    @Test
+    public void testSingleKeySentAsOwnRequest() throws Exception {
+        asyncServer.expect(requestTo("http://localhost/foos/3"))
+            .andExpect(method(HttpMethod.GET))
+            .andRespond(withSuccess("foo", MediaType.TEXT_PLAIN));
+
+        assertThat(fooClient.getFooSync("3")).isEqualTo("foo");
+    }
+
+    @Test
+    public void testFullBatchSentImmediately() throws Exception {
+        asyncServer.expect(requestTo("http://localhost/foos:batchGet"))
+            .andExpect(content().string("[\"4\",\"5\"]"))
+            .andRespond(withSuccess("[\"foo\",\"bar\"]", MediaType.APPLICATION_JSON));
+
+        CompletableFuture<String> first = fooClient.getFooEagerly("4");
+        CompletableFuture<String> second = fooClient.getFooEagerly("5");
+
+        assertThat(first.get(1, TimeUnit.SECONDS)).isEqualTo("foo");
+        assertThat(second.get(1, TimeUnit.SECONDS)).isEqualTo("bar");
+    }
+
+    @Test
+    public void testMismatchedBatchResponseFailsCallers() throws Exception {
+        asyncServer.expect(requestTo("http://localhost/foos:batchGet"))
+            .andRespond(withSuccess("[\"foo\"]", MediaType.APPLICATION_JSON));
+
+        CompletableFuture<String> first = fooClient.getFoo("6");
+        CompletableFuture<String> second = fooClient.getFoo("7");
+
+        assertThat(catchThrowable(first::get)).isInstanceOf(ExecutionException.class)
+            .hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(catchThrowable(second::get)).isInstanceOf(ExecutionException.class)
+            .hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+}
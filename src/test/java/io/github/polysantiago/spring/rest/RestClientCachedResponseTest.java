@@ -0,0 +1,113 @@
+package io.github.polysantiago.spring.rest;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.client.AsyncRestTemplate;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.MockRestServiceServer.createServer;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+@ActiveProfiles("test")
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class RestClientCachedResponseTest {
+
+    @Configuration
+    @EnableRestClients(basePackageClasses = CachedFooClient.class)
+    protected static class TestConfiguration extends AbstractRestClientAsyncTest.BaseTestConfiguration {
+
+    }
+
+    @RestClient(value = "localhost", url = "${localhost.uri}")
+    interface CachedFooClient {
+
+        @CachedResponse(ttl = 1, timeUnit = TimeUnit.MINUTES)
+        @GetMapping("/cached/{id}")
+        String getFoo(@PathVariable("id") String id);
+
+        @CachedResponse(ttl = 1, timeUnit = TimeUnit.MINUTES)
+        @GetMapping("/cached/{id}")
+        CompletableFuture<String> getFooAsync(@PathVariable("id") String id);
+
+        @CachedResponse(ttl = 1, notFoundTtl = 1, timeUnit = TimeUnit.MINUTES)
+        @GetMapping("/cached/{id}")
+        Optional<String> tryFoo(@PathVariable("id") String id);
+
+    }
+
+    @Autowired
+    private CachedFooClient fooClient;
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    @Autowired
+    private AsyncRestTemplate asyncRestTemplate;
+
+    private MockRestServiceServer server;
+
+    private MockRestServiceServer asyncServer;
+
+    @Before
+    public void setUp() throws Exception {
+        server = createServer(restTemplate);
+        asyncServer = createServer(asyncRestTemplate);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.verify();
+        asyncServer.verify();
+    }
+
+    @Test
+    public void testCachedByArguments() throws Exception {
+        server.expect(requestTo("http://localhost/cached/1"))
+            .andRespond(withSuccess("foo", MediaType.TEXT_PLAIN));
+        server.expect(requestTo("http://localhost/cached/2"))
+            .andRespond(withSuccess("bar", MediaType.TEXT_PLAIN));
+
+        assertThat(fooClient.getFoo("1")).isEqualTo("foo");
+        assertThat(fooClient.getFoo("1")).isEqualTo("foo");
+        assertThat(fooClient.getFoo("2")).isEqualTo("bar");
+    }
+
+    @Test
+    public void testCachedCompletableFuture() throws Exception {
+        asyncServer.expect(requestTo("http://localhost/cached/3"))
+            .andRespond(withSuccess("foo", MediaType.TEXT_PLAIN));
+
+        assertThat(fooClient.getFooAsync("3").get()).isEqualTo("foo");
+        assertThat(fooClient.getFooAsync("3").get()).isEqualTo("foo");
+    }
+
+    @Test
+    public void testNotFoundCached() throws Exception {
+        server.expect(requestTo("http://localhost/cached/4"))
+            .andRespond(withStatus(HttpStatus.NOT_FOUND));
+
+        assertThat(fooClient.tryFoo("4")).isNotPresent();
+        assertThat(fooClient.tryFoo("4")).isNotPresent();
+    }
+
+}
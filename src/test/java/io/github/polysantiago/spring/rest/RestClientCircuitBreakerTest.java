@@ -0,0 +1,121 @@
+package io.github.polysantiago.spring.rest;
+
+import io.github.polysantiago.spring.rest.circuitbreaker.CircuitBreakerOpenException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.client.AsyncRestTemplate;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.springframework.test.web.client.ExpectedCount.times;
+import static org.springframework.test.web.client.MockRestServiceServer.createServer;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+@ActiveProfiles("test")
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class RestClientCircuitBreakerTest {
+
+    @Configuration
+    @EnableRestClients(basePackageClasses = BreakerFooClient.class)
+    protected static class TestConfiguration extends AbstractRestClientAsyncTest.BaseTestConfiguration {
+
+    }
+
+    @RestClient(value = "localhost", url = "${localhost.uri}")
+    interface BreakerFooClient {
+
+        @RestClientCircuitBreaker(windowSize = 2, openDuration = 60000)
+        @GetMapping("/breaker/sync")
+        String getFoo();
+
+        @RestClientCircuitBreaker(windowSize = 2, openDuration = 60000)
+        @GetMapping("/breaker/async")
+        CompletableFuture<String> getFooAsync();
+
+        @RestClientCircuitBreaker(windowSize = 2, openDuration = 60000)
+        @GetMapping("/breaker/missing")
+        String getMissingFoo();
+
+    }
+
+    @Autowired
+    private BreakerFooClient fooClient;
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    @Autowired
+    private AsyncRestTemplate asyncRestTemplate;
+
+    private MockRestServiceServer server;
+
+    private MockRestServiceServer asyncServer;
+
+    @Before
+    public void setUp() throws Exception {
+        server = createServer(restTemplate);
+        asyncServer = createServer(asyncRestTemplate);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.verify();
+        asyncServer.verify();
+    }
+
+    @Test
+    public void testFailsFastOnceOpen() throws Exception {
+        server.expect(times(2), requestTo("http://localhost/breaker/sync"))
+            .andRespond(withStatus(HttpStatus.SERVICE_UNAVAILABLE));
+
+        assertThat(catchThrowable(fooClient::getFoo)).isInstanceOf(HttpServerErrorException.class);
+        assertThat(catchThrowable(fooClient::getFoo)).isInstanceOf(HttpServerErrorException.class);
+        assertThat(catchThrowable(fooClient::getFoo)).isInstanceOf(CircuitBreakerOpenException.class);
+    }
+
+    @Test
+    public void testAsyncFailsFastOnceOpen() throws Exception {
+        asyncServer.expect(times(2), requestTo("http://localhost/breaker/async"))
+            .andRespond(withStatus(HttpStatus.SERVICE_UNAVAILABLE));
+
+        assertThat(catchThrowable(() -> fooClient.getFooAsync().join())).hasCauseInstanceOf(HttpServerErrorException.class);
+        assertThat(catchThrowable(() -> fooClient.getFooAsync().join())).hasCauseInstanceOf(HttpServerErrorException.class);
+        assertThat(catchThrowable(() -> fooClient.getFooAsync().join()))
+            .isInstanceOf(CompletionException.class)
+            .hasCauseInstanceOf(CircuitBreakerOpenException.class);
+    }
+
+    @Test
+    public void testNonRetryableErrorsDoNotOpen() throws Exception {
+        server.expect(requestTo("http://localhost/breaker/missing"))
+            .andRespond(withStatus(HttpStatus.NOT_FOUND));
+        server.expect(requestTo("http://localhost/breaker/missing"))
+            .andRespond(withStatus(HttpStatus.NOT_FOUND));
+        server.expect(requestTo("http://localhost/breaker/missing"))
+            .andRespond(withSuccess());
+
+        assertThat(catchThrowable(fooClient::getMissingFoo)).isInstanceOf(HttpClientErrorException.class);
+        assertThat(catchThrowable(fooClient::getMissingFoo)).isInstanceOf(HttpClientErrorException.class);
+        fooClient.getMissingFoo();
+    }
+
+}
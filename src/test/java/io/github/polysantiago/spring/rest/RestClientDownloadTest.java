@@ -0,0 +1,132 @@
+package io.github.polysantiago.spring.rest;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.springframework.test.web.client.MockRestServiceServer.createServer;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+@ActiveProfiles("test")
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class RestClientDownloadTest {
+
+    private static final String CONTENTS = "snapshot contents";
+
+    @Configuration
+    @EnableRestClients(basePackageClasses = DownloadFooClient.class)
+    protected static class TestConfiguration extends AbstractRestClientAsyncTest.BaseTestConfiguration {
+
+    }
+
+    @RestClient(value = "localhost", url = "${localhost.uri}")
+    interface DownloadFooClient {
+
+        @GetMapping("/snapshots/{id}")
+        Path download(@PathVariable("id") String id);
+
+        @GetMapping("/snapshots/{id}")
+        Path downloadTo(@PathVariable("id") String id, @ResponseTarget Path target);
+
+        @GetMapping("/snapshots/{id}")
+        void downloadTo(@PathVariable("id") String id, WritableByteChannel target);
+
+    }
+
+    @Autowired
+    private DownloadFooClient fooClient;
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    private MockRestServiceServer server;
+
+    @Before
+    public void setUp() throws Exception {
+        server = createServer(restTemplate);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.verify();
+    }
+
+    @Test
+    public void testDownloadToTemporaryFile() throws Exception {
+        expectSnapshot("1");
+
+        Path path = fooClient.download("1");
+        try {
+            assertThat(contentOf(path)).isEqualTo(CONTENTS);
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void testDownloadToPath() throws Exception {
+        Path target = Files.createTempFile("snapshot", ".txt");
+        try {
+            Files.write(target, "previous and longer contents".getBytes(StandardCharsets.UTF_8));
+            expectSnapshot("2");
+
+            assertThat(fooClient.downloadTo("2", target)).isEqualTo(target);
+            assertThat(contentOf(target)).isEqualTo(CONTENTS);
+        } finally {
+            Files.delete(target);
+        }
+    }
+
+    @Test
+    public void testDownloadToChannel() throws Exception {
+        expectSnapshot("3");
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        fooClient.downloadTo("3", Channels.newChannel(outputStream));
+
+        assertThat(outputStream.toString("UTF-8")).isEqualTo(CONTENTS);
+    }
+
+    @Test
+    public void testErrorStatus() throws Exception {
+        server.expect(requestTo("http://localhost/snapshots/4"))
+            .andRespond(withStatus(HttpStatus.INTERNAL_SERVER_ERROR));
+
+        assertThat(catchThrowable(() -> fooClient.download("4"))).isInstanceOf(HttpServerErrorException.class);
+    }
+
+    private void expectSnapshot(String id) {
+        server.expect(requestTo("http://localhost/snapshots/" + id))
+            .andRespond(withSuccess(CONTENTS, MediaType.APPLICATION_OCTET_STREAM));
+    }
+
+    private static String contentOf(Path path) throws Exception {
+        return new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,91 @@
+package io.github.polysantiago.spring.rest;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.client.RestTemplate;
+import reactor.core.publisher.Flux;
+
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.MockRestServiceServer.createServer;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+@ActiveProfiles("test")
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class RestClientEventStreamTest {
+
+    private static final String NDJSON = "application/x-ndjson";
+
+    @Configuration
+    @EnableRestClients(basePackageClasses = EventStreamFooClient.class)
+    protected static class TestConfiguration extends AbstractRestClientAsyncTest.BaseTestConfiguration {
+
+    }
+
+    @RestClient(value = "localhost", url = "${localhost.uri}")
+    interface EventStreamFooClient {
+
+        @GetMapping(value = "/foos/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+        Stream<Foo> events();
+
+        @GetMapping(value = "/foos/events", produces = NDJSON)
+        Flux<Foo> ndjson();
+
+    }
+
+    @Autowired
+    private EventStreamFooClient fooClient;
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    private MockRestServiceServer server;
+
+    @Before
+    public void setUp() throws Exception {
+        server = createServer(restTemplate);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.verify();
+    }
+
+    @Test
+    public void testServerSentEventsStream() throws Exception {
+        server.expect(requestTo("http://localhost/foos/events"))
+            .andExpect(header(HttpHeaders.ACCEPT, MediaType.TEXT_EVENT_STREAM_VALUE))
+            .andRespond(withSuccess("id: 1\ndata: {\"bar\":\"a\"}\n\nid: 2\ndata: {\"bar\":\"b\"}\n\n",
+                MediaType.TEXT_EVENT_STREAM));
+
+        try (Stream<Foo> foos = fooClient.events()) {
+            assertThat(foos.map(Foo::getBar).collect(toList())).containsExactly("a", "b");
+        }
+    }
+
+    @Test
+    public void testNdjsonFlux() throws Exception {
+        server.expect(requestTo("http://localhost/foos/events"))
+            .andExpect(header(HttpHeaders.ACCEPT, NDJSON))
+            .andRespond(withSuccess("{\"bar\":\"a\"}\n{\"bar\":\"b\"}\n{\"bar\":\"c\"}\n", MediaType.valueOf(NDJSON)));
+
+        assertThat(fooClient.ndjson().map(Foo::getBar).take(2).collectList().block()).containsExactly("a", "b");
+    }
+
+}
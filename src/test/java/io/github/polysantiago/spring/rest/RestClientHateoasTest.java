@@ -30,10 +30,13 @@ import org.springframework.test.web.client.ResponseActions;
 import org.springframework.util.PropertyPlaceholderHelper;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.client.AsyncRestTemplate;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import static java.util.stream.Collectors.toList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.client.MockRestServiceServer.createServer;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
@@ -95,6 +98,10 @@ public class RestClientHateoasTest {
         @GetMapping(value = PAGED_RESOURCE, produces = MediaTypes.HAL_JSON_VALUE)
         PagedResources<FooResource> getPagedFoos();
 
+        @Paginated
+        @GetMapping(value = PAGED_RESOURCE, produces = MediaTypes.HAL_JSON_VALUE)
+        Stream<FooResource> getAllFoos();
+
     }
 
     private PropertyPlaceholderHelper helper = new PropertyPlaceholderHelper("{", "}");
@@ -105,6 +112,9 @@ public class RestClientHateoasTest {
     @Autowired
     private RestTemplate restTemplate;
 
+    @Autowired
+    private AsyncRestTemplate asyncRestTemplate;
+
     @Value("foo_resource.json")
     private ClassPathResource fooResourceJson;
 
@@ -116,14 +126,18 @@ public class RestClientHateoasTest {
 
     private MockRestServiceServer server;
 
+    private MockRestServiceServer asyncServer;
+
     @Before
     public void setUp() throws Exception {
         server = createServer(restTemplate);
+        asyncServer = createServer(asyncRestTemplate);
     }
 
     @After
     public void tearDown() throws Exception {
         server.verify();
+        asyncServer.verify();
     }
 
     @Test
@@ -202,6 +216,26 @@ public class RestClientHateoasTest {
         assertThat(pagedFoos.getMetadata().getTotalElements()).isEqualTo(1);
     }
 
+    @Test
+    public void testPaginatedResource() throws Exception {
+        asyncServer.expect(requestTo("http://localhost" + PAGED_RESOURCE))
+            .andExpect(header(HttpHeaders.ACCEPT, MediaTypes.HAL_JSON_VALUE))
+            .andRespond(withSuccess(pagedFoos("first", "http://localhost/foosPaged?page=1{&size}"), MediaTypes.HAL_JSON));
+        asyncServer.expect(requestTo("http://localhost" + PAGED_RESOURCE + "?page=1"))
+            .andExpect(header(HttpHeaders.ACCEPT, MediaTypes.HAL_JSON_VALUE))
+            .andRespond(withSuccess(pagedFoos("second", null), MediaTypes.HAL_JSON));
+
+        try (Stream<FooResource> foos = fooClient.getAllFoos()) {
+            assertThat(foos.map(FooResource::getBar).collect(toList())).containsExactly("first", "second");
+        }
+    }
+
+    private static String pagedFoos(String bar, String next) {
+        String links = next == null ? "{}" : "{\"next\":{\"href\":\"" + next + "\",\"templated\":true}}";
+        return "{\"_embedded\":{\"foos\":[{\"bar\":\"" + bar + "\"}]},\"_links\":" + links +
+            ",\"page\":{\"size\":1,\"totalElements\":2,\"totalPages\":2,\"number\":0}}";
+    }
+
     private void mockServerHalResponse(String endpoint, Resource reply) {
         mockServerHalResponse(endpoint)
             .andRespond(withSuccess(reply, MediaTypes.HAL_JSON));
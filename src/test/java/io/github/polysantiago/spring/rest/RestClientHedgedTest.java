@@ -0,0 +1,83 @@
+package io.github.polysantiago.spring.rest;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.client.AsyncRestTemplate;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.MockRestServiceServer.createServer;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+@ActiveProfiles("test")
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class RestClientHedgedTest {
+
+    @Configuration
+    @EnableRestClients(basePackageClasses = HedgedFooClient.class)
+    protected static class TestConfiguration extends AbstractRestClientAsyncTest.BaseTestConfiguration {
+
+    }
+
+    @RestClient(value = "localhost", url = "${localhost.uri}")
+    interface HedgedFooClient {
+
+        @Hedged(after = "50")
+        @GetMapping("/foo/{id}")
+        Foo getFoo(@PathVariable("id") String id);
+
+        @Hedged
+        @GetMapping("/foo/{id}")
+        CompletableFuture<Foo> getFooAsync(@PathVariable("id") String id);
+
+    }
+
+    @Autowired
+    private HedgedFooClient fooClient;
+
+    @Autowired
+    private AsyncRestTemplate asyncRestTemplate;
+
+    private MockRestServiceServer asyncServer;
+
+    @Before
+    public void setUp() throws Exception {
+        asyncServer = createServer(asyncRestTemplate);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        asyncServer.verify();
+    }
+
+    @Test
+    public void testSynchronousCallIsSentAsynchronously() throws Exception {
+        asyncServer.expect(requestTo("http://localhost/foo/1"))
+            .andRespond(withSuccess("{\"bar\":\"a\"}", MediaType.APPLICATION_JSON));
+
+        assertThat(fooClient.getFoo("1").getBar()).isEqualTo("a");
+    }
+
+    @Test
+    public void testCompletableFutureCall() throws Exception {
+        asyncServer.expect(requestTo("http://localhost/foo/2"))
+            .andRespond(withSuccess("{\"bar\":\"b\"}", MediaType.APPLICATION_JSON));
+
+        assertThat(fooClient.getFooAsync("2").join().getBar()).isEqualTo("b");
+    }
+
+}
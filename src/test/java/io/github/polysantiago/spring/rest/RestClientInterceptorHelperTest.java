@@ -0,0 +1,50 @@
+package io.github.polysantiago.spring.rest;
+
+import org.junit.Test;
+import org.springframework.format.support.DefaultFormattingConversionService;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.RequestEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RestClientInterceptorHelperTest {
+
+    private static final URI SERVICE_URL = URI.create("http://localhost");
+
+    interface FooClient {
+
+        @PostMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE, headers = "Some-Header:some-value")
+        String foo(@PathVariable("id") String id,
+                   @RequestParam("query") Integer query,
+                   @RequestHeader("Some-Header") String header,
+                   String body);
+
+    }
+
+    @Test
+    public void testHelperIsReusableAcrossInvocations() throws Exception {
+        RestClientInterceptorHelper helper = RestClientInterceptorHelper.from(
+            FooClient.class.getMethod("foo", String.class, Integer.class, String.class, String.class),
+            FooClient.class,
+            SERVICE_URL,
+            new DefaultFormattingConversionService());
+
+        RequestEntity<Object> first = helper.buildRequest(new Object[]{"a", 1, "first", "body-a"});
+        RequestEntity<Object> second = helper.buildRequest(new Object[]{"b", 2, "second", "body-b"});
+
+        assertThat(first.getMethod()).isEqualTo(HttpMethod.POST);
+        assertThat(first.getUrl()).isEqualTo(URI.create("http://localhost/a?query=1"));
+        assertThat(first.getHeaders().get("Some-Header")).containsExactly("some-value", "first");
+        assertThat(first.getBody()).isEqualTo("body-a");
+
+        assertThat(second.getUrl()).isEqualTo(URI.create("http://localhost/b?query=2"));
+        assertThat(second.getHeaders().getAccept()).containsExactly(MediaType.APPLICATION_JSON);
+        assertThat(second.getHeaders().get("Some-Header")).containsExactly("some-value", "second");
+        assertThat(second.getBody()).isEqualTo("body-b");
+    }
+
+}
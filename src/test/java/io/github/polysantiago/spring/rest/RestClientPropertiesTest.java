@@ -2,6 +2,7 @@ package io.github.polysantiago.spring.rest;
 
 import io.github.polysantiago.spring.rest.retry.BackOffSettings;
 import io.github.polysantiago.spring.rest.retry.RetrySettings;
+import io.github.polysantiago.spring.rest.transport.PoolSettings;
 import org.junit.After;
 import org.junit.Test;
 import org.springframework.boot.autoconfigure.context.PropertyPlaceholderAutoConfiguration;
@@ -9,6 +10,9 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 import org.springframework.context.annotation.Configuration;
 
+import java.net.URI;
+
+import static java.util.Collections.emptyList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.boot.test.util.EnvironmentTestUtils.addEnvironment;
 
@@ -51,6 +55,54 @@ public class RestClientPropertiesTest {
         assertProperties(getProperties(), 3, 2000L, 10000L, 2.5d, true);
     }
 
+    @Test
+    public void testPoolSettings() throws Exception {
+        addEnvironment(this.context, "spring.rest.client.pool.max-total:20");
+        addEnvironment(this.context, "spring.rest.client.pool.max-per-route:5");
+
+        registerAndRefresh();
+
+        PoolSettings pool = getProperties().getPool();
+        assertThat(pool.getMaxTotal()).isEqualTo(20);
+        assertThat(pool.getMaxPerRoute()).isEqualTo(5);
+        assertThat(pool.getIdleTimeout()).isEqualTo(30000L);
+    }
+
+    @Test
+    public void testServiceSettings() throws Exception {
+        addEnvironment(this.context, "spring.rest.client.services.foo:http://foo");
+        addEnvironment(this.context, "spring.rest.client.services.bar.url:http://bar");
+        addEnvironment(this.context, "spring.rest.client.services.bar.pool.max-per-route:10");
+        addEnvironment(this.context, "spring.rest.client.services.bar.cache.max-entries:10");
+        addEnvironment(this.context, "spring.rest.client.services.bar.circuit-breaker.window-size:20");
+        addEnvironment(this.context, "spring.rest.client.services.bar.concurrency-limit.max-wait:100");
+        addEnvironment(this.context, "spring.rest.client.services.bar.bulkhead.max-concurrent-calls:5");
+        addEnvironment(this.context, "spring.rest.client.services.bar.rate-limit.permits-per-second:2.5");
+
+        registerAndRefresh();
+
+        RestClientContext restClientContext = new RestClientContext(emptyList(), getProperties().getServices());
+        assertThat(restClientContext.findServiceUriByName("foo")).isEqualTo(URI.create("http://foo"));
+        assertThat(restClientContext.findServiceSettingsByName("foo").getPool()).isNull();
+        assertThat(restClientContext.findServiceUriByName("bar")).isEqualTo(URI.create("http://bar"));
+        assertThat(restClientContext.findServiceSettingsByName("bar").getPool().getMaxPerRoute()).isEqualTo(10);
+        assertThat(restClientContext.findServiceSettingsByName("bar").getPool().getMaxTotal()).isEqualTo(200);
+        assertThat(restClientContext.findServiceSettingsByName("foo").getCache()).isNull();
+        assertThat(restClientContext.findServiceSettingsByName("bar").getCache().isEnabled()).isTrue();
+        assertThat(restClientContext.findServiceSettingsByName("bar").getCache().getMaxEntries()).isEqualTo(10);
+        assertThat(restClientContext.findServiceSettingsByName("foo").getCircuitBreaker()).isNull();
+        assertThat(restClientContext.findServiceSettingsByName("bar").getCircuitBreaker().getWindowSize()).isEqualTo(20);
+        assertThat(restClientContext.findServiceSettingsByName("bar").getCircuitBreaker().getFailureRateThreshold()).isEqualTo(50);
+        assertThat(restClientContext.findServiceSettingsByName("foo").getConcurrencyLimit()).isNull();
+        assertThat(restClientContext.findServiceSettingsByName("bar").getConcurrencyLimit().getMaxWait()).isEqualTo(100L);
+        assertThat(restClientContext.findServiceSettingsByName("bar").getConcurrencyLimit().getInitialLimit()).isEqualTo(20);
+        assertThat(restClientContext.findServiceSettingsByName("foo").getBulkhead()).isNull();
+        assertThat(restClientContext.findServiceSettingsByName("bar").getBulkhead().getMaxConcurrentCalls()).isEqualTo(5);
+        assertThat(restClientContext.findServiceSettingsByName("foo").getRateLimit()).isNull();
+        assertThat(restClientContext.findServiceSettingsByName("bar").getRateLimit().getPermitsPerSecond()).isEqualTo(2.5);
+        assertThat(restClientContext.findServiceSettingsByName("bar").getRateLimit().getBurst()).isEqualTo(1);
+    }
+
     private RestClientProperties getProperties() {
         return this.context.getBean(RestClientProperties.class);
     }
@@ -0,0 +1,112 @@
+package io.github.polysantiago.spring.rest;
+
+import io.github.polysantiago.spring.rest.limiter.LimitExceededException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.client.AsyncRestTemplate;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.springframework.test.web.client.MockRestServiceServer.createServer;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+@ActiveProfiles("test")
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class RestClientRateLimitedTest {
+
+    @Configuration
+    @EnableRestClients(basePackageClasses = RateLimitedFooClient.class)
+    protected static class TestConfiguration extends AbstractRestClientAsyncTest.BaseTestConfiguration {
+
+    }
+
+    @RestClient(value = "localhost", url = "${localhost.uri}")
+    interface RateLimitedFooClient {
+
+        @RateLimited(permitsPerSecond = 0.1)
+        @GetMapping("/limited/sync")
+        String getFoo();
+
+        @RateLimited(permitsPerSecond = 0.1)
+        @GetMapping("/limited/async")
+        CompletableFuture<String> getFooAsync();
+
+        @RateLimited(permitsPerSecond = 20, maxWait = 1000)
+        @GetMapping("/limited/waiting")
+        String getWaitingFoo();
+
+    }
+
+    @Autowired
+    private RateLimitedFooClient fooClient;
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    @Autowired
+    private AsyncRestTemplate asyncRestTemplate;
+
+    private MockRestServiceServer server;
+
+    private MockRestServiceServer asyncServer;
+
+    @Before
+    public void setUp() throws Exception {
+        server = createServer(restTemplate);
+        asyncServer = createServer(asyncRestTemplate);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.verify();
+        asyncServer.verify();
+    }
+
+    @Test
+    public void testFailsFastOverRate() throws Exception {
+        server.expect(requestTo("http://localhost/limited/sync"))
+            .andRespond(withSuccess("foo", MediaType.TEXT_PLAIN));
+
+        assertThat(fooClient.getFoo()).isEqualTo("foo");
+        assertThat(catchThrowable(fooClient::getFoo)).isInstanceOf(LimitExceededException.class);
+    }
+
+    @Test
+    public void testAsyncFailsFastOverRate() throws Exception {
+        asyncServer.expect(requestTo("http://localhost/limited/async"))
+            .andRespond(withSuccess("foo", MediaType.TEXT_PLAIN));
+
+        assertThat(fooClient.getFooAsync().join()).isEqualTo("foo");
+        assertThat(catchThrowable(() -> fooClient.getFooAsync().join()))
+            .isInstanceOf(CompletionException.class)
+            .hasCauseInstanceOf(LimitExceededException.class);
+    }
+
+    @Test
+    public void testWaitsForPermit() throws Exception {
+        server.expect(requestTo("http://localhost/limited/waiting"))
+            .andRespond(withSuccess("foo", MediaType.TEXT_PLAIN));
+        server.expect(requestTo("http://localhost/limited/waiting"))
+            .andRespond(withSuccess("bar", MediaType.TEXT_PLAIN));
+
+        assertThat(fooClient.getWaitingFoo()).isEqualTo("foo");
+        assertThat(fooClient.getWaitingFoo()).isEqualTo("bar");
+    }
+
+}
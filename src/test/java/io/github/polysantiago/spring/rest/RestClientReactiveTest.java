@@ -0,0 +1,138 @@
+package io.github.polysantiago.spring.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.client.AsyncRestTemplate;
+import org.springframework.web.client.HttpServerErrorException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.client.MockRestServiceServer.createServer;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.*;
+
+@ActiveProfiles("test")
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class RestClientReactiveTest {
+
+    @Configuration
+    @EnableRestClients(basePackageClasses = ReactiveFooClient.class)
+    protected static class TestConfiguration extends AbstractRestClientAsyncTest.BaseTestConfiguration {
+
+    }
+
+    @RestClient(value = "localhost", url = "${localhost.uri}")
+    interface ReactiveFooClient {
+
+        @GetMapping(value = "/foo/{id}")
+        Mono<Foo> getFoo(@PathVariable("id") String id, @RequestParam("query") String query);
+
+        @GetMapping(value = "/foo/{id}")
+        Mono<ResponseEntity<Foo>> getFooEntity(@PathVariable("id") String id);
+
+        @GetMapping(value = "/foo/{id}")
+        Mono<Optional<Foo>> tryFoo(@PathVariable("id") String id);
+
+        @GetMapping(value = "/fooList")
+        Flux<Foo> fooList();
+
+    }
+
+    @Autowired
+    private ReactiveFooClient fooClient;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AsyncRestTemplate asyncRestTemplate;
+
+    private MockRestServiceServer asyncServer;
+
+    @Before
+    public void setUp() throws Exception {
+        asyncServer = createServer(asyncRestTemplate);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        asyncServer.verify();
+    }
+
+    @Test
+    public void testMono() throws Exception {
+        asyncServer.expect(requestTo("http://localhost/foo/some-id?query=some-query"))
+            .andExpect(method(HttpMethod.GET))
+            .andRespond(withSuccess(objectMapper.writeValueAsBytes(new Foo("bar")), MediaType.APPLICATION_JSON));
+
+        assertThat(fooClient.getFoo("some-id", "some-query").block()).isEqualTo(new Foo("bar"));
+    }
+
+    @Test
+    public void testMonoIsLazy() throws Exception {
+        fooClient.getFoo("some-id", "some-query");
+    }
+
+    @Test
+    public void testMonoEntity() throws Exception {
+        asyncServer.expect(requestTo("http://localhost/foo/some-id"))
+            .andRespond(withSuccess(objectMapper.writeValueAsBytes(new Foo("bar")), MediaType.APPLICATION_JSON));
+
+        ResponseEntity<Foo> entity = fooClient.getFooEntity("some-id").block();
+
+        assertThat(entity.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(entity.getBody()).isEqualTo(new Foo("bar"));
+    }
+
+    @Test
+    public void testMonoEmptyOptional() throws Exception {
+        asyncServer.expect(requestTo("http://localhost/foo/some-id"))
+            .andRespond(withStatus(HttpStatus.NOT_FOUND));
+
+        assertThat(fooClient.tryFoo("some-id").block()).isNotPresent();
+    }
+
+    @Test
+    public void testMonoError() throws Exception {
+        asyncServer.expect(requestTo("http://localhost/foo/some-id?query=some-query"))
+            .andRespond(withServerError());
+
+        assertThatThrownBy(() -> fooClient.getFoo("some-id", "some-query").block())
+            .isInstanceOf(HttpServerErrorException.class);
+    }
+
+    @Test
+    public void testFlux() throws Exception {
+        List<Foo> foos = Arrays.asList(new Foo("bar0"), new Foo("bar1"));
+
+        asyncServer.expect(requestTo("http://localhost/fooList"))
+            .andRespond(withSuccess(objectMapper.writeValueAsBytes(foos), MediaType.APPLICATION_JSON));
+
+        assertThat(fooClient.fooList().collectList().block()).containsExactlyElementsOf(foos);
+    }
+
+}
@@ -0,0 +1,106 @@
+package io.github.polysantiago.spring.rest;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.Closeable;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.springframework.test.web.client.MockRestServiceServer.createServer;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+@ActiveProfiles("test")
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class RestClientStreamTest {
+
+    @Configuration
+    @EnableRestClients(basePackageClasses = StreamingFooClient.class)
+    protected static class TestConfiguration extends AbstractRestClientAsyncTest.BaseTestConfiguration {
+
+    }
+
+    @RestClient(value = "localhost", url = "${localhost.uri}")
+    interface StreamingFooClient {
+
+        @GetMapping("/foos")
+        Stream<Foo> streamFoos(@RequestParam("page") int page);
+
+        @GetMapping("/foos")
+        Iterator<Foo> iterateFoos(@RequestParam("page") int page);
+
+    }
+
+    @Autowired
+    private StreamingFooClient fooClient;
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    private MockRestServiceServer server;
+
+    @Before
+    public void setUp() throws Exception {
+        server = createServer(restTemplate);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.verify();
+    }
+
+    @Test
+    public void testStream() throws Exception {
+        server.expect(requestTo("http://localhost/foos?page=1"))
+            .andExpect(header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE))
+            .andRespond(withSuccess("[{\"bar\":\"a\"},{\"bar\":\"b\"}]", MediaType.APPLICATION_JSON));
+
+        try (Stream<Foo> foos = fooClient.streamFoos(1)) {
+            assertThat(foos.map(Foo::getBar).collect(toList())).containsExactly("a", "b");
+        }
+    }
+
+    @Test
+    public void testIterator() throws Exception {
+        server.expect(requestTo("http://localhost/foos?page=2"))
+            .andRespond(withSuccess("[{\"bar\":\"a\"},{\"bar\":\"b\"}]", MediaType.APPLICATION_JSON));
+
+        Iterator<Foo> foos = fooClient.iterateFoos(2);
+
+        assertThat(foos).isInstanceOf(Closeable.class);
+        assertThat(foos.next().getBar()).isEqualTo("a");
+        assertThat(foos.next().getBar()).isEqualTo("b");
+        assertThat(foos.hasNext()).isFalse();
+    }
+
+    @Test
+    public void testErrorStatusThrownUponCall() throws Exception {
+        server.expect(requestTo("http://localhost/foos?page=3"))
+            .andRespond(withStatus(HttpStatus.NOT_FOUND));
+
+        assertThat(catchThrowable(() -> fooClient.streamFoos(3))).isInstanceOf(HttpClientErrorException.class);
+    }
+
+}
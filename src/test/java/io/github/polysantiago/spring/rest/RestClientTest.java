@@ -1,6 +1,8 @@
 package io.github.polysantiago.spring.rest;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.polysantiago.spring.rest.support.MultipartBodyHttpMessageConverter;
+import io.github.polysantiago.spring.rest.support.StreamingRequestBodyHttpMessageConverter;
 import org.assertj.core.api.Assertions;
 import org.junit.After;
 import org.junit.Before;
@@ -20,8 +22,13 @@ import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.net.URI;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
@@ -35,6 +42,9 @@ import static java.util.stream.Collectors.toList;
 import static org.apache.commons.lang3.StringUtils.toEncodedString;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Fail.fail;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.startsWith;
 import static org.springframework.test.web.client.MockRestServiceServer.createServer;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
 import static org.springframework.test.web.client.response.MockRestResponseCreators.*;
@@ -152,6 +162,15 @@ public class RestClientTest {
         String barWithMixedParametersAndAnnotatedBody(@PathVariable("id") String id,
                                                       @RequestHeader("Flow-Id") UUID flowId,
                                                       @RequestBody String body);
+
+        @PostMapping("/upload")
+        void upload(@RequestBody InputStream body);
+
+        @PutMapping(value = "/upload", consumes = MediaType.TEXT_PLAIN_VALUE)
+        void uploadFile(@RequestBody Path file);
+
+        @PostMapping(value = "/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+        void uploadMultipart(@RequestPart("file") Path file, @RequestPart("description") String description);
     }
 
     interface FooParent<T> {
@@ -189,6 +208,14 @@ public class RestClientTest {
         assertThat(response).isEqualTo(foo);
     }
 
+    @Test
+    public void testObjectMethodsAreNotSentAsRequests() throws Exception {
+        assertThat(fooClient).isEqualTo(fooClient);
+        assertThat(fooClient).isNotEqualTo(fooChildClient);
+        assertThat(fooClient.hashCode()).isEqualTo(System.identityHashCode(fooClient));
+        assertThat(fooClient.toString()).contains(FooClient.class.getName());
+    }
+
     @Test
     public void testRestClientDefaultMapping() throws Exception {
         server.expect(requestTo("http://localhost/"))
@@ -518,4 +545,62 @@ public class RestClientTest {
 
         assertThat(fooClient.barWithMixedParametersAndAnnotatedBody(id, flowId, body)).isEqualTo(response);
     }
+
+    @Test
+    public void testStreamedInputStreamBody() throws Exception {
+        server.expect(requestTo("http://localhost/upload"))
+            .andExpect(method(HttpMethod.POST))
+            .andExpect(content().contentType(MediaType.APPLICATION_OCTET_STREAM))
+            .andExpect(content().bytes(new byte[]{1, 2, 3}))
+            .andRespond(withSuccess());
+
+        fooClient.upload(new ByteArrayInputStream(new byte[]{1, 2, 3}));
+    }
+
+    @Test
+    public void testStreamedPathBody() throws Exception {
+        Path file = Files.createTempFile("upload", ".txt");
+        try {
+            Files.write(file, "file contents".getBytes(StandardCharsets.UTF_8));
+            server.expect(requestTo("http://localhost/upload"))
+                .andExpect(method(HttpMethod.PUT))
+                .andExpect(content().contentType(MediaType.TEXT_PLAIN))
+                .andExpect(header(HttpHeaders.CONTENT_LENGTH, "13"))
+                .andExpect(content().string("file contents"))
+                .andRespond(withSuccess());
+
+            fooClient.uploadFile(file);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testMultipartBody() throws Exception {
+        Path file = Files.createTempFile("upload", ".txt");
+        try {
+            Files.write(file, "file contents".getBytes(StandardCharsets.UTF_8));
+            server.expect(requestTo("http://localhost/upload"))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(header(HttpHeaders.CONTENT_TYPE, startsWith(MediaType.MULTIPART_FORM_DATA_VALUE + ";boundary=")))
+                .andExpect(content().string(allOf(
+                    containsString("Content-Disposition: form-data; name=\"file\"; filename=\"" + file.getFileName() + "\""),
+                    containsString("file contents"),
+                    containsString("Content-Disposition: form-data; name=\"description\""),
+                    containsString("a description"))))
+                .andRespond(withSuccess());
+
+            fooClient.uploadMultipart(file, "a description");
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testSharedTemplateConvertersAreUntouched() throws Exception {
+        assertThat(restTemplate.getMessageConverters())
+            .filteredOn(converter -> converter instanceof MultipartBodyHttpMessageConverter ||
+                converter instanceof StreamingRequestBodyHttpMessageConverter)
+            .isEmpty();
+    }
 }
@@ -0,0 +1,175 @@
+package io.github.polysantiago.spring.rest.cache;
+
+import org.junit.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.RequestEntity;
+import org.springframework.http.ResponseEntity;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HttpResponseCacheTest {
+
+    private static final URI URL = URI.create("http://localhost/foo");
+    private static final String ETAG = "\"v1\"";
+
+    private final HttpResponseCache cache = new HttpResponseCache(2);
+
+    private final List<RequestEntity<?>> requests = new ArrayList<>();
+    private final Queue<ResponseEntity<String>> responses = new LinkedList<>();
+    private final Function<RequestEntity<?>, ResponseEntity<String>> exchange = request -> {
+        requests.add(request);
+        return responses.remove();
+    };
+
+    @Test
+    public void testFreshResponseIsReused() throws Exception {
+        responses.add(ok("max-age=60", "foo"));
+
+        assertThat(exchange(get(URL)).getBody()).isEqualTo("foo");
+        assertThat(exchange(get(URL)).getBody()).isEqualTo("foo");
+
+        assertThat(requests).hasSize(1);
+    }
+
+    @Test
+    public void testResponseTypesAreCachedApart() throws Exception {
+        responses.add(ok("max-age=60", "foo"));
+        responses.add(ok("max-age=60", "bar"));
+
+        cache.exchange(get(URL), String.class, exchange);
+        cache.exchange(get(URL), Object.class, exchange);
+
+        assertThat(requests).hasSize(2);
+    }
+
+    @Test
+    public void testNoStore() throws Exception {
+        responses.add(ok("no-store, max-age=60", "foo"));
+        responses.add(ok("no-store, max-age=60", "foo"));
+
+        exchange(get(URL));
+        exchange(get(URL));
+
+        assertThat(requests).hasSize(2);
+    }
+
+    @Test
+    public void testRevalidateWithETag() throws Exception {
+        ResponseEntity<String> original = ResponseEntity.ok().eTag(ETAG).header(HttpHeaders.CACHE_CONTROL, "no-cache").body("foo");
+        responses.add(original);
+        responses.add(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(ETAG).build());
+
+        exchange(get(URL));
+        ResponseEntity<String> revalidated = exchange(get(URL));
+
+        assertThat(revalidated.getBody()).isSameAs(original.getBody());
+        assertThat(requests).hasSize(2);
+        assertThat(requests.get(1).getHeaders().getIfNoneMatch()).containsExactly(ETAG);
+    }
+
+    @Test
+    public void testRevalidateWithLastModified() throws Exception {
+        long lastModified = 1_500_000_000_000L;
+        responses.add(ResponseEntity.ok().lastModified(lastModified).body("foo"));
+        responses.add(ResponseEntity.status(HttpStatus.NOT_MODIFIED).header(HttpHeaders.CACHE_CONTROL, "max-age=60").build());
+
+        exchange(get(URL));
+        assertThat(exchange(get(URL)).getBody()).isEqualTo("foo");
+        assertThat(exchange(get(URL)).getBody()).isEqualTo("foo");
+
+        assertThat(requests).hasSize(2);
+        assertThat(requests.get(1).getHeaders().getIfModifiedSince()).isEqualTo(lastModified);
+    }
+
+    @Test
+    public void testRevalidationUpdatesValidators() throws Exception {
+        String newETag = "\"v2\"";
+        responses.add(ResponseEntity.ok().eTag(ETAG).header(HttpHeaders.CACHE_CONTROL, "no-cache").body("foo"));
+        responses.add(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(newETag).build());
+        responses.add(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(newETag).build());
+
+        exchange(get(URL));
+        assertThat(exchange(get(URL)).getHeaders().getETag()).isEqualTo(newETag);
+        assertThat(exchange(get(URL)).getBody()).isEqualTo("foo");
+
+        assertThat(requests).hasSize(3);
+        assertThat(requests.get(2).getHeaders().getIfNoneMatch()).containsExactly(newETag);
+    }
+
+    @Test
+    public void testMalformedAgeIsIgnored() throws Exception {
+        responses.add(ResponseEntity.ok().header(HttpHeaders.CACHE_CONTROL, "max-age=60").header("Age", "10, 20").body("foo"));
+
+        assertThat(exchange(get(URL)).getBody()).isEqualTo("foo");
+        assertThat(exchange(get(URL)).getBody()).isEqualTo("foo");
+
+        assertThat(requests).hasSize(1);
+    }
+
+    @Test
+    public void testVary() throws Exception {
+        responses.add(ResponseEntity.ok().header(HttpHeaders.CACHE_CONTROL, "max-age=60").varyBy("Accept-Language").body("hej"));
+        responses.add(ResponseEntity.ok().header(HttpHeaders.CACHE_CONTROL, "max-age=60").varyBy("Accept-Language").body("hello"));
+
+        assertThat(exchange(get(URL, "sv")).getBody()).isEqualTo("hej");
+        assertThat(exchange(get(URL, "sv")).getBody()).isEqualTo("hej");
+        assertThat(exchange(get(URL, "en")).getBody()).isEqualTo("hello");
+
+        assertThat(requests).hasSize(2);
+    }
+
+    @Test
+    public void testLeastRecentlyUsedIsEvicted() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            responses.add(ok("max-age=60", "foo"));
+        }
+
+        exchange(get(URI.create("http://localhost/1")));
+        exchange(get(URI.create("http://localhost/2")));
+        exchange(get(URI.create("http://localhost/1")));
+        exchange(get(URI.create("http://localhost/3")));
+        exchange(get(URI.create("http://localhost/1")));
+        exchange(get(URI.create("http://localhost/2")));
+
+        assertThat(requests).extracting(RequestEntity::getUrl).containsExactly(
+            URI.create("http://localhost/1"), URI.create("http://localhost/2"),
+            URI.create("http://localhost/3"), URI.create("http://localhost/2"));
+    }
+
+    @Test
+    public void testOtherMethodsAreNotCached() throws Exception {
+        responses.add(ok("max-age=60", "foo"));
+        responses.add(ok("max-age=60", "foo"));
+
+        exchange(new RequestEntity<>(HttpMethod.POST, URL));
+        exchange(new RequestEntity<>(HttpMethod.POST, URL));
+
+        assertThat(requests).hasSize(2);
+    }
+
+    private ResponseEntity<String> exchange(RequestEntity<?> request) {
+        return cache.exchange(request, String.class, exchange);
+    }
+
+    private static ResponseEntity<String> ok(String cacheControl, String body) {
+        return ResponseEntity.ok().header(HttpHeaders.CACHE_CONTROL, cacheControl).body(body);
+    }
+
+    private static RequestEntity<?> get(URI url) {
+        return RequestEntity.get(url).build();
+    }
+
+    private static RequestEntity<?> get(URI url, String language) {
+        return RequestEntity.get(url).header(HttpHeaders.ACCEPT_LANGUAGE, language).build();
+    }
+
+}
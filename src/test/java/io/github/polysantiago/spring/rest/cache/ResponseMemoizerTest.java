@@ -0,0 +1,115 @@
+package io.github.polysantiago.spring.rest.cache;
+
+import org.junit.Test;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ResponseMemoizerTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final AtomicInteger refreshes = new AtomicInteger();
+
+    @Test
+    public void testFreshResultIsServed() throws Exception {
+        ResponseMemoizer memoizer = new ResponseMemoizer(60000, 0, 0, 10);
+
+        assertThat(memoizer.get("key", this::load, this::refresh)).isEqualTo(1);
+        assertThat(memoizer.get("key", this::load, this::refresh)).isEqualTo(1);
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void testStaleResultIsServedWhileRefreshing() throws Exception {
+        ResponseMemoizer memoizer = new ResponseMemoizer(1, 60000, 0, 10);
+        CompletableFuture<Object> refresh = new CompletableFuture<>();
+
+        memoizer.get("key", this::load, this::refresh);
+        Thread.sleep(5);
+
+        assertThat(memoizer.get("key", this::load, () -> refresh(refresh))).isEqualTo(1);
+        assertThat(memoizer.get("key", this::load, () -> refresh(refresh))).isEqualTo(1);
+        assertThat(refreshes.get()).isEqualTo(1);
+
+        refresh.complete(2);
+
+        assertThat(memoizer.get("key", this::load, this::refresh)).isEqualTo(2);
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void testFailedRefreshKeepsStaleResult() throws Exception {
+        ResponseMemoizer memoizer = new ResponseMemoizer(1, 60000, 0, 10);
+        CompletableFuture<Object> refresh = new CompletableFuture<>();
+
+        memoizer.get("key", this::load, this::refresh);
+        Thread.sleep(5);
+        memoizer.get("key", this::load, () -> refresh(refresh));
+        refresh.completeExceptionally(new IllegalStateException());
+
+        assertThat(memoizer.get("key", this::load, this::refresh)).isEqualTo(1);
+        assertThat(refreshes.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void testNotFoundIsNotCachedByDefault() throws Exception {
+        ResponseMemoizer memoizer = new ResponseMemoizer(60000, 0, 0, 10);
+
+        memoizer.get("key", this::loadEmpty, this::refresh);
+        memoizer.get("key", this::loadEmpty, this::refresh);
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void testNotFoundTtl() throws Exception {
+        ResponseMemoizer memoizer = new ResponseMemoizer(60000, 0, 60000, 10);
+
+        memoizer.get("key", this::loadEmpty, this::refresh);
+        memoizer.get("key", this::loadEmpty, this::refresh);
+
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void testLeastRecentlyUsedIsEvicted() throws Exception {
+        ResponseMemoizer memoizer = new ResponseMemoizer(60000, 0, 0, 1);
+
+        memoizer.get("key1", this::load, this::refresh);
+        memoizer.get("key2", this::load, this::refresh);
+        memoizer.get("key1", this::load, this::refresh);
+
+        assertThat(loads.get()).isEqualTo(3);
+    }
+
+    @Test
+    public void testGetAsync() throws Exception {
+        ResponseMemoizer memoizer = new ResponseMemoizer(60000, 0, 0, 10);
+
+        assertThat(memoizer.getAsync("key", () -> CompletableFuture.completedFuture(load())).get()).isEqualTo(1);
+        assertThat(memoizer.getAsync("key", () -> CompletableFuture.completedFuture(load())).get()).isEqualTo(1);
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    private Object load() {
+        return loads.incrementAndGet();
+    }
+
+    private Object loadEmpty() {
+        loads.incrementAndGet();
+        return Optional.empty();
+    }
+
+    private CompletableFuture<?> refresh() {
+        return refresh(new CompletableFuture<>());
+    }
+
+    private CompletableFuture<?> refresh(CompletableFuture<Object> future) {
+        refreshes.incrementAndGet();
+        return future;
+    }
+
+}
@@ -0,0 +1,146 @@
+package io.github.polysantiago.spring.rest.circuitbreaker;
+
+import io.github.polysantiago.spring.rest.circuitbreaker.CircuitBreaker.State;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class CircuitBreakerTest {
+
+    private final AtomicLong nanoTime = new AtomicLong();
+
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker("foo", settings(),
+        IOException.class::isInstance, nanoTime::get);
+
+    @Test
+    public void testOpensOnceWindowReachesFailureRate() throws Exception {
+        fail();
+        fail();
+        succeed();
+        assertThat(circuitBreaker.getState()).isEqualTo(State.CLOSED);
+
+        fail();
+        assertThat(circuitBreaker.getState()).isEqualTo(State.OPEN);
+        assertThat(catchThrowable(circuitBreaker::acquirePermit)).isInstanceOf(CircuitBreakerOpenException.class);
+    }
+
+    @Test
+    public void testEvaluatesMostRecentCalls() throws Exception {
+        fail();
+        succeed();
+        succeed();
+        succeed();
+        assertThat(circuitBreaker.getState()).isEqualTo(State.CLOSED);
+
+        // The oldest failure is overwritten
+        fail();
+        succeed();
+        assertThat(circuitBreaker.getState()).isEqualTo(State.CLOSED);
+
+        fail();
+        assertThat(circuitBreaker.getState()).isEqualTo(State.OPEN);
+    }
+
+    @Test
+    public void testOtherErrorsAreSuccesses() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.acquirePermit().onError(new IllegalArgumentException());
+        }
+
+        assertThat(circuitBreaker.getState()).isEqualTo(State.CLOSED);
+    }
+
+    @Test
+    public void testClosesAfterSuccessfulProbes() throws Exception {
+        open();
+
+        nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        CircuitBreaker.Permit first = circuitBreaker.acquirePermit();
+        CircuitBreaker.Permit second = circuitBreaker.acquirePermit();
+        assertThat(circuitBreaker.getState()).isEqualTo(State.HALF_OPEN);
+        assertThat(catchThrowable(circuitBreaker::acquirePermit)).isInstanceOf(CircuitBreakerOpenException.class);
+
+        first.onSuccess();
+        second.onSuccess();
+        assertThat(circuitBreaker.getState()).isEqualTo(State.CLOSED);
+    }
+
+    @Test
+    public void testReopensAfterFailedProbes() throws Exception {
+        open();
+
+        nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        CircuitBreaker.Permit first = circuitBreaker.acquirePermit();
+        CircuitBreaker.Permit second = circuitBreaker.acquirePermit();
+        first.onError(new IOException());
+        second.onSuccess();
+
+        assertThat(circuitBreaker.getState()).isEqualTo(State.OPEN);
+        assertThat(catchThrowable(circuitBreaker::acquirePermit)).isInstanceOf(CircuitBreakerOpenException.class);
+    }
+
+    @Test
+    public void testReleasedProbeIsAcquiredAgain() throws Exception {
+        open();
+
+        nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        circuitBreaker.acquirePermit().release();
+        circuitBreaker.acquirePermit().onSuccess();
+        circuitBreaker.acquirePermit().onSuccess();
+
+        assertThat(circuitBreaker.getState()).isEqualTo(State.CLOSED);
+    }
+
+    @Test
+    public void testIgnoresOutcomesOfPreviousState() throws Exception {
+        CircuitBreaker.Permit stale = circuitBreaker.acquirePermit();
+        open();
+
+        nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        circuitBreaker.acquirePermit().onSuccess();
+        stale.onError(new IOException());
+        circuitBreaker.acquirePermit().onSuccess();
+
+        assertThat(circuitBreaker.getState()).isEqualTo(State.CLOSED);
+    }
+
+    @Test
+    public void testRecordsOutcomeOnce() throws Exception {
+        CircuitBreaker.Permit permit = circuitBreaker.acquirePermit();
+        for (int i = 0; i < 4; i++) {
+            permit.onError(new IOException());
+        }
+
+        assertThat(circuitBreaker.getState()).isEqualTo(State.CLOSED);
+    }
+
+    private void open() {
+        for (int i = 0; i < 4; i++) {
+            fail();
+        }
+        assertThat(circuitBreaker.getState()).isEqualTo(State.OPEN);
+    }
+
+    private void fail() {
+        circuitBreaker.acquirePermit().onError(new IOException());
+    }
+
+    private void succeed() {
+        circuitBreaker.acquirePermit().onSuccess();
+    }
+
+    private static CircuitBreakerSettings settings() {
+        CircuitBreakerSettings settings = new CircuitBreakerSettings();
+        settings.setWindowSize(4);
+        settings.setFailureRateThreshold(50);
+        settings.setOpenDuration(1000);
+        settings.setHalfOpenCalls(2);
+        return settings;
+    }
+
+}
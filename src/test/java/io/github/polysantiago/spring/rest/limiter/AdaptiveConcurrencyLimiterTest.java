@@ -0,0 +1,147 @@
+package io.github.polysantiago.spring.rest.limiter;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class AdaptiveConcurrencyLimiterTest {
+
+    private final AtomicLong nanoTime = new AtomicLong();
+
+    private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("foo", settings(0),
+        IOException.class::isInstance, nanoTime::get);
+
+    @Test
+    public void testRejectsOverLimit() throws Exception {
+        List<AdaptiveConcurrencyLimiter.Permit> permits = acquire(16);
+
+        assertThat(limiter.getInFlight()).isEqualTo(16);
+        assertThat(catchThrowable(limiter::acquirePermit))
+            .isInstanceOf(LimitExceededException.class)
+            .hasMessageContaining("foo");
+
+        permits.get(0).release();
+        assertThat(limiter.acquirePermit()).isNotNull();
+        assertThat(limiter.getLimit()).isEqualTo(16);
+    }
+
+    @Test
+    public void testGrowsWhileRoundTripTimeIsMinimal() throws Exception {
+        List<AdaptiveConcurrencyLimiter.Permit> permits = acquire(16);
+        elapse(10);
+        permits.get(15).onSuccess();
+
+        assertThat(limiter.getLimit()).isEqualTo(20);
+    }
+
+    @Test
+    public void testShrinksAsRoundTripTimeGrows() throws Exception {
+        elapseCall(10);
+
+        List<AdaptiveConcurrencyLimiter.Permit> permits = acquire(16);
+        elapse(40);
+        permits.get(15).onSuccess();
+
+        assertThat(limiter.getLimit()).isEqualTo(12);
+    }
+
+    @Test
+    public void testDoesNotGrowUnderLowLoad() throws Exception {
+        elapseCall(10);
+        elapseCall(10);
+
+        assertThat(limiter.getLimit()).isEqualTo(16);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    public void testBacksOffOnFailure() throws Exception {
+        limiter.acquirePermit().onError(new IOException());
+        assertThat(limiter.getLimit()).isEqualTo(14);
+
+        // Other errors are only round-trip times
+        limiter.acquirePermit().onError(new IllegalArgumentException());
+        assertThat(limiter.getLimit()).isEqualTo(14);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    public void testRecordsOutcomeOnce() throws Exception {
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.acquirePermit();
+        permit.onError(new IOException());
+        permit.onError(new IOException());
+        permit.release();
+
+        assertThat(limiter.getLimit()).isEqualTo(14);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    public void testWaitsForCompletedCall() throws Exception {
+        AdaptiveConcurrencyLimiter waitingLimiter = new AdaptiveConcurrencyLimiter("foo", singleCallSettings(5000),
+            IOException.class::isInstance);
+        AdaptiveConcurrencyLimiter.Permit permit = waitingLimiter.acquirePermit();
+
+        CompletableFuture<AdaptiveConcurrencyLimiter.Permit> waiting = CompletableFuture.supplyAsync(waitingLimiter::acquirePermit);
+        TimeUnit.MILLISECONDS.sleep(50);
+        assertThat(waiting).isNotDone();
+
+        permit.release();
+        assertThat(waiting.get(5, TimeUnit.SECONDS)).isNotNull();
+        assertThat(waitingLimiter.getInFlight()).isEqualTo(1);
+    }
+
+    @Test
+    public void testRejectsAfterMaxWait() throws Exception {
+        AdaptiveConcurrencyLimiter waitingLimiter = new AdaptiveConcurrencyLimiter("foo", singleCallSettings(50),
+            IOException.class::isInstance);
+        waitingLimiter.acquirePermit();
+
+        long start = System.nanoTime();
+        assertThat(catchThrowable(waitingLimiter::acquirePermit)).isInstanceOf(LimitExceededException.class);
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(50));
+    }
+
+    private List<AdaptiveConcurrencyLimiter.Permit> acquire(int calls) {
+        List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        for (int i = 0; i < calls; i++) {
+            permits.add(limiter.acquirePermit());
+        }
+        return permits;
+    }
+
+    private void elapseCall(long millis) {
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.acquirePermit();
+        elapse(millis);
+        permit.onSuccess();
+    }
+
+    private void elapse(long millis) {
+        nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    private static ConcurrencyLimitSettings settings(long maxWait) {
+        ConcurrencyLimitSettings settings = new ConcurrencyLimitSettings();
+        settings.setInitialLimit(16);
+        settings.setMaxLimit(100);
+        settings.setSmoothing(1);
+        settings.setMaxWait(maxWait);
+        return settings;
+    }
+
+    private static ConcurrencyLimitSettings singleCallSettings(long maxWait) {
+        ConcurrencyLimitSettings settings = settings(maxWait);
+        settings.setInitialLimit(1);
+        settings.setMaxLimit(1);
+        return settings;
+    }
+
+}
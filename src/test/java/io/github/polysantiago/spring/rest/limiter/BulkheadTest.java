@@ -0,0 +1,72 @@
+package io.github.polysantiago.spring.rest.limiter;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class BulkheadTest {
+
+    private final Bulkhead bulkhead = new Bulkhead("foo", settings(0));
+
+    @Test
+    public void testRejectsWhenFull() throws Exception {
+        Bulkhead.Permit permit = bulkhead.acquirePermit();
+        bulkhead.acquirePermit();
+
+        assertThat(bulkhead.getAvailableCalls()).isZero();
+        assertThat(catchThrowable(bulkhead::acquirePermit))
+            .isInstanceOf(LimitExceededException.class)
+            .hasMessageContaining("foo");
+
+        permit.onError(new IOException());
+        assertThat(bulkhead.acquirePermit()).isNotNull();
+    }
+
+    @Test
+    public void testReleasesOnce() throws Exception {
+        Bulkhead.Permit permit = bulkhead.acquirePermit();
+        permit.onSuccess();
+        permit.onSuccess();
+        permit.release();
+
+        assertThat(bulkhead.getAvailableCalls()).isEqualTo(2);
+    }
+
+    @Test
+    public void testWaitsForCompletedCall() throws Exception {
+        Bulkhead waitingBulkhead = new Bulkhead("foo", settings(5000));
+        Bulkhead.Permit permit = waitingBulkhead.acquirePermit();
+        waitingBulkhead.acquirePermit();
+
+        CompletableFuture<Bulkhead.Permit> waiting = CompletableFuture.supplyAsync(waitingBulkhead::acquirePermit);
+        TimeUnit.MILLISECONDS.sleep(50);
+        assertThat(waiting).isNotDone();
+
+        permit.release();
+        assertThat(waiting.get(5, TimeUnit.SECONDS)).isNotNull();
+    }
+
+    @Test
+    public void testRejectsAfterMaxWait() throws Exception {
+        Bulkhead waitingBulkhead = new Bulkhead("foo", settings(50));
+        waitingBulkhead.acquirePermit();
+        waitingBulkhead.acquirePermit();
+
+        long start = System.nanoTime();
+        assertThat(catchThrowable(waitingBulkhead::acquirePermit)).isInstanceOf(LimitExceededException.class);
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(50));
+    }
+
+    private static BulkheadSettings settings(long maxWait) {
+        BulkheadSettings settings = new BulkheadSettings();
+        settings.setMaxConcurrentCalls(2);
+        settings.setMaxWait(maxWait);
+        return settings;
+    }
+
+}
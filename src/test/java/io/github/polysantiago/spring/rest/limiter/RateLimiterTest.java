@@ -0,0 +1,90 @@
+package io.github.polysantiago.spring.rest.limiter;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class RateLimiterTest {
+
+    private final AtomicLong nanoTime = new AtomicLong();
+
+    private final RateLimiter rateLimiter = new RateLimiter("foo", settings(2, 0), nanoTime::get);
+
+    @Test
+    public void testAllowsBurst() throws Exception {
+        assertThat(rateLimiter.reservePermit()).isZero();
+        assertThat(rateLimiter.reservePermit()).isZero();
+
+        assertThat(catchThrowable(rateLimiter::reservePermit))
+            .isInstanceOf(LimitExceededException.class)
+            .hasMessageContaining("foo");
+    }
+
+    @Test
+    public void testRefillsAtRate() throws Exception {
+        rateLimiter.reservePermit();
+        rateLimiter.reservePermit();
+        assertThat(catchThrowable(rateLimiter::reservePermit)).isInstanceOf(LimitExceededException.class);
+
+        // Rejected calls do not consume permits
+        elapse(100);
+        rateLimiter.reservePermit();
+        assertThat(catchThrowable(rateLimiter::reservePermit)).isInstanceOf(LimitExceededException.class);
+    }
+
+    @Test
+    public void testHoldsBurstOnlyWhenIdle() throws Exception {
+        elapse(10000);
+
+        rateLimiter.reservePermit();
+        rateLimiter.reservePermit();
+        assertThat(catchThrowable(rateLimiter::reservePermit)).isInstanceOf(LimitExceededException.class);
+    }
+
+    @Test
+    public void testReservesPermitAhead() throws Exception {
+        RateLimiter waitingRateLimiter = new RateLimiter("foo", settings(1, 1000), nanoTime::get);
+        waitingRateLimiter.reservePermit();
+
+        assertThat(waitingRateLimiter.reservePermit()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat(waitingRateLimiter.reservePermit()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(200));
+    }
+
+    @Test
+    public void testRejectsBeyondMaxWait() throws Exception {
+        RateLimiter waitingRateLimiter = new RateLimiter("foo", settings(1, 150), nanoTime::get);
+        waitingRateLimiter.reservePermit();
+        // Reserves the permit 100ms ahead
+        waitingRateLimiter.reservePermit();
+
+        assertThat(catchThrowable(waitingRateLimiter::reservePermit)).isInstanceOf(LimitExceededException.class);
+    }
+
+    @Test
+    public void testRefundedPermitIsAvailableAgain() throws Exception {
+        rateLimiter.reservePermit();
+        rateLimiter.reservePermit();
+
+        rateLimiter.refundPermit();
+
+        assertThat(rateLimiter.reservePermit()).isZero();
+        assertThat(catchThrowable(rateLimiter::reservePermit)).isInstanceOf(LimitExceededException.class);
+    }
+
+    private void elapse(long millis) {
+        nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    private static RateLimitSettings settings(int burst, long maxWait) {
+        RateLimitSettings settings = new RateLimitSettings();
+        settings.setPermitsPerSecond(10);
+        settings.setBurst(burst);
+        settings.setMaxWait(maxWait);
+        return settings;
+    }
+
+}
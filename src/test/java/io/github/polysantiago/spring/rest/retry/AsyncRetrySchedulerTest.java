@@ -0,0 +1,51 @@
+package io.github.polysantiago.spring.rest.retry;
+
+import io.github.polysantiago.spring.rest.support.RestClientScheduler;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AsyncRetrySchedulerTest {
+
+    @Test
+    public void testFixedBackOff() throws Exception {
+        AsyncRetryScheduler scheduler = scheduler(500, 0, 0.0d, false);
+
+        assertThat(scheduler.getBackOffDelay(1)).isEqualTo(500L);
+        assertThat(scheduler.getBackOffDelay(2)).isEqualTo(500L);
+    }
+
+    @Test
+    public void testUniformRandomBackOff() throws Exception {
+        AsyncRetryScheduler scheduler = scheduler(500, 1000, 0.0d, false);
+
+        assertThat(scheduler.getBackOffDelay(1)).isBetween(500L, 1000L);
+    }
+
+    @Test
+    public void testExponentialBackOff() throws Exception {
+        AsyncRetryScheduler scheduler = scheduler(500, 3000, 2.0d, false);
+
+        assertThat(scheduler.getBackOffDelay(1)).isEqualTo(500L);
+        assertThat(scheduler.getBackOffDelay(2)).isEqualTo(1000L);
+        assertThat(scheduler.getBackOffDelay(3)).isEqualTo(2000L);
+        assertThat(scheduler.getBackOffDelay(4)).isEqualTo(3000L);
+    }
+
+    @Test
+    public void testExponentialRandomBackOff() throws Exception {
+        AsyncRetryScheduler scheduler = scheduler(500, 3000, 2.0d, true);
+
+        assertThat(scheduler.getBackOffDelay(2)).isBetween(1000L, 2000L);
+    }
+
+    private static AsyncRetryScheduler scheduler(long delay, long maxDelay, double multiplier, boolean random) {
+        RetrySettings retrySettings = new RetrySettings();
+        retrySettings.getBackOff().setDelay(delay);
+        retrySettings.getBackOff().setMaxDelay(maxDelay);
+        retrySettings.getBackOff().setMultiplier(multiplier);
+        retrySettings.getBackOff().setRandom(random);
+        return new AsyncRetryScheduler(retrySettings, new RestClientScheduler());
+    }
+
+}
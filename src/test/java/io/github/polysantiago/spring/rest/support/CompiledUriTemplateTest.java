@@ -0,0 +1,84 @@
+package io.github.polysantiago.spring.rest.support;
+
+import org.junit.Test;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.List;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CompiledUriTemplateTest {
+
+    @Test
+    public void testDefaultPath() {
+        assertExpandsLikeUriComponentsBuilder("http://localhost", "/", new Object[]{}, emptyList(), new String[][]{});
+    }
+
+    @Test
+    public void testPathVariables() {
+        assertExpandsLikeUriComponentsBuilder("http://localhost:8080/api/", "/foo/{id}/bar/{other:\\d+}",
+            new Object[]{"some id", 42}, emptyList(), new String[][]{});
+    }
+
+    @Test
+    public void testPathVariablesAreEncoded() {
+        assertExpandsLikeUriComponentsBuilder("http://localhost", "/{id}",
+            new Object[]{"\u00e4/b c%?#"}, emptyList(), new String[][]{});
+    }
+
+    @Test
+    public void testNullPathVariable() {
+        assertExpandsLikeUriComponentsBuilder("http://localhost", "/foo/{id}",
+            new Object[]{null}, emptyList(), new String[][]{});
+    }
+
+    @Test
+    public void testQueryParameters() {
+        assertExpandsLikeUriComponentsBuilder("http://user@localhost?base=1", "/foo",
+            new Object[]{}, Arrays.asList("query", "list", "empty", "nil"),
+            new String[][]{{"a b&c=d+e"}, {"x", "y"}, {}, {null}});
+    }
+
+    @Test
+    public void testRelativePath() {
+        assertExpandsLikeUriComponentsBuilder("http://localhost", "str", new Object[]{}, emptyList(), new String[][]{});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNotEnoughVariableValues() {
+        CompiledUriTemplate.compile(URI.create("http://localhost"), "/{a}/{b}", emptyList()).expand(new Object[]{"a"}, new String[][]{});
+    }
+
+    @Test
+    public void testTemplateIsReusable() {
+        CompiledUriTemplate template = CompiledUriTemplate.compile(URI.create("http://localhost"), "/{id}", singletonList("q"));
+
+        assertThat(template.expand(new Object[]{"a"}, new String[][]{{"1"}})).isEqualTo(URI.create("http://localhost/a?q=1"));
+        assertThat(template.expand(new Object[]{"b"}, new String[][]{{"2"}})).isEqualTo(URI.create("http://localhost/b?q=2"));
+    }
+
+    private static void assertExpandsLikeUriComponentsBuilder(String baseUri, String path, Object[] uriVariables,
+                                                              List<String> queryNames, String[][] queryValues) {
+        MultiValueMap<String, String> queryParams = new LinkedMultiValueMap<>();
+        for (int i = 0; i < queryNames.size(); i++) {
+            queryParams.put(queryNames.get(i), Arrays.asList(queryValues[i]));
+        }
+        URI expected = UriComponentsBuilder.fromUri(URI.create(baseUri))
+            .path(path)
+            .queryParams(queryParams)
+            .buildAndExpand(uriVariables)
+            .encode()
+            .toUri();
+
+        URI actual = CompiledUriTemplate.compile(URI.create(baseUri), path, queryNames).expand(uriVariables, queryValues);
+
+        assertThat(actual.toString()).isEqualTo(expected.toString());
+    }
+
+}
@@ -0,0 +1,177 @@
+package io.github.polysantiago.spring.rest.support;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class EventStreamIteratorTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void testServerSentEvents() throws Exception {
+        ClientHttpResponse response = response(body(
+            ": a comment\n" +
+                "event: foo\n" +
+                "data: {\"value\":1}\n" +
+                "\n" +
+                "data:{\"value\":\n" +
+                "data: 2}\n" +
+                "\n" +
+                "data: {\"value\":3}\n"));
+
+        EventStreamIterator<Map<?, ?>> events = iterator(Map.class, MediaType.TEXT_EVENT_STREAM, lastEventId -> response);
+
+        assertThat(events.stream().map(event -> (Object) event.get("value")).collect(toList())).containsExactly(1, 2);
+        verify(response).close();
+    }
+
+    @Test
+    public void testServerSentEventsAsString() throws Exception {
+        EventStreamIterator<String> events = iterator(String.class, MediaType.TEXT_EVENT_STREAM,
+            lastEventId -> response(body("data: first\ndata: second\n\ndata: third\n\n")));
+
+        assertThat(events.stream().collect(toList())).containsExactly("first\nsecond", "third");
+    }
+
+    @Test
+    public void testNdjson() throws Exception {
+        ClientHttpResponse response = response(body("{\"value\":1}\n\n{\"value\":2}\n"));
+
+        EventStreamIterator<Map<?, ?>> events = iterator(Map.class, EventStreamIterator.APPLICATION_NDJSON, lastEventId -> response);
+
+        assertThat((Object) events.next().get("value")).isEqualTo(1);
+        assertThat((Object) events.next().get("value")).isEqualTo(2);
+        assertThat(events.hasNext()).isFalse();
+        verify(response).close();
+    }
+
+    @Test
+    public void testReconnectsWithLastEventId() throws Exception {
+        List<String> lastEventIds = new ArrayList<>();
+        Iterator<InputStream> bodies = asList(
+            failing(body("retry: 0\nid: 1\ndata: first\n\ndata: lost")),
+            body("id: 2\ndata: second\n\n")).iterator();
+
+        EventStreamIterator<String> events = iterator(String.class, MediaType.TEXT_EVENT_STREAM, lastEventId -> {
+            lastEventIds.add(lastEventId);
+            return response(bodies.next());
+        });
+
+        assertThat(events.stream().collect(toList())).containsExactly("first", "second");
+        assertThat(lastEventIds).containsExactly(null, "1");
+    }
+
+    @Test
+    public void testGivesUpReconnecting() throws Exception {
+        EventStreamIterator<String> events = iterator(String.class, MediaType.TEXT_EVENT_STREAM,
+            lastEventId -> response(failing(body("retry: 0\n"))));
+
+        assertThat(catchThrowable(events::hasNext)).isInstanceOf(ResourceAccessException.class);
+        assertThat(events.hasNext()).isFalse();
+    }
+
+    @Test
+    public void testRetriesFailedReconnect() throws Exception {
+        List<String> lastEventIds = new ArrayList<>();
+        Iterator<Supplier<ClientHttpResponse>> responses = Arrays.<Supplier<ClientHttpResponse>>asList(
+            () -> response(failing(body("retry: 0\nid: 1\ndata: first\n\n"))),
+            () -> {
+                throw new ResourceAccessException("Connection refused");
+            },
+            () -> response(body("data: second\n\n"))).iterator();
+
+        EventStreamIterator<String> events = iterator(String.class, MediaType.TEXT_EVENT_STREAM, lastEventId -> {
+            lastEventIds.add(lastEventId);
+            return responses.next().get();
+        });
+
+        assertThat(events.stream().collect(toList())).containsExactly("first", "second");
+        assertThat(lastEventIds).containsExactly(null, "1", "1");
+    }
+
+    @Test
+    public void testGivesUpWhenReconnectsFail() throws Exception {
+        AtomicInteger connections = new AtomicInteger();
+        EventStreamIterator<String> events = iterator(String.class, MediaType.TEXT_EVENT_STREAM, lastEventId -> {
+            if (connections.incrementAndGet() > 1) {
+                throw new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE);
+            }
+            return response(failing(body("retry: 0\n")));
+        });
+
+        assertThat(catchThrowable(events::hasNext)).isInstanceOf(HttpServerErrorException.class);
+        assertThat(connections.get()).isEqualTo(3);
+        assertThat(events.hasNext()).isFalse();
+        assertThat(connections.get()).isEqualTo(3);
+    }
+
+    @Test
+    public void testNdjsonDoesNotReconnect() throws Exception {
+        List<String> lastEventIds = new ArrayList<>();
+        EventStreamIterator<String> events = iterator(String.class, EventStreamIterator.APPLICATION_NDJSON, lastEventId -> {
+            lastEventIds.add(lastEventId);
+            return response(failing(body("first\n")));
+        });
+
+        assertThat(events.next()).isEqualTo("first");
+        assertThat(catchThrowable(events::hasNext)).isInstanceOf(ResourceAccessException.class);
+        assertThat(lastEventIds).hasSize(1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> EventStreamIterator<T> iterator(Class<?> elementType, MediaType mediaType,
+                                                Function<String, ClientHttpResponse> connector) {
+        return new EventStreamIterator<>(objectMapper, objectMapper.constructType(elementType), mediaType, connector);
+    }
+
+    private static ClientHttpResponse response(InputStream body) {
+        ClientHttpResponse response = mock(ClientHttpResponse.class);
+        try {
+            when(response.getBody()).thenReturn(body);
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+        return response;
+    }
+
+    private static InputStream body(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static InputStream failing(InputStream body) {
+        return new SequenceInputStream(body, new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Connection reset");
+            }
+        });
+    }
+
+}
@@ -0,0 +1,100 @@
+package io.github.polysantiago.spring.rest.support;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class JsonArrayIteratorTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void testDecodesElementsLazily() throws Exception {
+        ClientHttpResponse response = response("[{\"value\":1},{\"value\":2}]");
+        JsonArrayIterator<Value> iterator = iterator(response);
+
+        assertThat(iterator.hasNext()).isTrue();
+        assertThat(iterator.next().value).isEqualTo(1);
+        verify(response, never()).close();
+
+        assertThat(iterator.next().value).isEqualTo(2);
+        assertThat(iterator.hasNext()).isFalse();
+        verify(response).close();
+    }
+
+    @Test
+    public void testEmptyArray() throws Exception {
+        ClientHttpResponse response = response("[]");
+
+        assertThat(iterator(response).hasNext()).isFalse();
+        verify(response).close();
+    }
+
+    @Test
+    public void testEmptyBody() throws Exception {
+        ClientHttpResponse response = response("");
+
+        assertThat(iterator(response).hasNext()).isFalse();
+        verify(response).close();
+    }
+
+    @Test
+    public void testStreamClosesResponse() throws Exception {
+        ClientHttpResponse response = response("[{\"value\":1},{\"value\":2},{\"value\":3}]");
+
+        try (Stream<Value> stream = iterator(response).stream()) {
+            assertThat(stream.limit(1).map(value -> value.value).collect(toList())).containsExactly(1);
+        }
+        verify(response, times(1)).close();
+    }
+
+    @Test
+    public void testNotAnArray() throws Exception {
+        ClientHttpResponse response = response("{\"value\":1}");
+
+        assertThat(catchThrowable(() -> iterator(response))).isInstanceOf(HttpMessageNotReadableException.class);
+        verify(response).close();
+    }
+
+    @Test
+    public void testMalformedElementClosesResponse() throws Exception {
+        ClientHttpResponse response = response("[{\"value\":1},{\"value\":");
+        JsonArrayIterator<Value> iterator = iterator(response);
+        iterator.next();
+
+        assertThat(catchThrowable(iterator::next)).isInstanceOf(HttpMessageNotReadableException.class);
+        assertThat(iterator.hasNext()).isFalse();
+        verify(response).close();
+    }
+
+    private JsonArrayIterator<Value> iterator(ClientHttpResponse response) {
+        return new JsonArrayIterator<>(objectMapper, objectMapper.constructType(Value.class), response);
+    }
+
+    private static ClientHttpResponse response(String body) throws Exception {
+        ClientHttpResponse response = mock(ClientHttpResponse.class);
+        when(response.getBody()).thenReturn(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+        return response;
+    }
+
+    static class Value {
+
+        public int value;
+
+    }
+
+}
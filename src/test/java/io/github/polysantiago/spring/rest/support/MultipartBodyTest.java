@@ -0,0 +1,126 @@
+package io.github.polysantiago.spring.rest.support;
+
+import org.junit.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MultipartBodyTest {
+
+    private static final List<HttpMessageConverter<?>> PART_CONVERTERS =
+        Collections.singletonList(new MappingJackson2HttpMessageConverter());
+
+    private final MultipartBody.Template template = MultipartBody.Template.compile(Arrays.asList("file", "description", "metadata"));
+
+    @Test
+    public void testBoundaryPerInvocation() throws Exception {
+        MediaType contentType = template.bind(new Object[3]).getContentType();
+
+        assertThat(contentType.isCompatibleWith(MediaType.MULTIPART_FORM_DATA)).isTrue();
+        assertThat(contentType.getParameter("boundary")).isNotEmpty();
+        assertThat(template.bind(new Object[3]).getContentType().getParameter("boundary"))
+            .isNotEqualTo(contentType.getParameter("boundary"));
+    }
+
+    @Test
+    public void testParts() throws Exception {
+        Path file = Files.createTempFile("upload", ".bin");
+        try {
+            Files.write(file, "file contents".getBytes(StandardCharsets.UTF_8));
+            MultipartBody body = template.bind(new Object[]{file, "a description", Collections.singletonMap("key", "value")});
+            String boundary = body.getContentType().getParameter("boundary");
+
+            assertThat(write(body)).isEqualTo(
+                "--" + boundary + "\r\n" +
+                    "Content-Disposition: form-data; name=\"file\"; filename=\"" + file.getFileName() + "\"\r\n" +
+                    "Content-Type: application/octet-stream\r\n" +
+                    "\r\n" +
+                    "file contents\r\n" +
+                    "--" + boundary + "\r\n" +
+                    "Content-Disposition: form-data; name=\"description\"\r\n" +
+                    "Content-Type: text/plain;charset=UTF-8\r\n" +
+                    "\r\n" +
+                    "a description\r\n" +
+                    "--" + boundary + "\r\n" +
+                    "Content-Disposition: form-data; name=\"metadata\"\r\n" +
+                    "Content-Type: application/json;charset=UTF-8\r\n" +
+                    "\r\n" +
+                    "{\"key\":\"value\"}\r\n" +
+                    "--" + boundary + "--\r\n");
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testFileChannelPartAndNullPartOmitted() throws Exception {
+        Path file = Files.createTempFile("upload", ".bin");
+        try (FileChannel channel = FileChannel.open(file)) {
+            Files.write(file, "file contents".getBytes(StandardCharsets.UTF_8));
+            MultipartBody body = template.bind(new Object[]{channel, null, null});
+            String boundary = body.getContentType().getParameter("boundary");
+
+            assertThat(write(body)).isEqualTo(
+                "--" + boundary + "\r\n" +
+                    "Content-Disposition: form-data; name=\"file\"; filename=\"file\"\r\n" +
+                    "Content-Type: application/octet-stream\r\n" +
+                    "\r\n" +
+                    "file contents\r\n" +
+                    "--" + boundary + "--\r\n");
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testFilePartContentTypeFromFilename() throws Exception {
+        Resource resource = new ByteArrayResource("%PDF".getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public String getFilename() {
+                return "report.pdf";
+            }
+        };
+        MultipartBody body = template.bind(new Object[]{resource, null, null});
+        String boundary = body.getContentType().getParameter("boundary");
+
+        assertThat(write(body)).isEqualTo(
+            "--" + boundary + "\r\n" +
+                "Content-Disposition: form-data; name=\"file\"; filename=\"report.pdf\"\r\n" +
+                "Content-Type: application/pdf\r\n" +
+                "\r\n" +
+                "%PDF\r\n" +
+                "--" + boundary + "--\r\n");
+    }
+
+    @Test
+    public void testConverterSetsBoundaryContentType() throws Exception {
+        MultipartBody body = template.bind(new Object[]{null, "a description", null});
+        MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+
+        new MultipartBodyHttpMessageConverter(PART_CONVERTERS).write(body, MediaType.MULTIPART_FORM_DATA, outputMessage);
+
+        assertThat(outputMessage.getHeaders().getContentType()).isEqualTo(body.getContentType());
+        assertThat(outputMessage.getBodyAsString(StandardCharsets.UTF_8)).contains("a description");
+    }
+
+    private static String write(MultipartBody body) throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        body.writeTo(outputStream, PART_CONVERTERS);
+        return outputStream.toString("UTF-8");
+    }
+
+}
@@ -0,0 +1,130 @@
+package io.github.polysantiago.spring.rest.support;
+
+import org.junit.Test;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.PagedResources;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class PagedResourcesIteratorTest {
+
+    private final Map<URI, CompletableFuture<PagedResources<String>>> requested = new LinkedHashMap<>();
+
+    @Test
+    public void testFollowsNextLinks() throws Exception {
+        PagedResourcesIterator<String> iterator = new PagedResourcesIterator<>(
+            completedFuture(page("page-2", "a", "b")), this::completedPage, 1);
+
+        assertThat(iterator.stream().collect(toList())).containsExactly("a", "b", "c", "d");
+        assertThat(requested.keySet()).containsExactly(URI.create("page-2"), URI.create("page-3"));
+    }
+
+    @Test
+    public void testPrefetchesNextPageWhileConsumingPage() throws Exception {
+        PagedResourcesIterator<String> iterator = new PagedResourcesIterator<>(
+            completedFuture(page("page-2", "a", "b")), this::pendingPage, 1);
+
+        assertThat(requested).isEmpty();
+        assertThat(iterator.next()).isEqualTo("a");
+        assertThat(requested.keySet()).containsExactly(URI.create("page-2"));
+
+        requested.get(URI.create("page-2")).complete(page("page-3", "c"));
+        assertThat(requested).hasSize(1);
+
+        assertThat(iterator.next()).isEqualTo("b");
+        assertThat(iterator.next()).isEqualTo("c");
+        assertThat(requested.keySet()).containsExactly(URI.create("page-2"), URI.create("page-3"));
+    }
+
+    @Test
+    public void testPrefetchesUpToDepth() throws Exception {
+        PagedResourcesIterator<String> iterator = new PagedResourcesIterator<>(
+            completedFuture(page("page-2", "a")), this::completedPage, 2);
+
+        assertThat(iterator.next()).isEqualTo("a");
+        assertThat(requested.keySet()).containsExactly(URI.create("page-2"), URI.create("page-3"));
+    }
+
+    @Test
+    public void testWithoutPrefetch() throws Exception {
+        PagedResourcesIterator<String> iterator = new PagedResourcesIterator<>(
+            completedFuture(page("page-2", "a", "b")), this::completedPage, 0);
+
+        assertThat(iterator.next()).isEqualTo("a");
+        assertThat(iterator.next()).isEqualTo("b");
+        assertThat(requested).isEmpty();
+
+        assertThat(iterator.next()).isEqualTo("c");
+        assertThat(requested.keySet()).containsExactly(URI.create("page-2"));
+    }
+
+    @Test
+    public void testSkipsEmptyPages() throws Exception {
+        PagedResourcesIterator<String> iterator = new PagedResourcesIterator<>(
+            completedFuture(page("page-3")), this::completedPage, 1);
+
+        assertThat(iterator.stream().collect(toList())).containsExactly("d");
+    }
+
+    @Test
+    public void testCloseCancelsPageInFlight() throws Exception {
+        PagedResourcesIterator<String> iterator = new PagedResourcesIterator<>(
+            completedFuture(page("page-2", "a")), this::pendingPage, 1);
+
+        assertThat(iterator.next()).isEqualTo("a");
+        iterator.close();
+
+        assertThat(requested.get(URI.create("page-2"))).isCancelled();
+        assertThat(iterator.hasNext()).isFalse();
+    }
+
+    @Test
+    public void testFailedPage() throws Exception {
+        PagedResourcesIterator<String> iterator = new PagedResourcesIterator<>(
+            completedFuture(page("page-2", "a")), this::pendingPage, 1);
+
+        assertThat(iterator.next()).isEqualTo("a");
+        requested.get(URI.create("page-2")).completeExceptionally(new ResourceAccessException("Connection reset"));
+
+        assertThat(catchThrowable(iterator::hasNext)).isInstanceOf(ResourceAccessException.class);
+        assertThat(iterator.hasNext()).isFalse();
+    }
+
+    private CompletableFuture<PagedResources<String>> completedPage(URI uri) {
+        CompletableFuture<PagedResources<String>> future = pendingPage(uri);
+        if (uri.toString().equals("page-2")) {
+            future.complete(page("page-3", "c"));
+        } else {
+            future.complete(page(null, "d"));
+        }
+        return future;
+    }
+
+    private CompletableFuture<PagedResources<String>> pendingPage(URI uri) {
+        CompletableFuture<PagedResources<String>> future = new CompletableFuture<>();
+        requested.put(uri, future);
+        return future;
+    }
+
+    private static PagedResources<String> page(String next, String... content) {
+        PagedResources<String> page = new PagedResources<>(Arrays.asList(content), null);
+        if (next != null) {
+            page.add(new Link(next, Link.REL_NEXT));
+        }
+        return page;
+    }
+
+    private static <T> CompletableFuture<T> completedFuture(T value) {
+        return CompletableFuture.completedFuture(value);
+    }
+
+}
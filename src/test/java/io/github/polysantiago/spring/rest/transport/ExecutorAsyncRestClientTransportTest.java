@@ -0,0 +1,93 @@
+package io.github.polysantiago.spring.rest.transport;
+
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static java.util.stream.Collectors.toMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ExecutorAsyncRestClientTransportTest {
+
+    private final CountDownLatch latch = new CountDownLatch(1);
+
+    private ExecutorAsyncRestClientTransport transport;
+
+    @After
+    public void tearDown() throws Exception {
+        latch.countDown();
+        if (transport != null) {
+            transport.destroy();
+        }
+    }
+
+    @Test
+    public void testAbortWhenSaturated() throws Exception {
+        transport = new ExecutorAsyncRestClientTransport(settings(AsyncSettings.RejectionPolicy.ABORT));
+
+        transport.getTaskExecutor().execute(this::await);
+        transport.getTaskExecutor().execute(this::await);
+
+        assertThatThrownBy(() -> transport.getTaskExecutor().execute(this::await))
+            .isInstanceOf(TaskRejectedException.class);
+    }
+
+    @Test
+    public void testCallerRunsWhenSaturated() throws Exception {
+        transport = new ExecutorAsyncRestClientTransport(settings(AsyncSettings.RejectionPolicy.CALLER_RUNS));
+
+        transport.getTaskExecutor().execute(this::await);
+        transport.getTaskExecutor().execute(this::await);
+
+        AtomicReference<Thread> thread = new AtomicReference<>();
+        transport.getTaskExecutor().execute(() -> thread.set(Thread.currentThread()));
+
+        assertThat(thread.get()).isSameAs(Thread.currentThread());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testMetrics() throws Exception {
+        transport = new ExecutorAsyncRestClientTransport(settings(AsyncSettings.RejectionPolicy.ABORT));
+        transport.getTaskExecutor().execute(this::await);
+        transport.getTaskExecutor().execute(this::await);
+
+        ObjectProvider<ExecutorAsyncRestClientTransport> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(transport);
+
+        Map<String, Number> metrics = new AsyncExecutorPublicMetrics(provider).metrics().stream()
+            .collect(toMap(Metric::getName, Metric::getValue));
+
+        assertThat(metrics)
+            .containsEntry("restclient.async.pool.size", 1)
+            .containsEntry("restclient.async.queue.size", 1)
+            .containsEntry("restclient.async.queue.remaining", 0);
+    }
+
+    private static AsyncSettings settings(AsyncSettings.RejectionPolicy rejectionPolicy) {
+        AsyncSettings settings = new AsyncSettings();
+        settings.setCorePoolSize(1);
+        settings.setMaxPoolSize(1);
+        settings.setQueueCapacity(1);
+        settings.setRejectionPolicy(rejectionPolicy);
+        return settings;
+    }
+
+    private void await() {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
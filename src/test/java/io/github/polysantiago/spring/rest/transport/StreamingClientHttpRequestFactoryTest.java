@@ -0,0 +1,80 @@
+package io.github.polysantiago.spring.rest.transport;
+
+import io.github.polysantiago.spring.rest.support.StreamingRequestBody;
+import io.github.polysantiago.spring.rest.support.StreamingRequestBodyHttpMessageConverter;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.converter.StringHttpMessageConverter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class StreamingClientHttpRequestFactoryTest {
+
+    private static final URI URL = URI.create("http://localhost/upload");
+
+    private final HttpHeaders delegateHeaders = new HttpHeaders();
+    private final ByteArrayOutputStream delegateBody = new ByteArrayOutputStream();
+    private ClientHttpRequest delegate;
+    private StreamingClientHttpRequestFactory requestFactory;
+
+    @Before
+    public void setUp() throws Exception {
+        delegate = mock(ClientHttpRequest.class);
+        when(delegate.getHeaders()).thenReturn(delegateHeaders);
+        when(delegate.getBody()).thenReturn(delegateBody);
+        ClientHttpRequestFactory delegateFactory = mock(ClientHttpRequestFactory.class);
+        when(delegateFactory.createRequest(URL, HttpMethod.POST)).thenReturn(delegate);
+        requestFactory = new StreamingClientHttpRequestFactory(delegateFactory);
+    }
+
+    @Test
+    public void testBufferedBodySentWithContentLength() throws Exception {
+        ClientHttpRequest request = requestFactory.createRequest(URL, HttpMethod.POST);
+        new StringHttpMessageConverter().write("foo", MediaType.TEXT_PLAIN, request);
+
+        assertThat(delegateBody.size()).isZero();
+
+        request.execute();
+
+        assertThat(delegateHeaders.getContentLength()).isEqualTo(3);
+        assertThat(delegateBody.toString("UTF-8")).isEqualTo("foo");
+        verify(delegate).execute();
+    }
+
+    @Test
+    public void testStreamingBodyNotBuffered() throws Exception {
+        byte[] bytes = "foo".getBytes(StandardCharsets.UTF_8);
+        StreamingRequestBody body = StreamingRequestBody.of(new ByteArrayInputStream(bytes));
+
+        ClientHttpRequest request = requestFactory.createRequest(URL, HttpMethod.POST);
+        new StreamingRequestBodyHttpMessageConverter().write(body, null, request);
+        request.execute();
+
+        assertThat(delegateHeaders.getContentLength()).isEqualTo(-1);
+        assertThat(delegateHeaders.getContentType()).isEqualTo(MediaType.APPLICATION_OCTET_STREAM);
+        assertThat(delegateBody.toByteArray()).isEqualTo(bytes);
+    }
+
+    @Test
+    public void testNoBody() throws Exception {
+        requestFactory.createRequest(URL, HttpMethod.POST).execute();
+
+        verify(delegate, never()).getBody();
+        verify(delegate).execute();
+    }
+
+}
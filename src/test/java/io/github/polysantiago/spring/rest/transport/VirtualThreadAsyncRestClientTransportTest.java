@@ -0,0 +1,35 @@
+package io.github.polysantiago.spring.rest.transport;
+
+import org.junit.Test;
+import org.springframework.util.ClassUtils;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assume.assumeFalse;
+import static org.junit.Assume.assumeTrue;
+
+public class VirtualThreadAsyncRestClientTransportTest {
+
+    private static final boolean VIRTUAL_THREADS_PRESENT = ClassUtils.hasMethod(Thread.class, "isVirtual");
+
+    @Test
+    public void testRequiresVirtualThreads() throws Exception {
+        assumeFalse(VIRTUAL_THREADS_PRESENT);
+
+        assertThatThrownBy(VirtualThreadAsyncRestClientTransport::new)
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("requires Java 21");
+    }
+
+    @Test
+    public void testCreateAsyncRequestFactory() throws Exception {
+        assumeTrue(VIRTUAL_THREADS_PRESENT);
+
+        VirtualThreadAsyncRestClientTransport transport = new VirtualThreadAsyncRestClientTransport();
+        try {
+            transport.createAsyncRequestFactory(new PoolSettings());
+        } finally {
+            transport.destroy();
+        }
+    }
+
+}